@@ -0,0 +1,95 @@
+package com.hotel.management.javafx.db;
+
+import com.hotel.management.javafx.model.ReservationStatus;
+import com.hotel.management.javafx.model.RoomStatus;
+import com.hotel.management.javafx.model.RoomType;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Fills the embedded benchmark database with a fixed set of rooms and
+ * reservations. The benchmarks fork with -Dhotel.db.profile=h2-mem, so
+ * DatabaseConnection hands out connections to a private in-memory database.
+ */
+final class BenchmarkData {
+
+    static final String PROFILE_ARG = "-D" + DatabaseProfile.SYSTEM_PROPERTY + "=h2-mem";
+
+    private static final RoomType[] TYPES = RoomType.values();
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Replace all rooms and reservations with {@code rooms} rooms and
+     * {@code reservations} reservations spread over them. About one in ten
+     * reservations is cancelled.
+     */
+    static void load(int rooms, int reservations) throws SQLException {
+        Random random = new Random(42);
+        LocalDate today = LocalDate.now();
+
+        try (Connection conn = DatabaseConnection.getPool().borrow()) {
+            conn.setAutoCommit(false);
+            try (Statement stmt = conn.createStatement()) {
+                stmt.executeUpdate("DELETE FROM reservations");
+                stmt.executeUpdate("DELETE FROM rooms");
+            }
+
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "INSERT INTO rooms (room_number, capacity, room_type, price, floor, extra_bed, status) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?)")) {
+                for (int i = 0; i < rooms; i++) {
+                    RoomType type = TYPES[i % TYPES.length];
+                    stmt.setString(1, roomNumber(i));
+                    stmt.setInt(2, type.ordinal() + 1);
+                    stmt.setInt(3, type.code());
+                    stmt.setBigDecimal(4, ColumnCodec.money(60 + 40 * type.ordinal() + random.nextInt(20)));
+                    stmt.setInt(5, i / 20 + 1);
+                    stmt.setBoolean(6, i % 3 == 0);
+                    stmt.setInt(7, RoomStatus.values()[i % RoomStatus.values().length].code());
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+            }
+
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "INSERT INTO reservations (reservation_id, guest_ssn, guest_name, guest_phone, guest_email, " +
+                    "room_id, check_in, check_out, total_price, status, is_paid) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+                for (int i = 0; i < reservations; i++) {
+                    LocalDate checkIn = today.plusDays(random.nextInt(730) - 365);
+                    stmt.setBytes(1, ColumnCodec.idToBytes(new UUID(random.nextLong(), random.nextLong())));
+                    stmt.setString(2, String.format("%014d", 29_000_000_000_000L + i));
+                    stmt.setString(3, "Guest " + i);
+                    stmt.setString(4, String.format("01%09d", i));
+                    stmt.setString(5, "guest" + i + "@example.com");
+                    stmt.setString(6, roomNumber(random.nextInt(rooms)));
+                    stmt.setDate(7, Date.valueOf(checkIn));
+                    stmt.setDate(8, Date.valueOf(checkIn.plusDays(1 + random.nextInt(7))));
+                    stmt.setBigDecimal(9, ColumnCodec.money(100 + random.nextInt(900)));
+                    stmt.setInt(10, (i % 10 == 0 ? ReservationStatus.CANCELLED : ReservationStatus.RESERVED).code());
+                    stmt.setBoolean(11, random.nextBoolean());
+                    stmt.addBatch();
+                    if (i % 1000 == 999) {
+                        stmt.executeBatch();
+                    }
+                }
+                stmt.executeBatch();
+            }
+            conn.commit();
+            conn.setAutoCommit(true);
+        }
+        RoomDAO.getCache().invalidate();
+    }
+
+    private static String roomNumber(int index) {
+        return String.valueOf((index / 20 + 1) * 100 + index % 20 + 1);
+    }
+}
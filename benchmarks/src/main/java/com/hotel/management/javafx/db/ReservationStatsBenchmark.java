@@ -0,0 +1,83 @@
+package com.hotel.management.javafx.db;
+
+import com.hotel.management.javafx.model.ReservationRow;
+import com.hotel.management.javafx.model.RoomStatus;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Reservation statistics for the Reservations screen.
+ *
+ * {@code streamCount} is how ReservationsController.updateStats used to
+ * count: two stream passes over every loaded reservation. {@code groupByQuery}
+ * is the single GROUP BY query it runs now, against the embedded database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = BenchmarkData.PROFILE_ARG)
+public class ReservationStatsBenchmark {
+
+    @Param({"1000", "10000"})
+    public int rows;
+
+    private ReservationDAO reservationDAO;
+    private List<ReservationRow> loaded;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        BenchmarkData.load(200, rows);
+        reservationDAO = new ReservationDAO();
+        loaded = reservationDAO.getAllReservations();
+        // Otherwise H2 answers the unchanged query from its result cache
+        try (Connection conn = DatabaseConnection.getPool().borrow();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("SET OPTIMIZE_REUSE_RESULTS FALSE");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        DatabaseConnection.shutdown();
+    }
+
+    @Benchmark
+    public long[] streamCount() {
+        long active = loaded.stream()
+                .filter(r -> {
+                    RoomStatus status = r.room().status();
+                    return status == RoomStatus.RESERVED || status == RoomStatus.OCCUPIED;
+                })
+                .count();
+        long checkedOut = loaded.stream()
+                .filter(r -> {
+                    RoomStatus status = r.room().status();
+                    return status == RoomStatus.CLEANING || status == RoomStatus.AVAILABLE;
+                })
+                .count();
+        return new long[] {loaded.size(), active, checkedOut};
+    }
+
+    @Benchmark
+    public ReservationStats groupByQuery() {
+        return reservationDAO.getReservationStats();
+    }
+}
@@ -0,0 +1,88 @@
+package com.hotel.management.javafx.db;
+
+import com.hotel.management.javafx.model.ReservationRow;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * ResultSet-to-object mapping of the room and reservation loaders.
+ *
+ * The rows are queried from the embedded database once, into scrollable
+ * result sets that H2 keeps in memory, and every invocation rewinds and maps
+ * them again. The score is the mapping alone (column lookups by name, code
+ * and UUID decoding, model constructors) for a page of {@code rows}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = BenchmarkData.PROFILE_ARG)
+public class RowMappingBenchmark {
+
+    @Param({"100", "1000"})
+    public int rows;
+
+    private Connection conn;
+    private ResultSet roomRows;
+    private ResultSet reservationRows;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        BenchmarkData.load(Math.max(4, rows / 5), rows);
+        conn = DatabaseConnection.getPool().borrow();
+        roomRows = query("SELECT * FROM rooms ORDER BY id LIMIT " + rows);
+        reservationRows = query("SELECT " + ReservationDAO.RESERVATION_WITH_ROOM_COLUMNS
+                + "ORDER BY r.check_in DESC, r.reservation_id DESC LIMIT " + rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        roomRows.getStatement().close();
+        reservationRows.getStatement().close();
+        conn.close();
+        DatabaseConnection.shutdown();
+    }
+
+    @Benchmark
+    public void mapRooms(Blackhole bh) throws SQLException {
+        roomRows.beforeFirst();
+        while (roomRows.next()) {
+            bh.consume(RoomDAO.createRoomFromResultSet(roomRows, "status"));
+        }
+    }
+
+    @Benchmark
+    public void mapReservations(Blackhole bh) throws SQLException {
+        Map<String, ReservationRow.RoomSummary> rooms = new HashMap<>();
+        reservationRows.beforeFirst();
+        while (reservationRows.next()) {
+            ReservationRow reservation = ReservationDAO.createReservationFromResultSet(reservationRows, rooms);
+            bh.consume(reservation);
+        }
+    }
+
+    private ResultSet query(String sql) throws SQLException {
+        PreparedStatement stmt = conn.prepareStatement(sql, ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+        return stmt.executeQuery();
+    }
+}
@@ -0,0 +1,55 @@
+package com.hotel.management.javafx.model;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Reservation construction: the validating constructor used for new
+ * bookings and the bypass constructor the DAO uses for every loaded row.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ReservationBenchmark {
+
+    private Guest guest;
+    private Room room;
+    private LocalDate checkIn;
+    private LocalDate checkOut;
+
+    @Setup
+    public void setUp() {
+        guest = new Guest("29001011234567", "Benchmark Guest", "01012345678", "guest@example.com");
+        room = new Room("101", 2, "Double", 120.0, 1, true);
+        checkIn = LocalDate.now().plusDays(7);
+        checkOut = checkIn.plusDays(3);
+    }
+
+    @Benchmark
+    public Reservation constructValidated() {
+        return new Reservation("", guest, room, checkIn, checkOut);
+    }
+
+    @Benchmark
+    public Reservation constructLoaded() {
+        return new Reservation("6f1c1a3e-6b7d-4c1e-9a51-2f0d8c4b7e10", guest, room, checkIn, checkOut, true);
+    }
+
+    @Benchmark
+    public Guest constructGuest() {
+        return new Guest("29001011234567", "Benchmark Guest", "01012345678", "guest@example.com");
+    }
+}
@@ -0,0 +1,59 @@
+package com.hotel.management.javafx.model;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Room construction (type parsing and validation), the copy constructor the
+ * inventory cache hands out, the feature list, and the price calculation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class RoomBenchmark {
+
+    @Param({"Single", "Double", "Triple", "Suite"})
+    public String roomType;
+
+    private int nights = 3;
+    private Room room;
+
+    @Setup
+    public void setUp() {
+        room = new Room("101", 2, roomType, 120.0, 1, true);
+    }
+
+    @Benchmark
+    public Room construct() {
+        return new Room("101", 2, roomType, 120.0, 1, true);
+    }
+
+    @Benchmark
+    public Room copy() {
+        return new Room(room);
+    }
+
+    @Benchmark
+    public List<String> features() {
+        return room.getFeatures();
+    }
+
+    @Benchmark
+    public double calculateTotalPrice() {
+        return room.calculateTotalPrice(nights);
+    }
+}
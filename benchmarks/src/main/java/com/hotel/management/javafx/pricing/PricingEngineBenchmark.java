@@ -0,0 +1,69 @@
+package com.hotel.management.javafx.pricing;
+
+import com.hotel.management.javafx.model.RoomType;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * A stay quote from the prefix-summed rate calendar against asking the rules
+ * night by night, with a weekend rule, two seasons and an override.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class PricingEngineBenchmark {
+
+    @Param({"1", "7", "30"})
+    public int nights;
+
+    private RateRules rules;
+    private PricingEngine engine;
+    private LocalDate checkIn;
+    private LocalDate checkOut;
+
+    @Setup
+    public void setUp() {
+        rules = new RateRules(EnumSet.of(DayOfWeek.FRIDAY, DayOfWeek.SATURDAY), 1.15, EnumSet.allOf(RoomType.class),
+                List.of(new RateRules.Season("summer", MonthDay.of(6, 15), MonthDay.of(9, 1), 1.25,
+                                EnumSet.allOf(RoomType.class)),
+                        new RateRules.Season("winter", MonthDay.of(12, 20), MonthDay.of(1, 5), 1.1,
+                                EnumSet.of(RoomType.SUITE, RoomType.DOUBLE))),
+                List.of(new RateRules.DateOverride("newyear", LocalDate.of(2026, 12, 30), LocalDate.of(2027, 1, 2), 1.8,
+                        EnumSet.allOf(RoomType.class))));
+        engine = new PricingEngine(rules, LocalDate.of(2024, 1, 1), LocalDate.of(2030, 1, 1));
+        checkIn = LocalDate.of(2026, 8, 20);
+        checkOut = checkIn.plusDays(nights);
+    }
+
+    @Benchmark
+    public double quote() {
+        return engine.quote(RoomType.SUITE, 240.0, true, checkIn, checkOut);
+    }
+
+    @Benchmark
+    public double nightByNight() {
+        double factors = 0;
+        for (LocalDate night = checkIn; night.isBefore(checkOut); night = night.plusDays(1)) {
+            factors += rules.factor(RoomType.SUITE, night);
+        }
+        return Math.round(240.0 * factors * 1.1 * 100) / 100.0;
+    }
+}
@@ -0,0 +1,138 @@
+package com.hotel.management.javafx.tools;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares two JMH result files written with {@code -rf csv} and reports
+ * benchmarks that got slower, or allocate more per operation, by more than
+ * a threshold.
+ *
+ * Usage: BenchmarkCompare baseline.csv current.csv [thresholdPercent]
+ * Exits with status 1 if anything regressed, so it can gate a release build.
+ * Only the primary score and gc.alloc.rate.norm (from -prof gc) are compared.
+ */
+public class BenchmarkCompare {
+
+    private static final String ALLOC_NORM = ":gc.alloc.rate.norm";
+
+    private record Result(String mode, double score, double error) {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BenchmarkCompare baseline.csv current.csv [thresholdPercent]");
+            System.exit(2);
+        }
+        Map<String, Result> baseline = read(Path.of(args[0]));
+        Map<String, Result> current = read(Path.of(args[1]));
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+
+        int regressions = 0;
+        System.out.printf("%-70s %14s %14s %9s%n", "benchmark", "baseline", "current", "change");
+        for (Map.Entry<String, Result> entry : current.entrySet()) {
+            Result now = entry.getValue();
+            Result before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-70s %14s %14.3f %9s%n", entry.getKey(), "-", now.score(), "new");
+                continue;
+            }
+            // Throughput is better when higher; times and allocation when lower
+            boolean higherIsBetter = "thrpt".equals(now.mode()) && !entry.getKey().contains(ALLOC_NORM);
+            double change = before.score() == 0 ? 0 : (now.score() - before.score()) / before.score() * 100;
+            double worse = higherIsBetter ? -change : change;
+            // A difference inside both error bars is noise, not a regression
+            boolean outsideNoise = Math.abs(now.score() - before.score()) > now.error() + before.error();
+            boolean regressed = worse > threshold && outsideNoise;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-70s %14.3f %14.3f %+8.1f%%%s%n", entry.getKey(),
+                    before.score(), now.score(), change, regressed ? "  ⚠ REGRESSION" : "");
+        }
+
+        System.out.println();
+        if (regressions > 0) {
+            System.err.println("⚠ " + regressions + " benchmark(s) regressed by more than " + threshold + "%");
+            System.exit(1);
+        }
+        System.out.println("✓ No regressions above " + threshold + "%");
+    }
+
+    /**
+     * Primary scores and allocation per operation, keyed by benchmark name
+     * and parameter values.
+     */
+    private static Map<String, Result> read(Path file) throws IOException {
+        List<String> lines = Files.readAllLines(file);
+        Map<String, Result> results = new LinkedHashMap<>();
+        if (lines.isEmpty()) {
+            return results;
+        }
+        List<String> header = parseLine(lines.get(0));
+        int scoreColumn = header.indexOf("Score");
+        int errorColumn = scoreColumn + 1;
+        int unitColumn = header.indexOf("Unit");
+
+        for (String line : lines.subList(1, lines.size())) {
+            List<String> fields = parseLine(line);
+            if (fields.size() < header.size()) {
+                continue;
+            }
+            String name = fields.get(0);
+            if (name.contains(":") && !name.endsWith(ALLOC_NORM)) {
+                continue;  // other profiler metrics
+            }
+            StringBuilder key = new StringBuilder(shortName(name));
+            for (int i = unitColumn + 1; i < header.size(); i++) {
+                if (!fields.get(i).isEmpty()) {
+                    key.append(' ').append(header.get(i).replace("Param: ", "")).append('=').append(fields.get(i));
+                }
+            }
+            results.put(key.toString(), new Result(fields.get(1), number(fields.get(scoreColumn)),
+                    number(fields.get(errorColumn))));
+        }
+        return results;
+    }
+
+    /**
+     * The benchmark name without its package, e.g. "RoomBenchmark.construct"
+     * or "RoomBenchmark.construct:gc.alloc.rate.norm".
+     */
+    private static String shortName(String name) {
+        int colon = name.indexOf(':');
+        int methodDot = name.lastIndexOf('.', colon < 0 ? name.length() : colon);
+        return name.substring(name.lastIndexOf('.', methodDot - 1) + 1);
+    }
+
+    private static double number(String value) {
+        if (value.isEmpty() || "NaN".equals(value)) {
+            return 0;
+        }
+        return Double.parseDouble(value.replace(',', '.'));
+    }
+
+    private static List<String> parseLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (c == ',' && !quoted) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -1,5 +1,9 @@
 package com.hotel.management.javafx;
 
+import com.hotel.management.javafx.db.DatabaseConnection;
+import com.hotel.management.javafx.metrics.Metrics;
+import com.hotel.management.javafx.metrics.OperationTimer;
+import java.io.IOException;
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
@@ -10,10 +14,14 @@ public class App extends Application {
 
     public static Scene scene;
 
+    private static final ViewRegistry views = new ViewRegistry();
+    private static Object shownController;
+
     @Override
     public void start(Stage stage) throws Exception {
-        Parent root = loadFXML("login");
-          // login.fxml is first
+        StartupPipeline startup = new StartupPipeline();
+        long started = System.nanoTime();
+        Parent root = load("login").getRoot();
         scene = new Scene(root, 640, 480);       // size for both screens
         scene.getStylesheets().add(
                 App.class.getResource("styles.css").toExternalForm()
@@ -21,15 +29,77 @@ public class App extends Application {
         stage.setScene(scene);
         stage.setTitle("Hotel Login");
         stage.show();
+        
+        // Everything else warms up behind the login screen
+        afterNextLayout(() -> startup.loginShown(started));
+        startup.warmUp();
+    }
+
+    @Override
+    public void stop() {
+        DatabaseConnection.shutdown();
     }
 
     public static void setRoot(String fxml) throws Exception {
-        scene.setRoot(loadFXML(fxml));
+        long started = System.nanoTime();
+        showRoot(fxml, views.get(fxml), started);
+    }
+
+    /**
+     * The loaded views that are kept for reuse across navigations.
+     */
+    public static ViewRegistry views() {
+        return views;
     }
 
-    private static Parent loadFXML(String fxml) throws Exception {
+    /**
+     * Load a view, timed as "ui.load.&lt;fxml&gt;". The loader gives access to
+     * the root and the controller.
+     */
+    public static FXMLLoader load(String fxml) throws IOException {
+        OperationTimer timer = Metrics.timer("ui.load." + fxml);
         FXMLLoader loader = new FXMLLoader(App.class.getResource(fxml + ".fxml"));
-        return loader.load();
+        long started = System.nanoTime();
+        boolean failed = true;
+        try {
+            loader.load();
+            failed = false;
+            return loader;
+        } finally {
+            timer.record(System.nanoTime() - started, failed);
+        }
+    }
+
+    /**
+     * Show a loaded view, telling the {@link CachedView} controllers of the
+     * old and new view. "ui.navigate.&lt;view&gt;" times from startedNanos
+     * until the new root has been laid out, so CSS and layout of the first
+     * frame are included.
+     */
+    public static void showRoot(String view, FXMLLoader loader, long startedNanos) {
+        OperationTimer timer = Metrics.timer("ui.navigate." + view);
+        Object controller = loader.getController();
+        if (shownController instanceof CachedView hidden && shownController != controller) {
+            hidden.onHide();
+        }
+        scene.setRoot(loader.getRoot());
+        shownController = controller;
+        if (controller instanceof CachedView shown) {
+            shown.onShow();
+        }
+        afterNextLayout(() -> timer.record(System.nanoTime() - startedNanos, false));
+    }
+
+    /**
+     * Run once, after the next layout pass of the scene.
+     */
+    private static void afterNextLayout(Runnable action) {
+        Runnable[] listener = new Runnable[1];
+        listener[0] = () -> {
+            scene.removePostLayoutPulseListener(listener[0]);
+            action.run();
+        };
+        scene.addPostLayoutPulseListener(listener[0]);
     }
 
     public static void main(String[] args) {
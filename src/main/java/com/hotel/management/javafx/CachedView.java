@@ -0,0 +1,23 @@
+package com.hotel.management.javafx;
+
+/**
+ * Implemented by controllers of views that {@link ViewRegistry} keeps and
+ * shows again, instead of loading a fresh copy on every navigation.
+ */
+public interface CachedView {
+
+    /**
+     * Called every time the view is shown, including the first time. The
+     * place to start timers and refresh data that may have changed while
+     * the view was hidden.
+     */
+    default void onShow() {
+    }
+
+    /**
+     * Called when another view replaces this one. Stop timers and drop
+     * in-flight loads here.
+     */
+    default void onHide() {
+    }
+}
@@ -0,0 +1,137 @@
+package com.hotel.management.javafx;
+
+import com.hotel.management.javafx.db.ConnectionPool;
+import com.hotel.management.javafx.db.DatabaseConnection;
+import com.hotel.management.javafx.db.DbExecutor;
+import com.hotel.management.javafx.db.RoomDAO;
+import com.hotel.management.javafx.metrics.Metrics;
+import java.lang.management.ManagementFactory;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Application start-up. The login stage is shown first; while the user
+ * types, the rest runs in parallel off the FX thread:
+ * - database: the pool is created (JDBC driver, first connections, schema
+ *   check) and one connection is validated
+ * - rooms: the room inventory cache is primed, once the database is up
+ * - views: the screens used after login are parsed (see {@link ViewRegistry})
+ *
+ * Signing in before the database phase is done simply waits for the pool
+ * that is already being opened. A failed phase is logged and redone on
+ * demand later, as if there had been no warm-up.
+ *
+ * Each phase is timed as "startup.&lt;phase&gt;" (see {@link Metrics}), and
+ * "startup.loginShown" / "startup.ready" from JVM start, so cold-start time
+ * can be tracked.
+ */
+public final class StartupPipeline {
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 5;
+
+    private final long jvmStartMillis = ManagementFactory.getRuntimeMXBean().getStartTime();
+    private final Map<String, String> summary = new LinkedHashMap<>();
+
+    /**
+     * The login view has been laid out; {@code startedNanos} is when
+     * App.start began loading it.
+     */
+    public void loginShown(long startedNanos) {
+        record("login", System.nanoTime() - startedNanos, false);
+        recordSinceJvmStart("loginShown", false);
+    }
+
+    /**
+     * Start the background phases. The result completes when all of them
+     * have finished, failed or not.
+     */
+    public CompletableFuture<Void> warmUp() {
+        CompletableFuture<ConnectionPool> database = DbExecutor.supply(() -> timed("database", this::openDatabase));
+        CompletableFuture<Integer> rooms = database.thenCompose(pool ->
+                DbExecutor.supply(() -> timed("rooms", () -> new RoomDAO().getAllRooms().size())));
+
+        long viewsStarted = System.nanoTime();
+        CompletableFuture<Void> views = App.views().preload("dashboard", "reservations", "RoomReservationView")
+                .whenComplete((done, error) -> {
+                    record("views", System.nanoTime() - viewsStarted, error != null);
+                    if (error != null) {
+                        System.err.println("⚠ Preloading views failed: " + rootCause(error).getMessage());
+                    }
+                });
+
+        return CompletableFuture.allOf(database, rooms, views)
+                .handle((done, error) -> {
+                    if (error != null) {
+                        System.err.println("⚠ Start-up warm-up incomplete: " + rootCause(error).getMessage());
+                    }
+                    recordSinceJvmStart("ready", error != null);
+                    System.out.println("✓ Startup: " + summary());
+                    return null;
+                });
+    }
+
+    /**
+     * Create the pool (or wait for the one being created) and check that a
+     * connection actually answers.
+     */
+    private ConnectionPool openDatabase() {
+        try {
+            ConnectionPool pool = DatabaseConnection.getPool();
+            try (Connection conn = pool.borrow()) {
+                if (!conn.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                    throw new SQLException("Database connection did not answer within "
+                            + VALIDATION_TIMEOUT_SECONDS + "s");
+                }
+            }
+            return pool;
+        } catch (SQLException e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    private <T> T timed(String phase, Supplier<T> work) {
+        long started = System.nanoTime();
+        boolean failed = true;
+        try {
+            T result = work.get();
+            failed = false;
+            return result;
+        } finally {
+            record(phase, System.nanoTime() - started, failed);
+        }
+    }
+
+    private void recordSinceJvmStart(String phase, boolean failed) {
+        record(phase, (System.currentTimeMillis() - jvmStartMillis) * 1_000_000L, failed);
+    }
+
+    private void record(String phase, long nanos, boolean failed) {
+        if (Metrics.isEnabled()) {
+            Metrics.timer("startup." + phase).record(nanos, failed);
+        }
+        synchronized (summary) {
+            summary.put(phase, String.format("%d ms%s", nanos / 1_000_000, failed ? " (failed)" : ""));
+        }
+    }
+
+    private String summary() {
+        StringJoiner line = new StringJoiner(", ");
+        synchronized (summary) {
+            summary.forEach((phase, time) -> line.add(phase + " " + time));
+        }
+        return line.toString();
+    }
+
+    private static Throwable rootCause(Throwable error) {
+        while (error instanceof CompletionException && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error;
+    }
+}
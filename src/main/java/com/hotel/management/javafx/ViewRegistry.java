@@ -0,0 +1,89 @@
+package com.hotel.management.javafx;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import javafx.fxml.FXMLLoader;
+
+/**
+ * Keeps the loaded signed-in views (root and controller) for reuse, so
+ * navigating back to a screen does not parse its FXML, rebuild its controls
+ * and CSS, and leave the old controller behind.
+ *
+ * {@link #preload} loads views on a background thread; that is safe because
+ * their nodes are not part of a showing scene yet and their controllers
+ * start work only in {@link CachedView#onShow}. Views that are not listed
+ * as reusable (the login screen) are loaded fresh every time.
+ */
+public class ViewRegistry {
+
+    private static final Set<String> REUSABLE = Set.of("dashboard", "reservations", "RoomReservationView");
+
+    private final Map<String, CompletableFuture<FXMLLoader>> views = new ConcurrentHashMap<>();
+
+    /**
+     * The view, from the registry if it was loaded before. Waits for a
+     * preload in progress; if the preload failed the view is loaded here.
+     */
+    public FXMLLoader get(String fxml) throws IOException {
+        if (!REUSABLE.contains(fxml)) {
+            return App.load(fxml);
+        }
+        CompletableFuture<FXMLLoader> view = views.get(fxml);
+        if (view != null) {
+            try {
+                return view.join();
+            } catch (CompletionException e) {
+                views.remove(fxml, view);
+                System.err.println("⚠ Preloading " + fxml + " failed, loading it again: " + e.getCause());
+            }
+        }
+        FXMLLoader loaded = App.load(fxml);
+        views.put(fxml, CompletableFuture.completedFuture(loaded));
+        return loaded;
+    }
+
+    /**
+     * Load the given views on a background thread, one after the other,
+     * unless they are loaded (or loading) already. The result completes when
+     * the views this call started have loaded, exceptionally if one failed.
+     */
+    public CompletableFuture<Void> preload(String... fxmls) {
+        Map<String, CompletableFuture<FXMLLoader>> started = new LinkedHashMap<>();
+        for (String fxml : fxmls) {
+            CompletableFuture<FXMLLoader> view = new CompletableFuture<>();
+            if (REUSABLE.contains(fxml) && views.putIfAbsent(fxml, view) == null) {
+                started.put(fxml, view);
+            }
+        }
+        if (started.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        Thread.ofPlatform().daemon().name("view-preload").start(() -> started.forEach((fxml, view) -> {
+            try {
+                view.complete(App.load(fxml));
+            } catch (IOException | RuntimeException e) {
+                view.completeExceptionally(e);
+            }
+        }));
+        return CompletableFuture.allOf(started.values().toArray(new CompletableFuture<?>[0]));
+    }
+
+    /**
+     * Forget one view, so the next navigation to it loads it from scratch.
+     */
+    public void invalidate(String fxml) {
+        views.remove(fxml);
+    }
+
+    /**
+     * Forget every view, e.g. on logout so the next user starts clean.
+     */
+    public void clear() {
+        views.clear();
+    }
+}
@@ -1,23 +1,62 @@
 package com.hotel.management.javafx.controller;
 
 import com.hotel.management.javafx.App;
+import com.hotel.management.javafx.CachedView;
+import com.hotel.management.javafx.db.RoomDAO;
+import javafx.event.EventHandler;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
-import javafx.scene.Parent;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Label;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyCodeCombination;
+import javafx.scene.input.KeyCombination;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.layout.AnchorPane;
 import io.github.palexdev.materialfx.controls.MFXButton;
 
-public class DashboardController {
+public class DashboardController implements CachedView {
 
+    // Hidden shortcut for the diagnostics panel
+    private static final KeyCombination DIAGNOSTICS_KEYS =
+            new KeyCodeCombination(KeyCode.D, KeyCombination.SHORTCUT_DOWN, KeyCombination.SHIFT_DOWN);
+
+    @FXML private AnchorPane dashboardRoot;
     @FXML private Label signedInLabel;
     @FXML private MFXButton dashboardBtn;
     @FXML private MFXButton reservationsBtn;
+    @FXML private MFXButton reportsBtn;
     @FXML private MFXButton logoutBtn;
 
     @FXML
     public void initialize() {
         System.out.println("Dashboard loaded successfully");
+        
+        // The scene is shared by all views, so the shortcut is only
+        // installed while the dashboard is showing
+        EventHandler<KeyEvent> diagnosticsShortcut = event -> {
+            if (DIAGNOSTICS_KEYS.match(event)) {
+                event.consume();
+                new DiagnosticsDialog().show();
+            }
+        };
+        dashboardRoot.sceneProperty().addListener((obs, oldScene, newScene) -> {
+            if (oldScene != null) {
+                oldScene.removeEventFilter(KeyEvent.KEY_PRESSED, diagnosticsShortcut);
+            }
+            if (newScene != null) {
+                newScene.addEventFilter(KeyEvent.KEY_PRESSED, diagnosticsShortcut);
+            }
+        });
+    }
+
+    /**
+     * Warm the room inventory cache so opening a room view needs no round
+     * trip. Cheap when the cache is still fresh.
+     */
+    @Override
+    public void onShow() {
+        new RoomDAO().getAllRoomsAsync();
     }
 
     // Optional: called from LoginController
@@ -43,9 +82,15 @@ public class DashboardController {
         }
     }
 
+    @FXML
+    private void openReports() {
+        new ReportsDialog().show();
+    }
+
     @FXML
     private void logout() {
         try {
+            App.views().clear();
             App.setRoot("login");
         } catch (Exception e) {
             e.printStackTrace();
@@ -76,15 +121,15 @@ public class DashboardController {
     
     private void openRoomView(String roomType) {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/hotel/management/javafx/RoomReservationView.fxml"));
-            Parent root = loader.load();
+            long started = System.nanoTime();
+            FXMLLoader loader = App.views().get("RoomReservationView");
             
             // Get the controller and pass the room type
             RoomReservationController controller = loader.getController();
             controller.setRoomType(roomType);
             
             // Set the new scene
-            App.scene.setRoot(root);
+            App.showRoot("RoomReservationView", loader, started);
         } catch (Exception e) {
             e.printStackTrace();
             showError("Failed to open room view: " + e.getMessage());
@@ -0,0 +1,117 @@
+package com.hotel.management.javafx.controller;
+
+import com.hotel.management.javafx.db.DatabaseConnection;
+import com.hotel.management.javafx.db.PoolStats;
+import com.hotel.management.javafx.db.RoomDAO;
+import com.hotel.management.javafx.db.StatementTracer;
+import com.hotel.management.javafx.metrics.Metrics;
+import com.hotel.management.javafx.metrics.OperationTimer;
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.collections.FXCollections;
+import javafx.event.ActionEvent;
+import javafx.geometry.Insets;
+import javafx.scene.control.Button;
+import javafx.scene.control.ButtonBar;
+import javafx.scene.control.ButtonType;
+import javafx.scene.control.Dialog;
+import javafx.scene.control.Label;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.control.TextArea;
+import javafx.scene.layout.VBox;
+import javafx.util.Duration;
+import java.util.function.Function;
+
+/**
+ * Hidden diagnostics panel (Ctrl+Shift+D on the dashboard): every operation
+ * timer with its latency percentiles, errors, rows and database share, plus
+ * the connection pool and room cache counters, and the SQL statements with
+ * the most total time. Refreshes every two seconds while open.
+ *
+ * A high "DB %" means the time goes to JDBC round trips; a low one with a
+ * high latency points at row mapping or Java code. ui.* rows are FXML loads
+ * and navigations, including the first layout pass.
+ */
+public class DiagnosticsDialog {
+
+    private final Dialog<ButtonType> dialog = new Dialog<>();
+    private final TableView<OperationTimer> table = new TableView<>();
+    private final Label poolLabel = new Label();
+    private final Label cacheLabel = new Label();
+    private final TextArea topStatements = new TextArea();
+
+    public DiagnosticsDialog() {
+        dialog.setTitle("Diagnostics");
+        dialog.setHeaderText("Operation timings since start (or last reset)");
+        dialog.setResizable(true);
+
+        table.getColumns().add(column("Operation", OperationTimer::getName, 260));
+        table.getColumns().add(column("Calls", OperationTimer::getCount, 70));
+        table.getColumns().add(column("Errors", OperationTimer::getErrors, 60));
+        table.getColumns().add(column("Rows", OperationTimer::getRows, 80));
+        table.getColumns().add(column("Mean ms", t -> millis(t.getMeanMillis()), 70));
+        table.getColumns().add(column("p50 ms", t -> millis(t.getP50Millis()), 70));
+        table.getColumns().add(column("p99 ms", t -> millis(t.getP99Millis()), 70));
+        table.getColumns().add(column("Max ms", t -> millis(t.getMaxMillis()), 70));
+        table.getColumns().add(column("DB %", t -> Math.round(t.getDatabaseShare() * 100), 50));
+        table.setPrefSize(900, 420);
+        table.setPlaceholder(new Label("Nothing timed yet"));
+
+        topStatements.setEditable(false);
+        topStatements.setPrefRowCount(12);
+        topStatements.setStyle("-fx-font-family: monospace; -fx-font-size: 11px;");
+
+        VBox content = new VBox(10, table, poolLabel, cacheLabel, new Label("Top statements"), topStatements);
+        content.setPadding(new Insets(10));
+        dialog.getDialogPane().setContent(content);
+
+        ButtonType resetButtonType = new ButtonType("Reset", ButtonBar.ButtonData.LEFT);
+        dialog.getDialogPane().getButtonTypes().addAll(resetButtonType, ButtonType.CLOSE);
+        Button resetButton = (Button) dialog.getDialogPane().lookupButton(resetButtonType);
+        resetButton.addEventFilter(ActionEvent.ACTION, event -> {
+            event.consume();  // keep the dialog open
+            Metrics.resetAll();
+            StatementTracer.getInstance().reset();
+            refresh();
+        });
+    }
+
+    /**
+     * Show the panel without blocking the caller.
+     */
+    public void show() {
+        refresh();
+        Timeline autoRefresh = new Timeline(new KeyFrame(Duration.seconds(2), event -> refresh()));
+        autoRefresh.setCycleCount(Animation.INDEFINITE);
+        dialog.setOnHidden(event -> autoRefresh.stop());
+        autoRefresh.play();
+        dialog.show();
+    }
+
+    private void refresh() {
+        table.setItems(FXCollections.observableArrayList(Metrics.all()));
+        table.refresh();
+        PoolStats poolStats = DatabaseConnection.getPoolStats();
+        poolLabel.setText(poolStats == null ? "Pool: not started" : poolStats.toString());
+        cacheLabel.setText(RoomDAO.getCache().toString());
+        topStatements.setText(StatementTracer.getInstance().isEnabled()
+                ? StatementTracer.getInstance().dumpTop(15)
+                : "Statement tracing is off (db.trace.enabled=false)");
+    }
+
+    // Numbers rather than formatted text, so the columns sort numerically
+    private static double millis(double millis) {
+        return Math.round(millis * 100) / 100.0;
+    }
+
+    private static TableColumn<OperationTimer, Object> column(String title, Function<OperationTimer, Object> value,
+                                                              double width) {
+        TableColumn<OperationTimer, Object> column = new TableColumn<>(title);
+        column.setCellValueFactory(cell -> new ReadOnlyObjectWrapper<>(value.apply(cell.getValue())));
+        column.setPrefWidth(width);
+        return column;
+    }
+}
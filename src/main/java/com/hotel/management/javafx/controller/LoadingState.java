@@ -0,0 +1,69 @@
+package com.hotel.management.javafx.controller;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+
+/**
+ * Tracks one in-flight background call for a controller.
+ *
+ * Starting a new call cancels the previous one, and results are delivered on
+ * the JavaFX application thread through Platform.runLater. Results of calls
+ * that were cancelled or superseded are dropped. The loading property can be
+ * bound to disable buttons or show a placeholder while a call is running.
+ */
+class LoadingState {
+
+    private final ReadOnlyBooleanWrapper loading = new ReadOnlyBooleanWrapper(false);
+    private CompletableFuture<?> current;
+
+    <T> void start(CompletableFuture<T> call, Consumer<T> onSuccess, Consumer<Throwable> onError) {
+        cancel();
+        current = call;
+        loading.set(true);
+
+        call.whenComplete((value, error) -> Platform.runLater(() -> {
+            if (current != call) {
+                return;  // cancelled or replaced by a newer call
+            }
+            current = null;
+            loading.set(false);
+
+            if (error == null) {
+                onSuccess.accept(value);
+            } else if (!(error instanceof CancellationException)) {
+                onError.accept(unwrap(error));
+            }
+        }));
+    }
+
+    /**
+     * Cancel the running call, if any. Its result will not be delivered.
+     */
+    void cancel() {
+        if (current != null) {
+            current.cancel(true);
+            current = null;
+            loading.set(false);
+        }
+    }
+
+    boolean isLoading() {
+        return loading.get();
+    }
+
+    ReadOnlyBooleanProperty loadingProperty() {
+        return loading.getReadOnlyProperty();
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        if (error instanceof CompletionException && error.getCause() != null) {
+            return error.getCause();
+        }
+        return error;
+    }
+}
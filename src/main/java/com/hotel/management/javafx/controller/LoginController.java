@@ -4,6 +4,7 @@ import com.hotel.management.javafx.App;
 import com.hotel.management.javafx.db.UserDAO;
 import com.hotel.management.javafx.model.User;
 import javafx.fxml.FXML;
+import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.PasswordField;
 import javafx.scene.control.TextField;
@@ -11,6 +12,7 @@ import javafx.scene.control.TextField;
 public class LoginController {
 
     private final UserDAO userDAO = new UserDAO();
+    private final LoadingState login = new LoadingState();
 
     @FXML
     private TextField usernameField;
@@ -18,11 +20,28 @@ public class LoginController {
     @FXML
     private PasswordField passwordField;
 
+    @FXML
+    private Button loginButton;
+
     @FXML
     private Label errorLabel;
 
+    @FXML
+    public void initialize() {
+        // Keep the form locked while a login check is in flight
+        usernameField.disableProperty().bind(login.loadingProperty());
+        passwordField.disableProperty().bind(login.loadingProperty());
+        if (loginButton != null) {
+            loginButton.disableProperty().bind(login.loadingProperty());
+        }
+    }
+
     @FXML
     private void handleLogin() {
+        if (login.isLoading()) {
+            return;
+        }
+
         String username = usernameField.getText().trim();
         String password = passwordField.getText().trim();
 
@@ -31,12 +50,24 @@ public class LoginController {
             return;
         }
 
-        User user = userDAO.findByCredentials(username, password);
+        errorLabel.setText("Signing in...");
+        login.start(
+            userDAO.findByCredentialsAsync(username, password),
+            this::onLoginResult,
+            error -> {
+                error.printStackTrace();
+                errorLabel.setText("Login failed: " + error.getMessage());
+            }
+        );
+    }
 
+    private void onLoginResult(User user) {
         if (user != null) {
             errorLabel.setText("");
             try {
                 App.setRoot("dashboard");   // loads dashboard.fxml
+                // Ready the other screens while the user looks at the dashboard
+                App.views().preload("reservations", "RoomReservationView");
             } catch (Exception e) {
                 e.printStackTrace();
                 errorLabel.setText("Failed to open dashboard");
@@ -45,4 +76,4 @@ public class LoginController {
             errorLabel.setText("Invalid username or password");
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,180 @@
+package com.hotel.management.javafx.controller;
+
+import com.hotel.management.javafx.db.ReportDAO;
+import com.hotel.management.javafx.reporting.OccupancyReport;
+import com.hotel.management.javafx.reporting.OccupancyReport.Granularity;
+import com.hotel.management.javafx.reporting.OccupancyReport.Grouping;
+import com.hotel.management.javafx.reporting.OccupancyReports;
+import com.hotel.management.javafx.reporting.StayColumns;
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.collections.FXCollections;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.control.Button;
+import javafx.scene.control.ButtonType;
+import javafx.scene.control.ComboBox;
+import javafx.scene.control.DatePicker;
+import javafx.scene.control.Dialog;
+import javafx.scene.control.Label;
+import javafx.scene.control.TableCell;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+
+/**
+ * Occupancy and revenue report (Reports on the dashboard): occupancy %, ADR
+ * and RevPAR per day or month, by room type or floor, for any date range.
+ *
+ * The stays of the range are loaded once as columns (see
+ * {@link StayColumns}); changing the granularity or grouping, or narrowing
+ * the range, recomputes from what is loaded without another query.
+ */
+public class ReportsDialog {
+
+    private final Dialog<ButtonType> dialog = new Dialog<>();
+    private final DatePicker fromPicker = new DatePicker(LocalDate.now().withDayOfMonth(1).minusMonths(11));
+    private final DatePicker toPicker = new DatePicker(LocalDate.now().withDayOfMonth(1).plusMonths(1));
+    private final ComboBox<Granularity> granularityBox = new ComboBox<>(FXCollections.observableArrayList(Granularity.values()));
+    private final ComboBox<Grouping> groupingBox = new ComboBox<>(FXCollections.observableArrayList(Grouping.values()));
+    private final TableView<OccupancyReport.Row> table = new TableView<>();
+    private final Label summaryLabel = new Label();
+    private final LoadingState loading = new LoadingState();
+    private final ReportDAO reportDAO = new ReportDAO();
+
+    // What is loaded, and for which range
+    private StayColumns loaded;
+    private LocalDate loadedFrom;
+    private LocalDate loadedTo;
+    private Granularity shownGranularity = Granularity.MONTHLY;
+
+    public ReportsDialog() {
+        dialog.setTitle("Reports");
+        dialog.setHeaderText("Occupancy and revenue");
+        dialog.setResizable(true);
+
+        granularityBox.setValue(Granularity.MONTHLY);
+        groupingBox.setValue(Grouping.ROOM_TYPE);
+        Button runButton = new Button("Run");
+        runButton.setDefaultButton(true);
+        runButton.disableProperty().bind(loading.loadingProperty());
+        runButton.setOnAction(event -> run());
+        granularityBox.setOnAction(event -> rerunIfLoaded());
+        groupingBox.setOnAction(event -> rerunIfLoaded());
+
+        HBox controls = new HBox(8, new Label("From"), fromPicker, new Label("to"), toPicker,
+                granularityBox, groupingBox, runButton);
+        controls.setAlignment(Pos.CENTER_LEFT);
+
+        table.getColumns().add(column("Period", row -> period(row.periodStart()), 90));
+        table.getColumns().add(column("Group", OccupancyReport.Row::group, 110));
+        table.getColumns().add(column("Rooms", OccupancyReport.Row::rooms, 60));
+        table.getColumns().add(column("Room nights", OccupancyReport.Row::availableRoomNights, 90));
+        table.getColumns().add(column("Sold", OccupancyReport.Row::occupiedRoomNights, 80));
+        table.getColumns().add(formatted(column("Occupancy", row -> row.occupancy() * 100, 80), "%.1f%%"));
+        table.getColumns().add(formatted(column("ADR", OccupancyReport.Row::adr, 80), "$%,.2f"));
+        table.getColumns().add(formatted(column("RevPAR", OccupancyReport.Row::revPar, 80), "$%,.2f"));
+        table.getColumns().add(formatted(column("Revenue", OccupancyReport.Row::revenue, 110), "$%,.0f"));
+        table.setPrefSize(860, 440);
+        table.setPlaceholder(new Label("Pick a range and press Run"));
+
+        VBox content = new VBox(10, controls, table, summaryLabel);
+        content.setPadding(new Insets(10));
+        dialog.getDialogPane().setContent(content);
+        dialog.getDialogPane().getButtonTypes().add(ButtonType.CLOSE);
+        dialog.setOnHidden(event -> loading.cancel());
+    }
+
+    /**
+     * Show the dialog without blocking the caller.
+     */
+    public void show() {
+        dialog.show();
+        run();
+    }
+
+    private void run() {
+        LocalDate from = fromPicker.getValue();
+        LocalDate to = toPicker.getValue();
+        if (from == null || to == null || !to.isAfter(from)) {
+            summaryLabel.setText("The end date must be after the start date.");
+            return;
+        }
+        Granularity granularity = granularityBox.getValue();
+        Grouping grouping = groupingBox.getValue();
+
+        boolean reuse = loaded != null && !from.isBefore(loadedFrom) && !to.isAfter(loadedTo);
+        CompletableFuture<StayColumns> data = reuse
+                ? CompletableFuture.completedFuture(loaded)
+                : reportDAO.loadStayColumnsAsync(from, to);
+        summaryLabel.setText(reuse ? "Computing..." : "Loading stays...");
+        table.setPlaceholder(new Label("Loading..."));
+
+        long started = System.nanoTime();
+        loading.start(
+            data.thenApplyAsync(columns -> {
+                if (columns == null) {
+                    throw new IllegalStateException("Could not load the reservations");
+                }
+                return new Loaded(columns, OccupancyReports.compute(columns, from, to, granularity, grouping));
+            }),
+            result -> {
+                if (!reuse) {
+                    loaded = result.columns();
+                    loadedFrom = from;
+                    loadedTo = to;
+                }
+                OccupancyReport report = result.report();
+                shownGranularity = report.granularity();
+                table.setItems(FXCollections.observableArrayList(report.rows()));
+                table.setPlaceholder(new Label("No rooms"));
+                summaryLabel.setText(String.format("%,d stays, %,d rooms, %,d rows in %d ms",
+                        report.stays(), result.columns().roomCount(), report.rows().size(),
+                        (System.nanoTime() - started) / 1_000_000));
+            },
+            error -> {
+                table.setPlaceholder(new Label("Could not compute the report"));
+                summaryLabel.setText("Report failed: " + error.getMessage());
+            }
+        );
+    }
+
+    private void rerunIfLoaded() {
+        if (loaded != null) {
+            run();
+        }
+    }
+
+    private record Loaded(StayColumns columns, OccupancyReport report) {
+    }
+
+    private String period(LocalDate start) {
+        return shownGranularity == Granularity.MONTHLY && start.getDayOfMonth() == 1
+                ? start.toString().substring(0, 7)
+                : start.toString();
+    }
+
+    private static <T> TableColumn<OccupancyReport.Row, T> column(String title, Function<OccupancyReport.Row, T> value,
+                                                                  double width) {
+        TableColumn<OccupancyReport.Row, T> column = new TableColumn<>(title);
+        column.setCellValueFactory(cell -> new ReadOnlyObjectWrapper<>(value.apply(cell.getValue())));
+        column.setPrefWidth(width);
+        return column;
+    }
+
+    // Numbers stay numbers (so the column sorts numerically), only the text is formatted
+    private static TableColumn<OccupancyReport.Row, Double> formatted(TableColumn<OccupancyReport.Row, Double> column,
+                                                                      String format) {
+        column.setCellFactory(col -> new TableCell<>() {
+            @Override
+            protected void updateItem(Double value, boolean empty) {
+                super.updateItem(value, empty);
+                setText(empty || value == null ? null : String.format(format, value));
+            }
+        });
+        return column;
+    }
+}
@@ -1,25 +1,57 @@
 package com.hotel.management.javafx.controller;
 
 import com.hotel.management.javafx.App;
+import com.hotel.management.javafx.CachedView;
+import com.hotel.management.javafx.db.DbExecutor;
+import com.hotel.management.javafx.db.ReservationChanges;
 import com.hotel.management.javafx.db.ReservationDAO;
-import com.hotel.management.javafx.model.Reservation;
+import com.hotel.management.javafx.db.ReservationPage;
+import com.hotel.management.javafx.model.ReservationRow;
+import com.hotel.management.javafx.pricing.PricingEngine;
 import io.github.palexdev.materialfx.controls.MFXButton;
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.beans.property.ReadOnlyObjectWrapper;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
-import javafx.scene.control.cell.PropertyValueFactory;
+import javafx.scene.control.skin.VirtualFlow;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
 import javafx.geometry.Pos;
 import javafx.geometry.Insets;
+import javafx.util.Duration;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
-public class ReservationsController {
+public class ReservationsController implements CachedView {
+    
+    // Keyset paging: only a bounded window of rows is kept in reservationsList
+    private static final int PAGE_SIZE = Integer.getInteger("hotel.reservations.pageSize", 100);
+    private static final int MAX_WINDOW_ROWS = PAGE_SIZE * Integer.getInteger("hotel.reservations.windowPages", 5);
+    private static final int PREFETCH_ROWS = Math.max(1, PAGE_SIZE / 4);
+    
+    // How often to pick up changes made from other desks (0 = only after our own changes)
+    private static final long SYNC_INTERVAL_MILLIS = Long.getLong("hotel.reservations.syncIntervalMs", 5_000);
+    
+    // Same order as the keyset queries: check_in DESC, reservation_id DESC
+    private static final Comparator<ReservationRow> TABLE_ORDER = Comparator
+            .comparing(ReservationRow::checkInDate)
+            .thenComparing(ReservationRow::reservationId)
+            .reversed();
     
     // Sidebar buttons
     @FXML private MFXButton dashboardBtn;
@@ -34,19 +66,31 @@ public class ReservationsController {
     @FXML private Label cancelledLabel;
     
     // Table and columns
-    @FXML private TableView<Reservation> reservationsTable;
-    @FXML private TableColumn<Reservation, String> reservationIdColumn;
-    @FXML private TableColumn<Reservation, String> roomIdColumn;
-    @FXML private TableColumn<Reservation, String> guestNameColumn;
-    @FXML private TableColumn<Reservation, String> guestPhoneColumn;
-    @FXML private TableColumn<Reservation, LocalDate> checkInColumn;
-    @FXML private TableColumn<Reservation, LocalDate> checkOutColumn;
-    @FXML private TableColumn<Reservation, Double> totalPriceColumn;
-    @FXML private TableColumn<Reservation, String> statusColumn;
-    @FXML private TableColumn<Reservation, Void> actionsColumn;
+    @FXML private TableView<ReservationRow> reservationsTable;
+    @FXML private TableColumn<ReservationRow, String> reservationIdColumn;
+    @FXML private TableColumn<ReservationRow, String> roomIdColumn;
+    @FXML private TableColumn<ReservationRow, String> guestNameColumn;
+    @FXML private TableColumn<ReservationRow, String> guestPhoneColumn;
+    @FXML private TableColumn<ReservationRow, LocalDate> checkInColumn;
+    @FXML private TableColumn<ReservationRow, LocalDate> checkOutColumn;
+    @FXML private TableColumn<ReservationRow, Double> totalPriceColumn;
+    @FXML private TableColumn<ReservationRow, String> statusColumn;
+    @FXML private TableColumn<ReservationRow, Void> actionsColumn;
     
     private ReservationDAO reservationDAO;
-    private ObservableList<Reservation> reservationsList;
+    private ObservableList<ReservationRow> reservationsList;
+    private final LoadingState loading = new LoadingState();
+    private final LoadingState paging = new LoadingState();
+    private final LoadingState counting = new LoadingState();
+    private final LoadingState saving = new LoadingState();
+    private final LoadingState syncing = new LoadingState();
+    private final PricingEngine pricing = PricingEngine.get();
+    
+    private boolean hasOlder;   // more rows below the window
+    private boolean hasNewer;   // rows above the window were dropped
+    private VirtualFlow<?> tableFlow;
+    private Instant syncWatermark;  // null until the first page has loaded
+    private Timeline syncTimer;
     
     @FXML
     public void initialize() {
@@ -61,11 +105,37 @@ public class ReservationsController {
         // Set up table columns
         setupTableColumns();
         
-        // Load reservations from database
-        loadReservations();
-        
-        // Update stats
-        updateStats();
+        if (reservationsTable != null) {
+            reservationsTable.setItems(reservationsList);
+            setupScrollPaging();
+        }
+        // Loading starts in onShow; the view may be preloaded long before it is shown
+    }
+    
+    /**
+     * The view is kept between visits: the first visit loads the newest page
+     * (stats are updated when it completes), later visits only fetch what
+     * changed in the meantime.
+     */
+    @Override
+    public void onShow() {
+        if (syncWatermark == null) {
+            loadReservations();
+        } else {
+            syncChanges();
+        }
+        startSyncTimer();
+    }
+    
+    @Override
+    public void onHide() {
+        cancelPendingCalls();
+    }
+    
+    /**
+     * The newest page together with the watermark read just before it
+     */
+    private record FirstPage(ReservationPage page, Instant watermark) {
     }
     
     private void setupNavigationButtons() {
@@ -89,55 +159,26 @@ public class ReservationsController {
     }
     
     private void setupTableColumns() {
-        // Set up cell value factories
-        reservationIdColumn.setCellValueFactory(new PropertyValueFactory<>("reservationId"));
-        
-        roomIdColumn.setCellValueFactory(cellData -> {
-            try {
-                return new javafx.beans.property.SimpleStringProperty(
-                    cellData.getValue().getRoom().getRoomNumber()
-                );
-            } catch (Exception e) {
-                return new javafx.beans.property.SimpleStringProperty("N/A");
-            }
-        });
-        
-        guestNameColumn.setCellValueFactory(cellData -> {
-            try {
-                return new javafx.beans.property.SimpleStringProperty(
-                    cellData.getValue().getGuest().getName()
-                );
-            } catch (Exception e) {
-                return new javafx.beans.property.SimpleStringProperty("N/A");
-            }
-        });
-        
-        guestPhoneColumn.setCellValueFactory(cellData -> {
-            try {
-                return new javafx.beans.property.SimpleStringProperty(
-                    cellData.getValue().getGuest().getPhoneNumber()
-                );
-            } catch (Exception e) {
-                return new javafx.beans.property.SimpleStringProperty("N/A");
-            }
-        });
-        
-        checkInColumn.setCellValueFactory(new PropertyValueFactory<>("checkInDate"));
-        checkOutColumn.setCellValueFactory(new PropertyValueFactory<>("checkOutDate"));
-        totalPriceColumn.setCellValueFactory(new PropertyValueFactory<>("totalPrice"));
-        
-        statusColumn.setCellValueFactory(cellData -> {
-            try {
-                return new javafx.beans.property.SimpleStringProperty(
-                    cellData.getValue().getRoom().getStatus()
-                );
-            } catch (Exception e) {
-                return new javafx.beans.property.SimpleStringProperty("Unknown");
-            }
-        });
+        // Rows are immutable records, so plain read-only values do (no reflection per cell)
+        reservationIdColumn.setCellValueFactory(cellData ->
+            new ReadOnlyObjectWrapper<>(cellData.getValue().reservationId()));
+        roomIdColumn.setCellValueFactory(cellData ->
+            new ReadOnlyObjectWrapper<>(cellData.getValue().roomNumber()));
+        guestNameColumn.setCellValueFactory(cellData ->
+            new ReadOnlyObjectWrapper<>(cellData.getValue().guestName()));
+        guestPhoneColumn.setCellValueFactory(cellData ->
+            new ReadOnlyObjectWrapper<>(cellData.getValue().guestPhone()));
+        checkInColumn.setCellValueFactory(cellData ->
+            new ReadOnlyObjectWrapper<>(cellData.getValue().checkInDate()));
+        checkOutColumn.setCellValueFactory(cellData ->
+            new ReadOnlyObjectWrapper<>(cellData.getValue().checkOutDate()));
+        totalPriceColumn.setCellValueFactory(cellData ->
+            new ReadOnlyObjectWrapper<>(cellData.getValue().totalPrice()));
+        statusColumn.setCellValueFactory(cellData ->
+            new ReadOnlyObjectWrapper<>(cellData.getValue().room().status().label()));
         
         // Format price column
-        totalPriceColumn.setCellFactory(col -> new TableCell<Reservation, Double>() {
+        totalPriceColumn.setCellFactory(col -> new TableCell<ReservationRow, Double>() {
             @Override
             protected void updateItem(Double price, boolean empty) {
                 super.updateItem(price, empty);
@@ -150,7 +191,7 @@ public class ReservationsController {
         });
         
         // Set up actions column with buttons
-        actionsColumn.setCellFactory(col -> new TableCell<Reservation, Void>() {
+        actionsColumn.setCellFactory(col -> new TableCell<ReservationRow, Void>() {
             private final Button extendBtn = new Button("Extend");
             private final Button cancelBtn = new Button("Cancel");
             private final HBox pane = new HBox(5, extendBtn, cancelBtn);
@@ -165,11 +206,11 @@ public class ReservationsController {
                                   "-fx-background-radius: 6; -fx-font-size: 11px; -fx-padding: 4 10;");
                 
                 extendBtn.setOnAction(e -> {
-                    Reservation reservation = getTableView().getItems().get(getIndex());
+                    ReservationRow reservation = getTableView().getItems().get(getIndex());
                     handleExtend(reservation);
                 });
                 cancelBtn.setOnAction(e -> {
-                    Reservation reservation = getTableView().getItems().get(getIndex());
+                    ReservationRow reservation = getTableView().getItems().get(getIndex());
                     handleCancel(reservation);
                 });
             }
@@ -186,76 +227,243 @@ public class ReservationsController {
         });
     }
     
-    private void loadReservations() {
-        try {
-            System.out.println("Loading reservations from database...");
-            List<Reservation> reservations = reservationDAO.getAllReservations();
-            
-            reservationsList.clear();
-            reservationsList.addAll(reservations);
-            
-            if (reservationsTable != null) {
-                reservationsTable.setItems(reservationsList);
+    /**
+     * Fetch pages from the database as the user scrolls near either end of
+     * the loaded window.
+     */
+    private void setupScrollPaging() {
+        reservationsTable.skinProperty().addListener((obs, oldSkin, newSkin) -> {
+            if (newSkin != null && reservationsTable.lookup(".virtual-flow") instanceof VirtualFlow<?> flow) {
+                tableFlow = flow;
+                flow.positionProperty().addListener((o, oldPos, newPos) -> checkScrollPaging());
             }
-            
-            System.out.println("✓ Loaded " + reservations.size() + " reservations into table");
-            
-        } catch (Exception e) {
-            System.err.println("Error loading reservations: " + e.getMessage());
-            e.printStackTrace();
-            showError("Failed to load reservations: " + e.getMessage());
+        });
+    }
+    
+    private void checkScrollPaging() {
+        if (tableFlow == null || loading.isLoading() || paging.isLoading()
+                || reservationsList.isEmpty() || tableFlow.getFirstVisibleCell() == null) {
+            return;
+        }
+        
+        int first = tableFlow.getFirstVisibleCell().getIndex();
+        int last = tableFlow.getLastVisibleCell().getIndex();
+        
+        if (hasOlder && last >= reservationsList.size() - PREFETCH_ROWS) {
+            loadOlderPage();
+        } else if (hasNewer && first <= PREFETCH_ROWS) {
+            loadNewerPage();
         }
     }
     
-    private void updateStats() {
-        try {
-            if (totalReservationsLabel != null) {
-                totalReservationsLabel.setText(String.valueOf(reservationsList.size()));
-            }
-            
-            if (activeReservationsLabel != null) {
-                long activeCount = reservationsList.stream()
-                    .filter(r -> {
-                        try {
-                            String status = r.getRoom().getStatus();
-                            return "Reserved".equals(status) || "Occupied".equals(status);
-                        } catch (Exception e) {
-                            return false;
-                        }
-                    })
-                    .count();
-                activeReservationsLabel.setText(String.valueOf(activeCount));
+    private void loadOlderPage() {
+        ReservationRow lastRow = reservationsList.get(reservationsList.size() - 1);
+        paging.start(
+            reservationDAO.getReservationsPageAsync(ReservationPage.Key.of(lastRow), PAGE_SIZE),
+            page -> {
+                int firstVisible = firstVisibleIndex();
+                reservationsList.addAll(page.rows());
+                hasOlder = page.hasMore();
+                
+                int overflow = reservationsList.size() - MAX_WINDOW_ROWS;
+                if (overflow > 0) {
+                    // Drop the newest rows and keep the same rows on screen
+                    reservationsList.remove(0, overflow);
+                    hasNewer = true;
+                    tableFlow.scrollToTop(Math.max(0, firstVisible - overflow));
+                }
+            },
+            error -> System.err.println("Error loading older reservations: " + error.getMessage())
+        );
+    }
+    
+    private void loadNewerPage() {
+        ReservationRow firstRow = reservationsList.get(0);
+        paging.start(
+            reservationDAO.getReservationsPageBeforeAsync(ReservationPage.Key.of(firstRow), PAGE_SIZE),
+            page -> {
+                int firstVisible = firstVisibleIndex();
+                reservationsList.addAll(0, page.rows());
+                hasNewer = page.hasMore();
+                
+                int overflow = reservationsList.size() - MAX_WINDOW_ROWS;
+                if (overflow > 0) {
+                    // Drop the oldest rows; they are fetched again when scrolled back to
+                    reservationsList.remove(reservationsList.size() - overflow, reservationsList.size());
+                    hasOlder = true;
+                }
+                tableFlow.scrollToTop(firstVisible + page.rows().size());
+            },
+            error -> System.err.println("Error loading newer reservations: " + error.getMessage())
+        );
+    }
+    
+    private int firstVisibleIndex() {
+        if (tableFlow == null || tableFlow.getFirstVisibleCell() == null) {
+            return 0;
+        }
+        return tableFlow.getFirstVisibleCell().getIndex();
+    }
+    
+    /**
+     * (Re)load the newest page of reservations.
+     */
+    private void loadReservations() {
+        System.out.println("Loading reservations from database...");
+        paging.cancel();
+        syncing.cancel();
+        if (reservationsTable != null) {
+            reservationsTable.setPlaceholder(new Label("Loading reservations..."));
+        }
+        
+        loading.start(
+            DbExecutor.supply(() -> {
+                Instant watermark = reservationDAO.getSyncWatermark();
+                return new FirstPage(reservationDAO.getReservationsPage(null, PAGE_SIZE), watermark);
+            }),
+            firstPage -> {
+                ReservationPage page = firstPage.page();
+                syncWatermark = firstPage.watermark();
+                reservationsList.setAll(page.rows());
+                hasOlder = page.hasMore();
+                hasNewer = false;
+                if (reservationsTable != null) {
+                    reservationsTable.setPlaceholder(new Label("No reservations found"));
+                    reservationsTable.scrollTo(0);
+                }
+                updateStats();
+                System.out.println("✓ Loaded first " + page.rows().size() + " reservations into table");
+            },
+            error -> {
+                System.err.println("Error loading reservations: " + error.getMessage());
+                error.printStackTrace();
+                if (reservationsTable != null) {
+                    reservationsTable.setPlaceholder(new Label("Could not load reservations"));
+                }
+                showError("Failed to load reservations: " + error.getMessage());
             }
-            
-            if (checkedOutLabel != null) {
-                long checkedOutCount = reservationsList.stream()
-                    .filter(r -> {
-                        try {
-                            String status = r.getRoom().getStatus();
-                            return "Cleaning".equals(status) || "Available".equals(status);
-                        } catch (Exception e) {
-                            return false;
-                        }
-                    })
-                    .count();
-                checkedOutLabel.setText(String.valueOf(checkedOutCount));
+        );
+    }
+    
+    private void startSyncTimer() {
+        if (SYNC_INTERVAL_MILLIS <= 0) {
+            return;
+        }
+        if (syncTimer == null) {
+            syncTimer = new Timeline(new KeyFrame(Duration.millis(SYNC_INTERVAL_MILLIS), e -> syncChanges()));
+            syncTimer.setCycleCount(Animation.INDEFINITE);
+        }
+        syncTimer.play();
+    }
+    
+    /**
+     * Fetch the reservations changed since the last sync and merge them into
+     * the loaded window, instead of reloading it.
+     */
+    private void syncChanges() {
+        if (syncWatermark == null || loading.isLoading() || paging.isLoading()) {
+            return;  // the running load brings the rows (and a watermark) itself
+        }
+        syncing.start(
+            reservationDAO.getChangesSinceAsync(syncWatermark),
+            changes -> {
+                if (changes != null) {
+                    applyChanges(changes);
+                }
+            },
+            error -> System.err.println("Error syncing reservations: " + error.getMessage())
+        );
+    }
+    
+    /**
+     * Merge a delta into reservationsList in place: changed rows are
+     * replaced where they are, removed rows are dropped, and new rows are
+     * inserted at their sorted position if it falls inside the loaded window
+     * (otherwise paging brings them in later).
+     */
+    private void applyChanges(ReservationChanges changes) {
+        syncWatermark = changes.watermark();
+        if (changes.isEmpty()) {
+            return;
+        }
+        
+        Map<String, Integer> positions = new HashMap<>();
+        for (int i = 0; i < reservationsList.size(); i++) {
+            positions.put(reservationsList.get(i).reservationId(), i);
+        }
+        
+        Set<String> toRemove = new HashSet<>(changes.removedIds());
+        List<ReservationRow> toInsert = new ArrayList<>();
+        for (ReservationRow changed : changes.changed()) {
+            Integer position = positions.get(changed.reservationId());
+            if (position == null) {
+                toInsert.add(changed);
+            } else if (reservationsList.get(position).checkInDate().equals(changed.checkInDate())) {
+                reservationsList.set(position, changed);
+            } else {
+                // Moved in the sort order: take it out and put it back in its new place
+                toRemove.add(changed.reservationId());
+                toInsert.add(changed);
             }
-            
-            if (cancelledLabel != null) {
-                // You might want to add a cancelled status to track this
-                cancelledLabel.setText("0");
+        }
+        
+        if (!toRemove.isEmpty()) {
+            reservationsList.removeIf(r -> toRemove.contains(r.reservationId()));
+        }
+        for (ReservationRow added : toInsert) {
+            int found = Collections.binarySearch(reservationsList, added, TABLE_ORDER);
+            int position = found >= 0 ? found : -found - 1;
+            boolean beyondOlderEdge = position == reservationsList.size() && hasOlder;
+            boolean beyondNewerEdge = position == 0 && hasNewer;
+            if (!beyondOlderEdge && !beyondNewerEdge) {
+                reservationsList.add(position, added);
             }
-        } catch (Exception e) {
-            System.err.println("Error updating stats: " + e.getMessage());
-            e.printStackTrace();
         }
+        
+        System.out.println("✓ Synced " + changes.changed().size() + " changed and "
+                + changes.removedIds().size() + " removed reservations");
+        updateStats();
+    }
+    
+    /**
+     * Ask the database for the counts; they cover every reservation, not
+     * just the loaded window, and cost one small query.
+     */
+    private void updateStats() {
+        counting.start(
+            reservationDAO.getReservationStatsAsync(),
+            stats -> {
+                if (stats == null) {
+                    setStatLabels("?", "?", "?", "?");
+                } else {
+                    setStatLabels(String.valueOf(stats.total()), String.valueOf(stats.active()),
+                                  String.valueOf(stats.checkedOut()), String.valueOf(stats.cancelled()));
+                }
+            },
+            error -> {
+                System.err.println("Error updating stats: " + error.getMessage());
+                setStatLabels("?", "?", "?", "?");
+            }
+        );
+    }
+    
+    private void setStatLabels(String total, String active, String checkedOut, String cancelled) {
+        if (totalReservationsLabel != null) totalReservationsLabel.setText(total);
+        if (activeReservationsLabel != null) activeReservationsLabel.setText(active);
+        if (checkedOutLabel != null) checkedOutLabel.setText(checkedOut);
+        if (cancelledLabel != null) cancelledLabel.setText(cancelled);
     }
     
-    private void handleExtend(Reservation reservation) {
+    private void handleExtend(ReservationRow reservation) {
+        if (saving.isLoading()) {
+            showError("Please wait until the previous change has been saved.");
+            return;
+        }
+        
         // Create custom dialog
         Dialog<ButtonType> dialog = new Dialog<>();
         dialog.setTitle("Extend Reservation");
-        dialog.setHeaderText("Extend Reservation for " + reservation.getGuest().getName());
+        dialog.setHeaderText("Extend Reservation for " + reservation.guestName());
         
         // Set button types
         ButtonType extendButtonType = new ButtonType("Extend Reservation", ButtonBar.ButtonData.OK_DONE);
@@ -269,11 +477,11 @@ public class ReservationsController {
         Label infoLabel = new Label("Current Reservation Details:");
         infoLabel.setStyle("-fx-font-weight: bold; -fx-font-size: 13px;");
         
-        Label roomLabel = new Label("Room: " + reservation.getRoom().getRoomNumber() + 
-                                    " (" + reservation.getRoom().getRoomType() + ")");
-        Label checkInLabel = new Label("Check-In: " + reservation.getCheckInDate());
-        Label currentCheckOutLabel = new Label("Current Check-Out: " + reservation.getCheckOutDate());
-        Label currentPriceLabel = new Label("Current Total: $" + String.format("%.2f", reservation.getTotalPrice()));
+        Label roomLabel = new Label("Room: " + reservation.roomNumber() + 
+                                    " (" + reservation.room().type().label() + ")");
+        Label checkInLabel = new Label("Check-In: " + reservation.checkInDate());
+        Label currentCheckOutLabel = new Label("Current Check-Out: " + reservation.checkOutDate());
+        Label currentPriceLabel = new Label("Current Total: $" + String.format("%.2f", reservation.totalPrice()));
         
         // Separator
         Label separator = new Label("────────────────────────────");
@@ -284,19 +492,18 @@ public class ReservationsController {
         newDateLabel.setStyle("-fx-font-weight: bold;");
         
         DatePicker newCheckOutDate = new DatePicker();
-        newCheckOutDate.setValue(reservation.getCheckOutDate().plusDays(1)); // Default to 1 day extension
+        newCheckOutDate.setValue(reservation.checkOutDate().plusDays(1)); // Default to 1 day extension
         newCheckOutDate.setPromptText("Select new check-out date");
         
         // Price calculation label
-        Label newPriceLabel = new Label("New Total: $" + String.format("%.2f", reservation.getTotalPrice()));
+        Label newPriceLabel = new Label("New Total: $" + String.format("%.2f", reservation.totalPrice()));
         newPriceLabel.setStyle("-fx-font-size: 14px; -fx-font-weight: bold; -fx-text-fill: #22c55e;");
         
         // Update price when date changes
         newCheckOutDate.valueProperty().addListener((obs, oldVal, newVal) -> {
-            if (newVal != null && newVal.isAfter(reservation.getCheckInDate())) {
-                long totalNights = ChronoUnit.DAYS.between(reservation.getCheckInDate(), newVal);
-                double pricePerNight = reservation.getRoom().getPrice();
-                double newTotal = totalNights * pricePerNight;
+            if (newVal != null && newVal.isAfter(reservation.checkInDate())) {
+                long totalNights = ChronoUnit.DAYS.between(reservation.checkInDate(), newVal);
+                double newTotal = pricing.quote(reservation.room(), reservation.checkInDate(), newVal);
                 newPriceLabel.setText("New Total: $" + String.format("%.2f", newTotal) + 
                                      " (" + totalNights + " nights)");
             }
@@ -321,36 +528,39 @@ public class ReservationsController {
                 return;
             }
             
-            if (!newDate.isAfter(reservation.getCheckOutDate())) {
+            if (!newDate.isAfter(reservation.checkOutDate())) {
                 showError("New check-out date must be after the current check-out date (" + 
-                         reservation.getCheckOutDate() + ")");
+                         reservation.checkOutDate() + ")");
                 return;
             }
             
             // Calculate new total price
-            long totalNights = ChronoUnit.DAYS.between(reservation.getCheckInDate(), newDate);
-            double pricePerNight = reservation.getRoom().getPrice();
-            double newTotal = totalNights * pricePerNight;
+            double newTotal = pricing.quote(reservation.room(), reservation.checkInDate(), newDate);
             
             // Update reservation in database
-            boolean success = reservationDAO.extendReservation(
-                reservation.getReservationId(), 
-                newDate, 
-                newTotal
+            saving.start(
+                reservationDAO.extendReservationAsync(reservation.reservationId(), newDate, newTotal),
+                success -> {
+                    if (success) {
+                        showSuccess("Reservation Extended!", 
+                            "Check-out date extended to " + newDate + "\n" +
+                            "New total: $" + String.format("%.2f", newTotal));
+                        syncChanges();
+                    } else {
+                        showError("Failed to extend reservation. Please try again.");
+                    }
+                },
+                error -> showError("Failed to extend reservation: " + error.getMessage())
             );
-            
-            if (success) {
-                showSuccess("Reservation Extended!", 
-                    "Check-out date extended to " + newDate + "\n" +
-                    "New total: $" + String.format("%.2f", newTotal));
-                refreshData();
-            } else {
-                showError("Failed to extend reservation. Please try again.");
-            }
         }
     }
     
-    private void handleCancel(Reservation reservation) {
+    private void handleCancel(ReservationRow reservation) {
+        if (saving.isLoading()) {
+            showError("Please wait until the previous change has been saved.");
+            return;
+        }
+        
         // Create confirmation dialog
         Alert confirmation = new Alert(Alert.AlertType.CONFIRMATION);
         confirmation.setTitle("Cancel Reservation");
@@ -358,11 +568,11 @@ public class ReservationsController {
         
         // Build detailed confirmation message
         String message = "Are you sure you want to cancel this reservation?\n\n" +
-                        "Guest: " + reservation.getGuest().getName() + "\n" +
-                        "Room: " + reservation.getRoom().getRoomNumber() + "\n" +
-                        "Check-In: " + reservation.getCheckInDate() + "\n" +
-                        "Check-Out: " + reservation.getCheckOutDate() + "\n" +
-                        "Total: $" + String.format("%.2f", reservation.getTotalPrice()) + "\n\n" +
+                        "Guest: " + reservation.guestName() + "\n" +
+                        "Room: " + reservation.roomNumber() + "\n" +
+                        "Check-In: " + reservation.checkInDate() + "\n" +
+                        "Check-Out: " + reservation.checkOutDate() + "\n" +
+                        "Total: $" + String.format("%.2f", reservation.totalPrice()) + "\n\n" +
                         "This action cannot be undone.";
         
         confirmation.setContentText(message);
@@ -375,16 +585,20 @@ public class ReservationsController {
         Optional<ButtonType> result = confirmation.showAndWait();
         
         if (result.isPresent() && result.get() == yesButton) {
-            boolean cancelled = reservationDAO.cancelReservation(reservation.getReservationId());
-            
-            if (cancelled) {
-                showSuccess("Reservation Cancelled!", 
-                    "Reservation for " + reservation.getGuest().getName() + " has been cancelled.\n" +
-                    "Room " + reservation.getRoom().getRoomNumber() + " is now available.");
-                refreshData();
-            } else {
-                showError("Failed to cancel reservation. Please try again.");
-            }
+            saving.start(
+                reservationDAO.cancelReservationAsync(reservation.reservationId()),
+                cancelled -> {
+                    if (cancelled) {
+                        showSuccess("Reservation Cancelled!", 
+                            "Reservation for " + reservation.guestName() + " has been cancelled.\n" +
+                            "Room " + reservation.roomNumber() + " is now available.");
+                        syncChanges();
+                    } else {
+                        showError("Failed to cancel reservation. Please try again.");
+                    }
+                },
+                error -> showError("Failed to cancel reservation: " + error.getMessage())
+            );
         }
     }
     
@@ -392,8 +606,21 @@ public class ReservationsController {
     private void refreshData() {
         System.out.println("Refreshing reservations data...");
         loadReservations();
-        updateStats();
-        System.out.println("✓ Reservations refreshed");
+    }
+    
+    /**
+     * Drop an in-flight load when this view is replaced (see onHide). Saves
+     * are left to finish since the change may already be on its way to the
+     * database.
+     */
+    private void cancelPendingCalls() {
+        loading.cancel();
+        paging.cancel();
+        counting.cancel();
+        syncing.cancel();
+        if (syncTimer != null) {
+            syncTimer.stop();
+        }
     }
     
     @FXML
@@ -415,6 +642,7 @@ public class ReservationsController {
     @FXML
     private void logout() {
         try {
+            App.views().clear();
             App.setRoot("login");
         } catch (Exception e) {
             e.printStackTrace();
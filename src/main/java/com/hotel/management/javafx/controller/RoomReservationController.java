@@ -2,22 +2,29 @@ package com.hotel.management.javafx.controller;
 
 import java.util.UUID;
 import com.hotel.management.javafx.App;
+import com.hotel.management.javafx.CachedView;
+import com.hotel.management.javafx.db.BookingResult;
+import com.hotel.management.javafx.db.DbExecutor;
 import com.hotel.management.javafx.db.RoomDAO;
 import com.hotel.management.javafx.db.ReservationDAO;
 import com.hotel.management.javafx.model.Room;
 import com.hotel.management.javafx.model.Reservation;
 import com.hotel.management.javafx.model.Guest;
+import com.hotel.management.javafx.pricing.PricingEngine;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.layout.GridPane;
+import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Optional;
 import java.util.List;
+import java.util.Set;
 
-public class RoomReservationController {
+public class RoomReservationController implements CachedView {
     
     @FXML private Label roomTypeLabel;
     @FXML private TableView<Room> roomsTable;
@@ -26,26 +33,89 @@ public class RoomReservationController {
     @FXML private TableColumn<Room, Double> basePriceColumn;
     @FXML private TableColumn<Room, String> statusColumn;
     @FXML private Button backButton;
+    @FXML private DatePicker checkInPicker;
+    @FXML private DatePicker checkOutPicker;
+    @FXML private ComboBox<String> bulkStatusCombo;
     
     private RoomDAO roomDAO;
     private ReservationDAO reservationDAO;
     private ObservableList<Room> roomsList;
     private String selectedRoomType;
+    private Set<String> freeRooms = Set.of();  // free for the picked dates
+    private final LoadingState loading = new LoadingState();
+    private final LoadingState saving = new LoadingState();
+    private final PricingEngine pricing = PricingEngine.get();
     
     @FXML
     public void initialize() {
         roomDAO = new RoomDAO();
         reservationDAO = new ReservationDAO();
         roomsList = FXCollections.observableArrayList();
+        roomsTable.setItems(roomsList);
+        roomsTable.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);  // for group bookings
         
         setupTableColumns();
         setupBackButton();
+        setupDatePickers();
+        bulkStatusCombo.getItems().setAll("Available", "Cleaning", "Occupied", "Maintenance");
     }
     
     /**
-     * Called from DashboardController to set which room type to display
+     * Rooms of a type together with which of them are free for the picked dates
+     */
+    private record RoomsForDates(List<Room> rooms, Set<String> freeRooms) {
+    }
+    
+    private void setupDatePickers() {
+        checkInPicker.setValue(LocalDate.now());
+        checkOutPicker.setValue(LocalDate.now().plusDays(1));
+        
+        checkInPicker.valueProperty().addListener((obs, oldVal, newVal) -> {
+            if (newVal != null && (checkOutPicker.getValue() == null || !checkOutPicker.getValue().isAfter(newVal))) {
+                checkOutPicker.setValue(newVal.plusDays(1));  // also triggers a reload
+            } else {
+                reloadForDates();
+            }
+        });
+        checkOutPicker.valueProperty().addListener((obs, oldVal, newVal) -> reloadForDates());
+    }
+    
+    private void reloadForDates() {
+        if (selectedRoomType != null && hasValidDates()) {
+            loadRoomsByType(selectedRoomType);
+        }
+    }
+    
+    private boolean hasValidDates() {
+        return checkInPicker.getValue() != null && checkOutPicker.getValue() != null
+                && checkOutPicker.getValue().isAfter(checkInPicker.getValue());
+    }
+    
+    /**
+     * What the availability column shows for a room and the picked dates
+     */
+    private String availabilityOf(Room room) {
+        if (!room.isBookable()) {
+            return room.getStatus();
+        }
+        return freeRooms.contains(room.getRoomNumber()) ? "Available" : "Booked";
+    }
+    
+    /**
+     * Called from DashboardController to set which room type to display.
+     * The view is reused, so what the previous visit left behind is reset.
      */
     public void setRoomType(String roomType) {
+        if (!roomType.equals(selectedRoomType)) {
+            roomsList.clear();
+        }
+        roomsTable.getSelectionModel().clearSelection();
+        
+        // Dates left in the past by an earlier visit; no reload until the type is set
+        selectedRoomType = null;
+        if (checkInPicker.getValue() == null || checkInPicker.getValue().isBefore(LocalDate.now())) {
+            checkInPicker.setValue(LocalDate.now());
+        }
         this.selectedRoomType = roomType;
         
         // Update the label
@@ -61,7 +131,8 @@ public class RoomReservationController {
         roomNumberColumn.setCellValueFactory(new PropertyValueFactory<>("roomNumber"));
         roomTypeColumn.setCellValueFactory(new PropertyValueFactory<>("roomType"));
         basePriceColumn.setCellValueFactory(new PropertyValueFactory<>("price"));
-        statusColumn.setCellValueFactory(new PropertyValueFactory<>("status"));
+        statusColumn.setCellValueFactory(cellData ->
+            new javafx.beans.property.SimpleStringProperty(availabilityOf(cellData.getValue())));
         
         // Format price column
         basePriceColumn.setCellFactory(col -> new TableCell<Room, Double>() {
@@ -95,6 +166,7 @@ public class RoomReservationController {
                             setStyle("-fx-text-fill: #ef4444; -fx-font-weight: bold;");
                             break;
                         case "Reserved":
+                        case "Booked":
                             setStyle("-fx-text-fill: #f59e0b; -fx-font-weight: bold;");
                             break;
                         case "Cleaning":
@@ -119,21 +191,42 @@ public class RoomReservationController {
     }
     
     private void loadRoomsByType(String roomType) {
-        try {
-            List<Room> rooms = roomDAO.getRoomsByType(roomType);
-            roomsList.clear();
-            roomsList.addAll(rooms);
-            roomsTable.setItems(roomsList);
-            
-            System.out.println("Loaded " + rooms.size() + " rooms of type: " + roomType);
-            
-            if (rooms.isEmpty()) {
-                showInfo("No Rooms Found", "No " + roomType + " rooms found in the database.");
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
-            showError("Failed to load rooms: " + e.getMessage());
+        if (!hasValidDates()) {
+            showInfo("Invalid dates", "Check-out must be after check-in.");
+            return;
         }
+        roomsTable.setPlaceholder(new Label("Loading " + roomType + " rooms..."));
+        
+        LocalDate checkIn = checkInPicker.getValue();
+        LocalDate checkOut = checkOutPicker.getValue();
+        loading.start(
+            DbExecutor.supply(() -> new RoomsForDates(
+                roomDAO.getRoomsByType(roomType),
+                reservationDAO.getFreeRoomNumbers(roomType, checkIn, checkOut)
+            )),
+            result -> {
+                List<Room> rooms = result.rooms();
+                freeRooms = result.freeRooms();
+                roomsList.setAll(rooms);
+                roomsTable.setPlaceholder(new Label("No rooms found"));
+                
+                System.out.println("Loaded " + rooms.size() + " rooms of type: " + roomType);
+                
+                if (rooms.isEmpty()) {
+                    showInfo("No Rooms Found", "No " + roomType + " rooms found in the database.");
+                }
+            },
+            error -> {
+                error.printStackTrace();
+                roomsTable.setPlaceholder(new Label("Could not load rooms"));
+                showError("Failed to load rooms: " + error.getMessage());
+            }
+        );
+    }
+    
+    @Override
+    public void onHide() {
+        loading.cancel();
     }
     
     @FXML
@@ -148,6 +241,11 @@ public class RoomReservationController {
     
     @FXML
     private void handleReserveRoom() {
+        if (saving.isLoading()) {
+            showInfo("Please Wait", "The previous reservation is still being saved.");
+            return;
+        }
+        
         Room selectedRoom = roomsTable.getSelectionModel().getSelectedItem();
 
         if (selectedRoom == null) {
@@ -155,8 +253,10 @@ public class RoomReservationController {
             return;
         }
 
-        if (!selectedRoom.isAvailable()) {
-            showInfo("Room Unavailable", "This room is not available. Status: " + selectedRoom.getStatus());
+        if (!freeRooms.contains(selectedRoom.getRoomNumber())) {
+            showInfo("Room Unavailable", "Room " + selectedRoom.getRoomNumber() + " is not available from "
+                    + checkInPicker.getValue() + " to " + checkOutPicker.getValue()
+                    + ". Status: " + availabilityOf(selectedRoom));
             return;
         }
 
@@ -192,10 +292,10 @@ public class RoomReservationController {
         TextField emailField = new TextField();
         emailField.setPromptText("Email Address");
 
-        DatePicker checkInDate = new DatePicker();
-        DatePicker checkOutDate = new DatePicker();
+        DatePicker checkInDate = new DatePicker(checkInPicker.getValue());
+        DatePicker checkOutDate = new DatePicker(checkOutPicker.getValue());
 
-        Label totalPriceLabel = new Label("$" + room.getPrice());
+        Label totalPriceLabel = new Label();
 
         // 5. Add controls to Grid
         grid.add(new Label("Guest SSN:"), 0, 0);
@@ -220,8 +320,9 @@ public class RoomReservationController {
             if (checkInDate.getValue() != null && checkOutDate.getValue() != null) {
                 long days = ChronoUnit.DAYS.between(checkInDate.getValue(), checkOutDate.getValue());
                 if (days > 0) {
-                    double total = days * room.getPrice();
-                    totalPriceLabel.setText("$" + String.format("%.2f", total));
+                    double total = pricing.quote(room, checkInDate.getValue(), checkOutDate.getValue());
+                    totalPriceLabel.setText("$" + String.format("%.2f", total)
+                            + " (" + days + " nights, avg $" + String.format("%.2f", total / days) + ")");
                 } else {
                     totalPriceLabel.setText("Invalid Dates");
                 }
@@ -229,6 +330,7 @@ public class RoomReservationController {
         };
         checkInDate.valueProperty().addListener((obs, oldVal, newVal) -> updatePrice.run());
         checkOutDate.valueProperty().addListener((obs, oldVal, newVal) -> updatePrice.run());
+        updatePrice.run();  // dates come pre-filled from the availability search
 
         // 6. Show Dialog and wait for result
         Optional<ButtonType> result = dialog.showAndWait();
@@ -278,17 +380,25 @@ public class RoomReservationController {
                 );
 
                 // Save to database
-                boolean success = reservationDAO.addReservation(reservation);
-                
-                if (success) {
-                    showSuccess("Reservation Confirmed!", 
-                        "Room " + room.getRoomNumber() + " has been reserved for " + guest.getName());
-                    
-                    // Refresh the table to show updated status
-                    loadRoomsByType(selectedRoomType);
-                } else {
-                    showError("Failed to save reservation to database. Please try again.");
-                }
+                saving.start(
+                    reservationDAO.bookReservationAsync(reservation),
+                    booking -> {
+                        if (booking.isBooked()) {
+                            showSuccess("Reservation Confirmed!", 
+                                "Room " + room.getRoomNumber() + " has been reserved for " + guest.getName());
+                        } else if (booking.isConflict()) {
+                            showInfo("Room Already Booked", booking.message());
+                        } else {
+                            showError("Failed to save reservation to database. " + booking.message());
+                        }
+                        // Refresh the table to show updated availability
+                        loadRoomsByType(selectedRoomType);
+                    },
+                    error -> {
+                        error.printStackTrace();
+                        showError("An error occurred while saving the reservation: " + error.getMessage());
+                    }
+                );
 
             } catch (IllegalArgumentException ex) {
                 // Catch validation errors from Guest or Reservation
@@ -300,10 +410,179 @@ public class RoomReservationController {
         }
     }
 
+    /**
+     * Book every selected room for the picked dates under one lead guest,
+     * e.g. for a tour group or a corporate block.
+     */
+    @FXML
+    private void handleGroupBooking() {
+        if (saving.isLoading()) {
+            showInfo("Please Wait", "The previous reservation is still being saved.");
+            return;
+        }
+        if (!hasValidDates()) {
+            showInfo("Invalid dates", "Check-out must be after check-in.");
+            return;
+        }
+        
+        List<Room> selectedRooms = new ArrayList<>(roomsTable.getSelectionModel().getSelectedItems());
+        List<Room> groupRooms = new ArrayList<>();
+        for (Room room : selectedRooms) {
+            if (freeRooms.contains(room.getRoomNumber())) {
+                groupRooms.add(room);
+            }
+        }
+        if (groupRooms.isEmpty()) {
+            showInfo("No Selection", "Please select one or more rooms that are available from "
+                    + checkInPicker.getValue() + " to " + checkOutPicker.getValue() + ".");
+            return;
+        }
+        
+        LocalDate checkIn = checkInPicker.getValue();
+        LocalDate checkOut = checkOutPicker.getValue();
+        double total = 0;
+        for (Room room : groupRooms) {
+            total += pricing.quote(room, checkIn, checkOut);
+        }
+        
+        Dialog<ButtonType> dialog = new Dialog<>();
+        dialog.setTitle("Group Booking");
+        dialog.setHeaderText("Reserve " + groupRooms.size() + " rooms from " + checkIn + " to " + checkOut
+                + (groupRooms.size() < selectedRooms.size()
+                   ? "\n(" + (selectedRooms.size() - groupRooms.size()) + " selected rooms are not available and were left out)"
+                   : ""));
+        
+        ButtonType confirmButtonType = new ButtonType("Confirm Group", ButtonBar.ButtonData.OK_DONE);
+        dialog.getDialogPane().getButtonTypes().addAll(confirmButtonType, ButtonType.CANCEL);
+        
+        GridPane grid = new GridPane();
+        grid.setHgap(10);
+        grid.setVgap(10);
+        
+        TextField ssnField = new TextField();
+        ssnField.setPromptText("Lead Guest SSN (Min 14 chars)");
+        TextField nameField = new TextField();
+        nameField.setPromptText("Lead Guest / Group Name");
+        TextField phoneField = new TextField();
+        phoneField.setPromptText("Phone Number");
+        TextField emailField = new TextField();
+        emailField.setPromptText("Email Address");
+        
+        grid.add(new Label("Lead Guest SSN:"), 0, 0);
+        grid.add(ssnField, 1, 0);
+        grid.add(new Label("Name:"), 0, 1);
+        grid.add(nameField, 1, 1);
+        grid.add(new Label("Phone:"), 0, 2);
+        grid.add(phoneField, 1, 2);
+        grid.add(new Label("Email:"), 0, 3);
+        grid.add(emailField, 1, 3);
+        grid.add(new Label("Rooms:"), 0, 4);
+        grid.add(new Label(String.join(", ", groupRooms.stream().map(Room::getRoomNumber).toList())), 1, 4);
+        grid.add(new Label("Total Price:"), 0, 5);
+        grid.add(new Label("$" + String.format("%.2f", total)), 1, 5);
+        
+        dialog.getDialogPane().setContent(grid);
+        
+        Optional<ButtonType> result = dialog.showAndWait();
+        if (result.isEmpty() || result.get() != confirmButtonType) {
+            return;
+        }
+        
+        if (nameField.getText().trim().isEmpty() ||
+            ssnField.getText().trim().isEmpty() ||
+            phoneField.getText().trim().isEmpty() ||
+            emailField.getText().trim().isEmpty()) {
+            showInfo("Error", "Please fill in all required fields.");
+            return;
+        }
+        String ssn = ssnField.getText().trim();
+        if (ssn.length() < 14) {
+            showInfo("Invalid SSN", "SSN must be at least 14 characters.");
+            return;
+        }
+        
+        List<Reservation> reservations = new ArrayList<>();
+        try {
+            Guest guest = new Guest(
+                ssn,
+                nameField.getText().trim(),
+                phoneField.getText().trim(),
+                emailField.getText().trim()
+            );
+            for (Room room : groupRooms) {
+                reservations.add(new Reservation("", guest, room, checkIn, checkOut));
+            }
+        } catch (IllegalArgumentException ex) {
+            showInfo("Validation Error", ex.getMessage());
+            return;
+        }
+        
+        saving.start(
+            reservationDAO.addReservationsAsync(reservations),
+            group -> {
+                StringBuilder summary = new StringBuilder();
+                summary.append(group.bookedCount()).append(" of ").append(reservations.size())
+                       .append(" rooms reserved for ").append(nameField.getText().trim()).append(".");
+                List<BookingResult> results = group.results();
+                for (int i = 0; i < results.size(); i++) {
+                    if (!results.get(i).isBooked()) {
+                        summary.append("\nRoom ").append(reservations.get(i).getRoom().getRoomNumber())
+                               .append(": ").append(results.get(i).message());
+                    }
+                }
+                if (group.allBooked()) {
+                    showSuccess("Group Booking Confirmed!", summary.toString());
+                } else {
+                    showInfo("Group Booking Partly Saved", summary.toString());
+                }
+                loadRoomsByType(selectedRoomType);
+            },
+            error -> {
+                error.printStackTrace();
+                showError("An error occurred while saving the group booking: " + error.getMessage());
+            }
+        );
+    }
+
+    /**
+     * Housekeeping: set the status of all selected rooms in one go.
+     */
+    @FXML
+    private void handleBulkStatus() {
+        if (saving.isLoading()) {
+            showInfo("Please Wait", "The previous change is still being saved.");
+            return;
+        }
+        
+        List<String> roomNumbers = roomsTable.getSelectionModel().getSelectedItems().stream()
+                .map(Room::getRoomNumber)
+                .toList();
+        String newStatus = bulkStatusCombo.getValue();
+        if (roomNumbers.isEmpty() || newStatus == null) {
+            showInfo("No Selection", "Please select one or more rooms and the new status.");
+            return;
+        }
+        
+        saving.start(
+            roomDAO.updateRoomStatusesAsync(roomNumbers, newStatus),
+            changed -> {
+                System.out.println(changed.size() + " of " + roomNumbers.size() + " rooms set to " + newStatus);
+                loadRoomsByType(selectedRoomType);
+            },
+            error -> {
+                error.printStackTrace();
+                showError("Failed to update room statuses: " + error.getMessage());
+            }
+        );
+    }
+
     @FXML
     private void handleRefresh() {
         if (selectedRoomType != null && !selectedRoomType.isEmpty()) {
             System.out.println("Refreshing rooms for type: " + selectedRoomType);
+            // Pick up changes made from other desks
+            RoomDAO.getCache().invalidate();
+            ReservationDAO.getAvailability().invalidate();
             loadRoomsByType(selectedRoomType);
         } else {
             showError("Cannot refresh: Room type not set.");
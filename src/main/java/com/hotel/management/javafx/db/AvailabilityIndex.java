@@ -0,0 +1,245 @@
+package com.hotel.management.javafx.db;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Which rooms are booked on which nights, built from the reservations table.
+ *
+ * Each room has a bitmap with one bit per night, counted from the day the
+ * index was loaded, so "is this room free for [checkIn, checkOut)" is a single
+ * BitSet.nextSetBit call. Stays that ended before the load day are not
+ * tracked. The DAO keeps the index current when reservations are added,
+ * extended or cancelled; it is reloaded after {@code hotel.availability.maxAgeMs}
+ * (default 60 seconds, 0 = never) or after {@link #invalidate()} so bookings
+ * made from other desks show up.
+ *
+ * One caller loads at a time and the others wait for its result. A load that
+ * overlaps a change is thrown away and retried; if the index still cannot be
+ * loaded, {@link #isFree} answers false rather than guessing.
+ */
+public class AvailabilityIndex {
+
+    private static final long MAX_AGE_MILLIS = Long.getLong("hotel.availability.maxAgeMs", 60_000);
+    private static final int MAX_LOAD_ATTEMPTS = 3;
+
+    /**
+     * A booked stay: the room is taken for the nights [checkIn, checkOut).
+     */
+    public record Stay(String reservationId, String roomNumber, LocalDate checkIn, LocalDate checkOut) {
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReentrantLock loadLock = new ReentrantLock();
+    private final Map<String, RoomCalendar> calendars = new HashMap<>();
+    private final Map<String, Stay> staysById = new HashMap<>();
+    private long baseDay;
+    private boolean loaded;
+    private long loadedAtMillis;
+    private long generation;
+
+    /**
+     * True if the room has no booked night in [checkIn, checkOut). False
+     * when the index could not be loaded, so a database failure never makes
+     * rooms look free.
+     */
+    public boolean isFree(String roomNumber, LocalDate checkIn, LocalDate checkOut, Supplier<List<Stay>> loader) {
+        if (!ensureLoaded(loader)) {
+            return false;
+        }
+        lock.readLock().lock();
+        try {
+            return isFreeLocked(roomNumber, checkIn, checkOut);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Record a stay that was committed to the database.
+     */
+    public void book(Stay stay) {
+        lock.writeLock().lock();
+        try {
+            generation++;
+            if (!loaded) {
+                return;  // the next load reads it from the database
+            }
+            addLocked(stay);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Record a new check-out date for a stay.
+     */
+    public void extend(String reservationId, LocalDate newCheckOut) {
+        lock.writeLock().lock();
+        try {
+            generation++;
+            Stay stay = staysById.get(reservationId);
+            if (stay != null) {
+                removeLocked(stay);
+                addLocked(new Stay(reservationId, stay.roomNumber(), stay.checkIn(), newCheckOut));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Free the nights of a cancelled or deleted stay.
+     */
+    public void release(String reservationId) {
+        lock.writeLock().lock();
+        try {
+            generation++;
+            Stay stay = staysById.get(reservationId);
+            if (stay != null) {
+                removeLocked(stay);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void invalidate() {
+        lock.writeLock().lock();
+        try {
+            calendars.clear();
+            staysById.clear();
+            loaded = false;
+            generation++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private boolean ensureLoaded(Supplier<List<Stay>> loader) {
+        lock.readLock().lock();
+        try {
+            if (isFresh()) {
+                return true;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        loadLock.lock();
+        try {
+            for (int attempt = 1; attempt <= MAX_LOAD_ATTEMPTS; attempt++) {
+                long expectedGeneration;
+                lock.readLock().lock();
+                try {
+                    if (isFresh()) {
+                        return true;  // loaded by the caller we waited for
+                    }
+                    expectedGeneration = generation;
+                } finally {
+                    lock.readLock().unlock();
+                }
+
+                long loadDay = LocalDate.now().toEpochDay();
+                List<Stay> stays = loader.get();
+                if (stays == null) {
+                    return false;
+                }
+
+                lock.writeLock().lock();
+                try {
+                    // Invalidated or booked while we were loading: the result may be stale
+                    if (generation == expectedGeneration) {
+                        calendars.clear();
+                        staysById.clear();
+                        baseDay = loadDay;
+                        for (Stay stay : stays) {
+                            addLocked(stay);
+                        }
+                        loaded = true;
+                        loadedAtMillis = System.currentTimeMillis();
+                        generation++;
+                        return true;
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+            System.err.println("⚠ Reservations kept changing while the availability index was loaded");
+            return false;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    /**
+     * Caller holds the lock.
+     */
+    private boolean isFresh() {
+        return loaded && (MAX_AGE_MILLIS <= 0 || System.currentTimeMillis() - loadedAtMillis < MAX_AGE_MILLIS);
+    }
+
+    private boolean isFreeLocked(String roomNumber, LocalDate checkIn, LocalDate checkOut) {
+        RoomCalendar calendar = calendars.get(roomNumber);
+        if (calendar == null) {
+            return true;
+        }
+        int from = toIndex(checkIn);
+        int to = toIndex(checkOut);
+        if (to <= from) {
+            return true;
+        }
+        int next = calendar.booked.nextSetBit(from);
+        return next < 0 || next >= to;
+    }
+
+    private void addLocked(Stay stay) {
+        if (stay.reservationId() != null) {
+            staysById.put(stay.reservationId(), stay);
+        }
+        RoomCalendar calendar = calendars.computeIfAbsent(stay.roomNumber(), k -> new RoomCalendar());
+        calendar.stays.add(stay);
+        mark(calendar.booked, stay);
+    }
+
+    private void removeLocked(Stay stay) {
+        staysById.remove(stay.reservationId());
+        RoomCalendar calendar = calendars.get(stay.roomNumber());
+        if (calendar == null) {
+            return;
+        }
+        calendar.stays.removeIf(s -> stay.reservationId() != null && stay.reservationId().equals(s.reservationId()));
+        // Rebuild rather than clear, in case the data holds overlapping stays
+        calendar.booked.clear();
+        for (Stay remaining : calendar.stays) {
+            mark(calendar.booked, remaining);
+        }
+    }
+
+    private void mark(BitSet booked, Stay stay) {
+        int from = toIndex(stay.checkIn());
+        int to = toIndex(stay.checkOut());
+        if (to > from) {
+            booked.set(from, to);
+        }
+    }
+
+    /**
+     * Bit index of a night; nights before the load day all map to 0.
+     */
+    private int toIndex(LocalDate date) {
+        return (int) Math.max(0, date.toEpochDay() - baseDay);
+    }
+
+    private static final class RoomCalendar {
+        private final BitSet booked = new BitSet();
+        private final List<Stay> stays = new ArrayList<>(4);
+    }
+}
@@ -0,0 +1,33 @@
+package com.hotel.management.javafx.db;
+
+/**
+ * Outcome of a booking attempt.
+ *
+ * CONFLICT means the room is already taken for some of the requested nights
+ * (or kept changing under us from other desks); FAILED means the booking
+ * could not be saved for another reason, such as a lost connection.
+ */
+public record BookingResult(Outcome outcome, String reservationId, String message) {
+
+    public enum Outcome { BOOKED, CONFLICT, FAILED }
+
+    public static BookingResult booked(String reservationId) {
+        return new BookingResult(Outcome.BOOKED, reservationId, "Reservation saved");
+    }
+
+    public static BookingResult conflict(String message) {
+        return new BookingResult(Outcome.CONFLICT, null, message);
+    }
+
+    public static BookingResult failed(String message) {
+        return new BookingResult(Outcome.FAILED, null, message);
+    }
+
+    public boolean isBooked() {
+        return outcome == Outcome.BOOKED;
+    }
+
+    public boolean isConflict() {
+        return outcome == Outcome.CONFLICT;
+    }
+}
@@ -0,0 +1,55 @@
+package com.hotel.management.javafx.db;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Conversions between Java values and the compact column encodings.
+ *
+ * Reservation ids are UUIDs stored as BINARY(16); byte order matches the
+ * order of their text form, so keyset paging sorts the same on both sides.
+ * Money columns are DECIMAL(10,2) and are always bound with two decimals.
+ */
+public final class ColumnCodec {
+
+    private ColumnCodec() {
+    }
+
+    public static byte[] idToBytes(String reservationId) {
+        return idToBytes(UUID.fromString(reservationId));
+    }
+
+    public static byte[] idToBytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+
+    public static String idFromBytes(byte[] bytes) {
+        if (bytes == null) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong()).toString();
+    }
+
+    /**
+     * Id for a reservation saved before ids were UUIDs: a name-based UUID of
+     * the old id, so the same old id always maps to the same new one.
+     */
+    public static String legacyIdToUuid(String legacyId) {
+        try {
+            return UUID.fromString(legacyId).toString();
+        } catch (IllegalArgumentException e) {
+            return UUID.nameUUIDFromBytes(legacyId.getBytes(StandardCharsets.UTF_8)).toString();
+        }
+    }
+
+    public static BigDecimal money(double amount) {
+        return BigDecimal.valueOf(amount).setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,552 @@
+package com.hotel.management.javafx.db;
+
+import com.hotel.management.javafx.metrics.Metrics;
+import com.hotel.management.javafx.metrics.OperationTimer;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A small bounded JDBC connection pool.
+ *
+ * Connections handed out by {@link #borrow()} are wrappers: calling close()
+ * returns the physical connection to the pool instead of closing it. Idle
+ * connections are validated before reuse, connections that failed with a
+ * connection-level error are replaced, and idle connections above the
+ * minimum size are evicted by a background housekeeping task. Statements
+ * created on a leased connection are timed and traced, see
+ * {@link TracingStatement}, and prepared statements are reused from a
+ * per-connection {@link StatementCache}.
+ */
+public final class ConnectionPool implements AutoCloseable {
+
+    private final String url;
+    private final Properties connectionProperties;
+
+    private final int minSize;
+    private final int maxSize;
+    private final long borrowTimeoutMillis;
+    private final long idleTimeoutMillis;
+    private final long validateAfterIdleMillis;
+    private final int validationTimeoutSeconds;
+    private final int statementCacheSize;
+
+    private final ReentrantLock lock = new ReentrantLock(true);
+    private final Condition connectionReturned = lock.newCondition();
+    private final Deque<PooledEntry> idle = new ArrayDeque<>();
+    private int totalConnections;   // idle + leased + being opened
+    private int leasedConnections;
+    private int waiters;
+    private boolean closed;
+
+    private final ScheduledExecutorService housekeeper;
+    private final StatementTracer tracer = StatementTracer.getInstance();
+
+    // Statistics
+    private final LongAdder borrowCount = new LongAdder();
+    private final LongAdder borrowNanos = new LongAdder();
+    private final AtomicLong maxBorrowNanos = new AtomicLong();
+    private final LongAdder borrowTimeouts = new LongAdder();
+    private final LongAdder connectionsCreated = new LongAdder();
+    private final LongAdder connectionsDestroyed = new LongAdder();
+    private final LongAdder statementCacheHits = new LongAdder();
+    private final LongAdder statementCacheMisses = new LongAdder();
+    private final LongAdder statementCacheEvictions = new LongAdder();
+
+    public ConnectionPool(String url, String user, String password, Properties settings) {
+        this.url = url;
+        this.connectionProperties = new Properties();
+        if (user != null) connectionProperties.setProperty("user", user);
+        if (password != null) connectionProperties.setProperty("password", password);
+
+        this.minSize = intSetting(settings, "db.pool.minSize", 2);
+        this.maxSize = Math.max(1, intSetting(settings, "db.pool.maxSize", 10));
+        this.borrowTimeoutMillis = longSetting(settings, "db.pool.borrowTimeoutMs", 10_000);
+        this.idleTimeoutMillis = longSetting(settings, "db.pool.idleTimeoutMs", 600_000);
+        this.validateAfterIdleMillis = longSetting(settings, "db.pool.validateAfterIdleMs", 5_000);
+        this.validationTimeoutSeconds = intSetting(settings, "db.pool.validationTimeoutSec", 3);
+        this.statementCacheSize = statementCacheSize(settings);
+
+        if (minSize > maxSize) {
+            throw new IllegalArgumentException("db.pool.minSize cannot be larger than db.pool.maxSize");
+        }
+        tracer.configure(settings);
+
+        long housekeepingMillis = longSetting(settings, "db.pool.housekeepingMs", 30_000);
+        housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "db-pool-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+        housekeeper.scheduleWithFixedDelay(this::housekeep, housekeepingMillis, housekeepingMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Borrow a connection, waiting up to the configured borrow timeout when
+     * every connection is in use. The caller must close() the returned
+     * connection to give it back.
+     */
+    public Connection borrow() throws SQLException {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(borrowTimeoutMillis);
+
+        while (true) {
+            PooledEntry entry = null;
+            boolean mustOpen = false;
+
+            lock.lock();
+            try {
+                while (true) {
+                    if (closed) {
+                        throw new SQLException("Connection pool is closed");
+                    }
+                    entry = idle.pollFirst();
+                    if (entry != null) {
+                        break;
+                    }
+                    if (totalConnections < maxSize) {
+                        totalConnections++;
+                        mustOpen = true;
+                        break;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        borrowTimeouts.increment();
+                        throw new SQLTimeoutException("Timed out after " + borrowTimeoutMillis
+                                + " ms waiting for a database connection (pool size " + maxSize + ")");
+                    }
+                    waiters++;
+                    try {
+                        connectionReturned.awaitNanos(remaining);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new SQLException("Interrupted while waiting for a database connection", e);
+                    } finally {
+                        waiters--;
+                    }
+                }
+                leasedConnections++;
+            } finally {
+                lock.unlock();
+            }
+
+            if (mustOpen) {
+                try {
+                    entry = open();
+                } catch (SQLException e) {
+                    lock.lock();
+                    try {
+                        totalConnections--;
+                        leasedConnections--;
+                        connectionReturned.signal();
+                    } finally {
+                        lock.unlock();
+                    }
+                    throw e;
+                }
+            } else if (!isAlive(entry)) {
+                // Stale connection (e.g. killed by the server's wait_timeout): drop it and try again
+                System.err.println("⚠ Discarding dead pooled connection");
+                lock.lock();
+                try {
+                    leasedConnections--;
+                } finally {
+                    lock.unlock();
+                }
+                destroy(entry);
+                continue;
+            }
+
+            recordBorrow(System.nanoTime() - start);
+            return entry.lease();
+        }
+    }
+
+    /**
+     * Open connections until the pool holds at least its minimum size. The
+     * missing connections are opened in parallel, since each one pays for a
+     * full connect (and TLS) handshake.
+     */
+    public void fillToMinimum() {
+        int missing;
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            missing = Math.max(0, minSize - totalConnections);
+            totalConnections += missing;
+        } finally {
+            lock.unlock();
+        }
+
+        Thread[] openers = new Thread[missing];
+        for (int i = 0; i < missing; i++) {
+            openers[i] = Thread.ofVirtual().name("db-pool-open-" + i).start(this::openIdle);
+        }
+        try {
+            for (Thread opener : openers) {
+                opener.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Open one connection for a slot already counted in totalConnections and
+     * add it to the idle connections.
+     */
+    private void openIdle() {
+        PooledEntry entry;
+        try {
+            entry = open();
+        } catch (SQLException e) {
+            lock.lock();
+            try {
+                totalConnections--;
+            } finally {
+                lock.unlock();
+            }
+            System.err.println("Error pre-opening pooled connection: " + e.getMessage());
+            return;
+        }
+        lock.lock();
+        try {
+            if (!closed) {
+                idle.addLast(entry);
+                connectionReturned.signal();
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+        destroy(entry);
+    }
+
+    public PoolStats getStats() {
+        lock.lock();
+        try {
+            long borrows = borrowCount.sum();
+            double avgMillis = borrows == 0 ? 0.0 : borrowNanos.sum() / (double) borrows / 1_000_000.0;
+            return new PoolStats(
+                leasedConnections,
+                idle.size(),
+                waiters,
+                totalConnections,
+                maxSize,
+                borrows,
+                avgMillis,
+                maxBorrowNanos.get() / 1_000_000.0,
+                borrowTimeouts.sum(),
+                connectionsCreated.sum(),
+                connectionsDestroyed.sum(),
+                statementCacheHits.sum(),
+                statementCacheMisses.sum(),
+                statementCacheEvictions.sum()
+            );
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        Deque<PooledEntry> toClose;
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            toClose = new ArrayDeque<>(idle);
+            idle.clear();
+            connectionReturned.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        housekeeper.shutdownNow();
+        for (PooledEntry entry : toClose) {
+            destroy(entry);
+        }
+    }
+
+    private PooledEntry open() throws SQLException {
+        Connection physical = DriverManager.getConnection(url, connectionProperties);
+        connectionsCreated.increment();
+        return new PooledEntry(physical);
+    }
+
+    private boolean isAlive(PooledEntry entry) {
+        try {
+            if (entry.physical.isClosed()) {
+                return false;
+            }
+            long idleMillis = (System.nanoTime() - entry.lastReturnedNanos) / 1_000_000;
+            if (idleMillis < validateAfterIdleMillis) {
+                return true;
+            }
+            return entry.physical.isValid(validationTimeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void release(PooledEntry entry) {
+        boolean reusable = !entry.broken;
+        if (reusable) {
+            try {
+                if (!entry.physical.getAutoCommit()) {
+                    entry.physical.rollback();
+                    entry.physical.setAutoCommit(true);
+                }
+            } catch (SQLException e) {
+                reusable = false;
+            }
+        }
+
+        lock.lock();
+        try {
+            leasedConnections--;
+            if (reusable && !closed) {
+                entry.lastReturnedNanos = System.nanoTime();
+                idle.addFirst(entry);
+                connectionReturned.signal();
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+        destroy(entry);
+    }
+
+    private void destroy(PooledEntry entry) {
+        if (entry.statements != null) {
+            entry.statements.closeAll();
+        }
+        try {
+            entry.physical.close();
+        } catch (SQLException e) {
+            // Already dead, nothing more to do
+        }
+        connectionsDestroyed.increment();
+        lock.lock();
+        try {
+            totalConnections--;
+            connectionReturned.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Evict connections that sat idle longer than the idle timeout (keeping
+     * the minimum size) and top the pool back up to its minimum.
+     */
+    private void housekeep() {
+        Deque<PooledEntry> evicted = new ArrayDeque<>();
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            // Least recently used connections sit at the tail
+            Iterator<PooledEntry> it = idle.descendingIterator();
+            while (it.hasNext() && totalConnections - evicted.size() > minSize) {
+                PooledEntry entry = it.next();
+                if ((now - entry.lastReturnedNanos) / 1_000_000 >= idleTimeoutMillis) {
+                    it.remove();
+                    evicted.add(entry);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        for (PooledEntry entry : evicted) {
+            destroy(entry);
+        }
+        fillToMinimum();
+    }
+
+    private void recordBorrow(long nanos) {
+        borrowCount.increment();
+        borrowNanos.add(nanos);
+        maxBorrowNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    /**
+     * Prepared statements kept per connection (db.pool.statementCacheSize,
+     * default 64); 0 turns the statement cache off.
+     */
+    static int statementCacheSize(Properties settings) {
+        return Math.max(0, intSetting(settings, "db.pool.statementCacheSize", 64));
+    }
+
+    private static int intSetting(Properties settings, String key, int defaultValue) {
+        return (int) longSetting(settings, key, defaultValue);
+    }
+
+    static long longSetting(Properties settings, String key, long defaultValue) {
+        String value = settings == null ? null : settings.getProperty(key);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            System.err.println("⚠ Invalid value for " + key + ": '" + value + "', using " + defaultValue);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * A physical connection owned by the pool.
+     */
+    private final class PooledEntry {
+        private final Connection physical;
+        private volatile long lastReturnedNanos = System.nanoTime();
+        private volatile boolean broken;
+        private final StatementCache statements;
+
+        private PooledEntry(Connection physical) {
+            this.physical = physical;
+            this.statements = statementCacheSize == 0 ? null : new StatementCache(
+                statementCacheSize, statementCacheHits, statementCacheMisses, statementCacheEvictions);
+        }
+
+        private Connection lease() {
+            return (Connection) Proxy.newProxyInstance(
+                ConnectionPool.class.getClassLoader(),
+                new Class<?>[] { Connection.class },
+                new LeaseHandler(this)
+            );
+        }
+    }
+
+    /**
+     * Routes calls on a leased connection to the physical one until the
+     * borrower closes it.
+     */
+    private final class LeaseHandler implements InvocationHandler {
+        private final PooledEntry entry;
+        private volatile boolean returned;
+
+        private LeaseHandler(PooledEntry entry) {
+            this.entry = entry;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!returned) {
+                        returned = true;
+                        release(entry);
+                    }
+                    return null;
+                case "isClosed":
+                    return returned || entry.physical.isClosed();
+                // Never hand out the physical connection: it would outlive the lease
+                case "unwrap":
+                    if (((Class<?>) args[0]).isInstance(proxy)) {
+                        return proxy;
+                    }
+                    throw new SQLException("A pooled connection cannot be unwrapped to " + ((Class<?>) args[0]).getName());
+                case "isWrapperFor":
+                    return ((Class<?>) args[0]).isInstance(proxy);
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + entry.physical + "]";
+                default:
+                    break;
+            }
+
+            if (returned) {
+                throw new SQLException("Connection has already been returned to the pool");
+            }
+
+            // prepareStatement(sql) is served from the connection's statement cache
+            boolean cacheable = entry.statements != null && "prepareStatement".equals(method.getName())
+                    && args.length == 1;
+            if (cacheable) {
+                PreparedStatement cached = entry.statements.take((String) args[0]);
+                if (cached != null) {
+                    return TracingStatement.wrap(cached, PreparedStatement.class, (String) args[0], entry.statements,
+                            this::markBroken);
+                }
+            }
+
+            boolean timed = Metrics.isEnabled() && isDatabaseCall(method.getName());
+            long started = timed ? System.nanoTime() : 0;
+            try {
+                Object result = method.invoke(entry.physical, args);
+                if (timed) {
+                    OperationTimer.recordDatabaseCall(System.nanoTime() - started, false);
+                }
+                // Always wrapped, so connection errors while executing mark the connection broken
+                if (result instanceof Statement statement) {
+                    String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+                    return TracingStatement.wrap(statement, method.getReturnType(), sql,
+                            cacheable ? entry.statements : null, this::markBroken);
+                }
+                return result;
+            } catch (InvocationTargetException e) {
+                Throwable cause = e.getCause();
+                if (timed) {
+                    OperationTimer.recordDatabaseCall(System.nanoTime() - started, true);
+                }
+                if (cause instanceof SQLException sqlException && isConnectionError(sqlException)) {
+                    markBroken();
+                }
+                throw cause;
+            }
+        }
+
+        private void markBroken() {
+            entry.broken = true;
+        }
+    }
+
+    /**
+     * Commit, rollback and (server-side) prepares are round trips of their
+     * own; statements are timed by {@link TracingStatement}.
+     */
+    private static boolean isDatabaseCall(String methodName) {
+        switch (methodName) {
+            case "commit":
+            case "rollback":
+            case "prepareStatement":
+            case "prepareCall":
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * SQLState class 08 is "connection exception"; such connections are not reused.
+     */
+    static boolean isConnectionError(SQLException e) {
+        String state = e.getSQLState();
+        return state != null && state.startsWith("08");
+    }
+}
@@ -1,8 +1,8 @@
 package com.hotel.management.javafx.db;
 
 import com.hotel.management.javafx.App;
+import com.hotel.management.javafx.metrics.OperationTimer;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.util.Properties;
 import java.io.InputStream;
@@ -10,39 +10,141 @@ import java.io.IOException;
 
 public class DatabaseConnection {
 
-    private static Connection connection;
+    private static volatile ConnectionPool pool;
+    private static volatile DatabaseProfile profile;
 
+    /**
+     * Borrow a pooled connection. Callers must close() it when done, which
+     * hands it back to the pool. Returns null if no connection could be made.
+     */
     public static Connection getConnection() {
-        if (connection != null) {
-            return connection;
+        try {
+            return getPool().borrow();
+        } catch (SQLException e) {
+            System.err.println("Database connection failed: " + e.getMessage());
+            e.printStackTrace();
+            OperationTimer.markFailed();
+            return null;
+        }
+    }
+
+    /**
+     * Lazily create the pool from database.properties. If creation fails the
+     * next call tries again.
+     */
+    public static ConnectionPool getPool() throws SQLException {
+        ConnectionPool current = pool;
+        if (current != null) {
+            return current;
+        }
+        synchronized (DatabaseConnection.class) {
+            if (pool == null) {
+                pool = createPool();
+            }
+            return pool;
+        }
+    }
+
+    /**
+     * Current pool statistics, or null if the pool has not been created yet.
+     */
+    public static PoolStats getPoolStats() {
+        ConnectionPool current = pool;
+        return current == null ? null : current.getStats();
+    }
+
+    /**
+     * Close every pooled connection. Called when the application exits.
+     */
+    public static void shutdown() {
+        synchronized (DatabaseConnection.class) {
+            if (pool != null) {
+                System.out.println("Closing database pool: " + pool.getStats());
+                pool.close();
+                pool = null;
+            }
+        }
+    }
+
+    /**
+     * The profile the pool was created with, or null before the first
+     * connection.
+     */
+    public static DatabaseProfile getProfile() {
+        return profile;
+    }
+
+    private static ConnectionPool createPool() throws SQLException {
+        Properties props = loadProperties();
+        DatabaseProfile selected;
+        try {
+            selected = DatabaseProfile.select(props);
+        } catch (IllegalArgumentException e) {
+            throw new SQLException(e.getMessage(), e);
         }
 
+        // The remote credentials in database.properties are not meant for the embedded database
+        String user = selected.isEmbedded() ? props.getProperty("db.h2.user", "sa") : props.getProperty("db.user");
+        String password = selected.isEmbedded() ? props.getProperty("db.h2.password", "") : props.getProperty("db.password");
+        String url = selected.jdbcUrl(props);
+
+        ConnectionPool created = new ConnectionPool(url, user, password, props);
+        created.fillToMinimum();
+        System.out.println("✓ Database profile: " + selected.profileName()
+                + (selected.isEmbedded() ? " (" + url + ")" : ""));
+        // An embedded database starts empty, so it is always migrated
+        if (selected.isEmbedded() || Boolean.parseBoolean(props.getProperty("db.schema.autoMigrate", "true"))) {
+            migrateSchema(created);
+        }
+        if (selected.isEmbedded() && Boolean.parseBoolean(props.getProperty("db.h2.seed", "true"))) {
+            seedTestData(created);
+        }
+        profile = selected;
+        return created;
+    }
+
+    /**
+     * Read database.properties. It may be missing when an embedded profile
+     * is picked with -Dhotel.db.profile, e.g. for benchmarks in a sealed
+     * environment.
+     */
+    private static Properties loadProperties() throws SQLException {
         Properties props = new Properties();
         try (InputStream in = App.class.getResourceAsStream("database.properties")) {
             if (in == null) {
+                if (DatabaseProfile.embeddedBySystemProperty()) {
+                    return props;
+                }
                 throw new IOException("database.properties not found");
             }
             props.load(in);
         } catch (IOException e) {
-            e.printStackTrace();
-            return null;
+            throw new SQLException("Could not read database settings: " + e.getMessage(), e);
         }
+        return props;
+    }
 
-        String host = props.getProperty("db.host");
-        String port = props.getProperty("db.port");
-        String dbName = props.getProperty("db.name");
-        String user = props.getProperty("db.user");
-        String password = props.getProperty("db.password");
-
-        String url = "jdbc:mysql://" + host + ":" + port + "/" + dbName
-                   + "?useSSL=true&requireSSL=true&serverTimezone=UTC";
+    private static void seedTestData(ConnectionPool created) {
+        try (Connection conn = created.borrow()) {
+            SchemaManager.seedTestData(conn);
+        } catch (SQLException e) {
+            System.err.println("⚠ Could not seed the embedded database: " + e.getMessage());
+        }
+    }
 
-        try {
-            connection = DriverManager.getConnection(url, user, password);
-            return connection;
+    /**
+     * Bring the schema up to date. A failure (e.g. a database user without
+     * DDL rights) is logged but does not stop the application.
+     */
+    private static void migrateSchema(ConnectionPool created) {
+        try (Connection conn = created.borrow()) {
+            int applied = SchemaManager.migrate(conn);
+            if (applied == 0) {
+                System.out.println("✓ Schema is up to date (version " + SchemaManager.currentVersion(conn) + ")");
+            }
         } catch (SQLException e) {
+            System.err.println("⚠ Schema migration failed: " + e.getMessage());
             e.printStackTrace();
-            return null;
         }
     }
 }
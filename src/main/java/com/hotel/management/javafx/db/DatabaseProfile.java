@@ -0,0 +1,103 @@
+package com.hotel.management.javafx.db;
+
+import java.util.Locale;
+import java.util.Properties;
+
+/**
+ * Which database the application talks to.
+ *
+ * MYSQL is the remote server configured by db.host / db.port / db.name.
+ * H2_MEM and H2_FILE run an embedded H2 database in MySQL compatibility mode
+ * with the same schema and DAO SQL, so the DAOs can be profiled and
+ * load-tested without network access. The profile comes from
+ * {@code -Dhotel.db.profile}, else {@code db.profile} in database.properties,
+ * else MYSQL.
+ */
+public enum DatabaseProfile {
+
+    MYSQL("mysql"),
+    H2_MEM("h2-mem"),
+    H2_FILE("h2-file");
+
+    public static final String SYSTEM_PROPERTY = "hotel.db.profile";
+
+    /**
+     * Set to true to send JDBC batches to MySQL as multi-row statements
+     * instead of one round trip per row. Only for bulk loads such as
+     * HotelDataGenerator: a rewritten batch fails as a whole, so group
+     * booking could no longer report which reservations were saved.
+     */
+    public static final String REWRITE_BATCHES_PROPERTY = "hotel.db.rewriteBatches";
+
+    // MySQL syntax and lower-case identifiers, as the DAOs and SchemaManager expect
+    private static final String H2_OPTIONS = ";MODE=MySQL;DATABASE_TO_LOWER=TRUE";
+
+    private final String name;
+
+    DatabaseProfile(String name) {
+        this.name = name;
+    }
+
+    public String profileName() {
+        return name;
+    }
+
+    public boolean isEmbedded() {
+        return this != MYSQL;
+    }
+
+    /**
+     * The JDBC URL for this profile.
+     */
+    public String jdbcUrl(Properties props) {
+        // Wait for row locks (SELECT ... FOR UPDATE) like InnoDB does instead of failing at once
+        String lockTimeout = ";LOCK_TIMEOUT=" + props.getProperty("db.h2.lockTimeoutMs", "10000");
+        switch (this) {
+            case H2_MEM:
+                return "jdbc:h2:mem:" + props.getProperty("db.name", "hotel_db")
+                     + H2_OPTIONS + lockTimeout + ";DB_CLOSE_DELAY=-1";
+            case H2_FILE:
+                return "jdbc:h2:file:" + props.getProperty("db.h2.path", "./data/hotel_db")
+                     + H2_OPTIONS + lockTimeout;
+            default:
+                return "jdbc:mysql://" + props.getProperty("db.host") + ":" + props.getProperty("db.port")
+                     + "/" + props.getProperty("db.name")
+                     + "?useSSL=true&requireSSL=true&serverTimezone=UTC"
+                     + (Boolean.getBoolean(REWRITE_BATCHES_PROPERTY) ? "&rewriteBatchedStatements=true" : "")
+                     // prepare on the server, so statements reused from the pool's cache skip the parse
+                     + (ConnectionPool.statementCacheSize(props) > 0 ? "&useServerPrepStmts=true" : "");
+        }
+    }
+
+    /**
+     * The profile selected by the system property or database.properties.
+     */
+    public static DatabaseProfile select(Properties props) {
+        String value = System.getProperty(SYSTEM_PROPERTY, props.getProperty("db.profile", "mysql"));
+        return fromName(value);
+    }
+
+    /**
+     * True if the system property alone picks an embedded profile, in which
+     * case database.properties is optional.
+     */
+    public static boolean embeddedBySystemProperty() {
+        String value = System.getProperty(SYSTEM_PROPERTY);
+        try {
+            return value != null && fromName(value).isEmbedded();
+        } catch (IllegalArgumentException e) {
+            return false;  // reported by select()
+        }
+    }
+
+    public static DatabaseProfile fromName(String value) {
+        String wanted = value.trim().toLowerCase(Locale.ROOT);
+        for (DatabaseProfile profile : values()) {
+            if (profile.name.equals(wanted)) {
+                return profile;
+            }
+        }
+        throw new IllegalArgumentException("Unknown database profile: " + value
+                + " (expected mysql, h2-mem or h2-file)");
+    }
+}
@@ -0,0 +1,76 @@
+package com.hotel.management.javafx.db;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs DAO calls off the caller's thread.
+ *
+ * Every call gets its own virtual thread, but at most
+ * {@code hotel.db.maxConcurrentCalls} (default 16) run JDBC at the same time
+ * so a burst of UI actions cannot pile up on the connection pool. Cancelling
+ * a returned future drops a call that is still waiting to run. A call that
+ * has started is never interrupted (that would close the connection's socket
+ * mid-query); it runs to the end and its result is discarded.
+ */
+public final class DbExecutor {
+
+    private static final int WAITING = 0;
+    private static final int RUNNING = 1;
+    private static final int CANCELLED = 2;
+
+    private static final int MAX_CONCURRENT_CALLS = Integer.getInteger("hotel.db.maxConcurrentCalls", 16);
+
+    private static final Semaphore permits = new Semaphore(MAX_CONCURRENT_CALLS, true);
+    private static final ExecutorService executor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("db-call-", 0).factory());
+
+    private DbExecutor() {
+    }
+
+    public static <T> CompletableFuture<T> supply(Supplier<T> call) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicInteger state = new AtomicInteger(WAITING);
+
+        Future<?> task = executor.submit(() -> {
+            if (result.isDone()) {
+                return;  // cancelled before it started
+            }
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                result.cancel(false);
+                return;
+            }
+            try {
+                if (state.compareAndSet(WAITING, RUNNING)) {
+                    result.complete(call.get());
+                }
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            } finally {
+                permits.release();
+            }
+        });
+
+        result.whenComplete((value, error) -> {
+            // Only a call that has not started may be interrupted (while it waits for a permit)
+            if (result.isCancelled() && state.compareAndSet(WAITING, CANCELLED)) {
+                task.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    public static CompletableFuture<Void> run(Runnable call) {
+        return supply(() -> {
+            call.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,22 @@
+package com.hotel.management.javafx.db;
+
+import java.util.List;
+
+/**
+ * Per-reservation outcome of a group booking, in the order the reservations
+ * were passed in.
+ */
+public record GroupBookingResult(List<BookingResult> results) {
+
+    public long bookedCount() {
+        return results.stream().filter(BookingResult::isBooked).count();
+    }
+
+    public long failedCount() {
+        return results.size() - bookedCount();
+    }
+
+    public boolean allBooked() {
+        return bookedCount() == results.size();
+    }
+}
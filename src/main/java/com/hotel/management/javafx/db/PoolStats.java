@@ -0,0 +1,40 @@
+package com.hotel.management.javafx.db;
+
+/**
+ * Point-in-time snapshot of the connection pool.
+ */
+public record PoolStats(
+    int active,
+    int idle,
+    int waiters,
+    int total,
+    int maxSize,
+    long borrowCount,
+    double avgBorrowMillis,
+    double maxBorrowMillis,
+    long borrowTimeouts,
+    long connectionsCreated,
+    long connectionsDestroyed,
+    long statementCacheHits,
+    long statementCacheMisses,
+    long statementCacheEvictions
+) {
+    /**
+     * Share of prepareStatement calls served from the statement cache, 0 to 1.
+     */
+    public double statementCacheHitRate() {
+        long lookups = statementCacheHits + statementCacheMisses;
+        return lookups == 0 ? 0 : statementCacheHits / (double) lookups;
+    }
+
+
+    @Override
+    public String toString() {
+        return String.format(
+            "Pool{active=%d, idle=%d, waiters=%d, total=%d/%d, borrows=%d, avgBorrow=%.2fms, maxBorrow=%.2fms, timeouts=%d, created=%d, destroyed=%d, stmtCache=%.0f%% of %d, evicted=%d}",
+            active, idle, waiters, total, maxSize, borrowCount, avgBorrowMillis, maxBorrowMillis,
+            borrowTimeouts, connectionsCreated, connectionsDestroyed,
+            statementCacheHitRate() * 100, statementCacheHits + statementCacheMisses, statementCacheEvictions
+        );
+    }
+}
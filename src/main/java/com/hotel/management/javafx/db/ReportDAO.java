@@ -0,0 +1,89 @@
+package com.hotel.management.javafx.db;
+
+import com.hotel.management.javafx.metrics.Metrics;
+import com.hotel.management.javafx.metrics.OperationTimer;
+import com.hotel.management.javafx.model.ReservationStatus;
+import com.hotel.management.javafx.model.RoomType;
+import com.hotel.management.javafx.reporting.StayColumns;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Loads the data behind the reports.
+ */
+public class ReportDAO {
+
+    private static final OperationTimer LOAD_STAY_COLUMNS = Metrics.timer("ReportDAO.loadStayColumns");
+
+    private static final int CANCELLED = ReservationStatus.CANCELLED.code();
+
+    /**
+     * Every room, and every reservation that is not cancelled and has a night
+     * in [from, to), as columns. Returns null if the database could not be
+     * read.
+     */
+    public StayColumns loadStayColumns(LocalDate from, LocalDate to) {
+        return LOAD_STAY_COLUMNS.time(() -> queryStayColumns(from, to), StayColumns::stayCount);
+    }
+
+    private StayColumns queryStayColumns(LocalDate from, LocalDate to) {
+        Connection conn = DatabaseConnection.getConnection();
+        if (conn == null) {
+            System.err.println("Failed to get database connection");
+            return null;
+        }
+
+        try (conn) {
+            int expected = 0;
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "SELECT COUNT(*) FROM reservations WHERE check_in < ? AND check_out > ? AND status <> " + CANCELLED)) {
+                stmt.setDate(1, Date.valueOf(to));
+                stmt.setDate(2, Date.valueOf(from));
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (rs.next()) {
+                        expected = rs.getInt(1);
+                    }
+                }
+            }
+
+            StayColumns.Builder columns = new StayColumns.Builder(expected);
+            try (PreparedStatement stmt = conn.prepareStatement("SELECT room_number, room_type, floor FROM rooms");
+                 ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    columns.addRoom(rs.getString(1), RoomType.fromCode(rs.getInt(2)), rs.getInt(3));
+                }
+            }
+
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "SELECT room_id, check_in, check_out, total_price FROM reservations " +
+                    "WHERE check_in < ? AND check_out > ? AND status <> " + CANCELLED)) {
+                stmt.setDate(1, Date.valueOf(to));
+                stmt.setDate(2, Date.valueOf(from));
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        columns.addStay(rs.getString(1), rs.getDate(2).toLocalDate(),
+                                rs.getDate(3).toLocalDate(), rs.getDouble(4));
+                    }
+                }
+            }
+
+            StayColumns loaded = columns.build();
+            System.out.println("✓ Loaded " + loaded.stayCount() + " stays of " + loaded.roomCount()
+                    + " rooms for reports (" + from + " to " + to + ")");
+            return loaded;
+        } catch (SQLException e) {
+            System.err.println("Error loading report data: " + e.getMessage());
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    public CompletableFuture<StayColumns> loadStayColumnsAsync(LocalDate from, LocalDate to) {
+        return DbExecutor.supply(() -> loadStayColumns(from, to));
+    }
+}
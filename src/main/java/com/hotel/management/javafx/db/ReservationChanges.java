@@ -0,0 +1,21 @@
+package com.hotel.management.javafx.db;
+
+import com.hotel.management.javafx.model.ReservationRow;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reservations added or changed, and ids of reservations cancelled or
+ * deleted, since a watermark. Pass {@code watermark} to the next
+ * {@link ReservationDAO#getChangesSince} call.
+ *
+ * Rows may be reported more than once across calls, so applying a delta
+ * must be idempotent.
+ */
+public record ReservationChanges(List<ReservationRow> changed, Set<String> removedIds, Instant watermark) {
+
+    public boolean isEmpty() {
+        return changed.isEmpty() && removedIds.isEmpty();
+    }
+}
@@ -1,87 +1,574 @@
 package com.hotel.management.javafx.db;
 
+import com.hotel.management.javafx.metrics.Metrics;
+import com.hotel.management.javafx.metrics.OperationTimer;
 import com.hotel.management.javafx.model.*;
+import com.hotel.management.javafx.pricing.PricingEngine;
+import java.math.BigDecimal;
 import java.sql.*;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
 
 public class ReservationDAO {
+    // Rows are re-read this far behind the watermark, so a write that committed
+    // late (with an earlier updated_at) is not missed
+    private static final long SYNC_OVERLAP_MILLIS = Long.getLong("hotel.reservations.syncOverlapMs", 5_000);
+    
+    // Tombstones of deleted reservations are kept this long for other desks to sync
+    private static final long TOMBSTONE_RETENTION_MILLIS = Long.getLong("hotel.reservations.tombstoneRetentionMs", 86_400_000);
+    
+    private static final int MAX_BOOKING_ATTEMPTS = Integer.getInteger("hotel.booking.maxAttempts", 3);
+    
+    // Status codes as stored in the database (see ReservationStatus, RoomStatus)
+    private static final int CANCELLED = ReservationStatus.CANCELLED.code();
+    private static final int ROOM_RESERVED = RoomStatus.RESERVED.code();
+    
+    // Per-method timers, see Metrics
+    private static final OperationTimer IS_ROOM_FREE = Metrics.timer("ReservationDAO.isRoomFree");
+    private static final OperationTimer GET_FREE_ROOM_NUMBERS = Metrics.timer("ReservationDAO.getFreeRoomNumbers");
+    private static final OperationTimer ADD_RESERVATION = Metrics.timer("ReservationDAO.addReservation");
+    private static final OperationTimer BOOK_RESERVATION = Metrics.timer("ReservationDAO.bookReservation");
+    private static final OperationTimer ADD_RESERVATIONS = Metrics.timer("ReservationDAO.addReservations");
+    private static final OperationTimer GET_ALL_RESERVATIONS = Metrics.timer("ReservationDAO.getAllReservations");
+    private static final OperationTimer GET_RESERVATIONS_PAGE = Metrics.timer("ReservationDAO.getReservationsPage");
+    private static final OperationTimer GET_RESERVATIONS_PAGE_BEFORE = Metrics.timer("ReservationDAO.getReservationsPageBefore");
+    private static final OperationTimer GET_RESERVATION_STATS = Metrics.timer("ReservationDAO.getReservationStats");
+    private static final OperationTimer DELETE_RESERVATION = Metrics.timer("ReservationDAO.deleteReservation");
+    private static final OperationTimer GET_SYNC_WATERMARK = Metrics.timer("ReservationDAO.getSyncWatermark");
+    private static final OperationTimer GET_CHANGES_SINCE = Metrics.timer("ReservationDAO.getChangesSince");
+    private static final OperationTimer CANCEL_RESERVATION = Metrics.timer("ReservationDAO.cancelReservation");
+    private static final OperationTimer EXTEND_RESERVATION = Metrics.timer("ReservationDAO.extendReservation");
+    private static final OperationTimer REPRICE_RESERVATIONS = Metrics.timer("ReservationDAO.repriceReservations");
+    
     private static RoomDAO roomDAO = new RoomDAO();
+    private static final AvailabilityIndex availability = new AvailabilityIndex();
+    
+    /**
+     * The date-range availability index, e.g. to invalidate it
+     */
+    public static AvailabilityIndex getAvailability() {
+        return availability;
+    }
+    
+    /**
+     * True if the room has no reservation overlapping [checkIn, checkOut)
+     */
+    public boolean isRoomFree(String roomNumber, LocalDate checkIn, LocalDate checkOut) {
+        return IS_ROOM_FREE.time(() -> checkRoomFree(roomNumber, checkIn, checkOut), null);
+    }
     
+    private boolean checkRoomFree(String roomNumber, LocalDate checkIn, LocalDate checkOut) {
+        return availability.isFree(roomNumber, checkIn, checkOut, this::loadCurrentStays);
+    }
+    
+    /**
+     * Room numbers of the given type that can be booked for [checkIn, checkOut):
+     * no overlapping reservation and not under maintenance.
+     */
+    public Set<String> getFreeRoomNumbers(String roomType, LocalDate checkIn, LocalDate checkOut) {
+        return GET_FREE_ROOM_NUMBERS.time(() -> findFreeRoomNumbers(roomType, checkIn, checkOut), Set::size);
+    }
+    
+    private Set<String> findFreeRoomNumbers(String roomType, LocalDate checkIn, LocalDate checkOut) {
+        Set<String> free = new HashSet<>();
+        for (Room room : roomDAO.getRoomsByType(roomType)) {
+            if (room.isBookable() && isRoomFree(room.getRoomNumber(), checkIn, checkOut)) {
+                free.add(room.getRoomNumber());
+            }
+        }
+        return free;
+    }
+    
+    /**
+     * Save a reservation. Same as {@link #bookReservation} but only reports
+     * whether it worked.
+     */
     public boolean addReservation(Reservation reservation) {
-        String sql = "INSERT INTO reservations " +
-                     "(guest_ssn, guest_name, guest_phone, guest_email, " +
-                     " room_id, check_in, check_out, total_price, status, is_paid) " +
-                     "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
-        
-        Connection conn = null;
-        PreparedStatement stmt = null;
+        return ADD_RESERVATION.time(() -> bookReservation(reservation).isBooked(), null);
+    }
+    
+    /**
+     * Book a room for a date range in one transaction.
+     *
+     * The room row carries a booking_version that every booking of that room
+     * bumps. We read the version, check for overlapping stays, insert the
+     * reservation and then bump the version only if it is unchanged. If
+     * another desk booked the same room in between, the version check fails,
+     * the transaction rolls back and we try again (up to
+     * hotel.booking.maxAttempts times). Only the one room row is locked, so
+     * bookings of different rooms never wait for each other.
+     */
+    public BookingResult bookReservation(Reservation reservation) {
+        return BOOK_RESERVATION.time(() -> bookWithRetries(reservation), result -> result.isBooked() ? 1 : 0);
+    }
+    
+    private BookingResult bookWithRetries(Reservation reservation) {
+        Room room = reservation.getRoom();
+        if (reservation.getReservationId() == null || reservation.getReservationId().isBlank()) {
+            reservation.setReservationId(UUID.randomUUID().toString());
+        }
         
-        try {
-            conn = DatabaseConnection.getConnection();
+        for (int attempt = 1; attempt <= MAX_BOOKING_ATTEMPTS; attempt++) {
+            Connection conn = DatabaseConnection.getConnection();
             if (conn == null) {
                 System.err.println("Failed to get database connection");
-                return false;
+                return BookingResult.failed("Could not connect to the database");
             }
             
-            stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
-            
-            Guest guest = reservation.getGuest();
-            Room room = reservation.getRoom();
-            
-            stmt.setString(1, guest.getSsn());
-            stmt.setString(2, guest.getName());
-            stmt.setString(3, guest.getPhoneNumber());
-            stmt.setString(4, guest.getEmail());
-            stmt.setString(5, room.getRoomNumber());
-            stmt.setDate(6, Date.valueOf(reservation.getCheckInDate()));
-            stmt.setDate(7, Date.valueOf(reservation.getCheckOutDate()));
-            stmt.setDouble(8, reservation.getTotalPrice());
-            stmt.setString(9, "Reserved");  // Status should be "Reserved" for new reservations
-            stmt.setBoolean(10, reservation.isPaid());
-            
-            int rowsAffected = stmt.executeUpdate();
-            
-            if (rowsAffected > 0) {
-                // Update room status to Reserved
-                boolean statusUpdated = roomDAO.updateRoomStatus(room.getRoomNumber(), "Reserved");
+            try (conn) {
+                conn.setAutoCommit(false);
                 
-                if (statusUpdated) {
-                    System.out.println("✓ Reservation saved and room status updated to Reserved");
-                } else {
-                    System.err.println("⚠ Reservation saved but failed to update room status");
+                Integer version = readBookingVersion(conn, room.getRoomNumber());
+                if (version == null) {
+                    conn.rollback();
+                    return BookingResult.failed("Room " + room.getRoomNumber() + " does not exist");
                 }
                 
-                // Get the generated reservation ID
-                try (ResultSet rs = stmt.getGeneratedKeys()) {
-                    if (rs.next()) {
-                        reservation.setReservationId(rs.getString(1));
-                        System.out.println("✓ Reservation ID: " + reservation.getReservationId());
-                    }
+                String overlapping = findOverlappingReservation(conn, room.getRoomNumber(),
+                        reservation.getCheckInDate(), reservation.getCheckOutDate(), null);
+                if (overlapping != null) {
+                    conn.rollback();
+                    return BookingResult.conflict("Room " + room.getRoomNumber() + " is already booked between "
+                            + reservation.getCheckInDate() + " and " + reservation.getCheckOutDate());
                 }
                 
-                return true;
+                insertReservation(conn, reservation);
+                
+                boolean holdsRoomTonight = coversToday(reservation.getCheckInDate(), reservation.getCheckOutDate());
+                if (!bumpBookingVersion(conn, room.getRoomNumber(), version, holdsRoomTonight ? RoomStatus.RESERVED : null)) {
+                    // Someone booked this room since we read the version: start over
+                    conn.rollback();
+                    System.out.println("↻ Room " + room.getRoomNumber() + " changed during booking, retrying (attempt " + attempt + ")");
+                    backOff(attempt);
+                    continue;
+                }
+                
+                conn.commit();
+                
+                availability.book(new AvailabilityIndex.Stay(
+                    reservation.getReservationId(),
+                    room.getRoomNumber(),
+                    reservation.getCheckInDate(),
+                    reservation.getCheckOutDate()
+                ));
+                if (holdsRoomTonight) {
+                    RoomDAO.getCache().updateStatus(room.getRoomNumber(), "Reserved");
+                }
+                System.out.println("✓ Reservation " + reservation.getReservationId() + " saved for room " + room.getRoomNumber());
+                return BookingResult.booked(reservation.getReservationId());
+                
+            } catch (SQLException e) {
+                if (isRetryable(e) && attempt < MAX_BOOKING_ATTEMPTS) {
+                    System.out.println("↻ Booking of room " + room.getRoomNumber() + " hit " + e.getMessage() + ", retrying");
+                    backOff(attempt);
+                    continue;
+                }
+                System.err.println("Error adding reservation: " + e.getMessage());
+                e.printStackTrace();
+                return BookingResult.failed("Could not save the reservation: " + e.getMessage());
             }
+        }
+        
+        return BookingResult.conflict("Room " + room.getRoomNumber()
+                + " is being booked from another desk right now. Please try again.");
+    }
+    
+    /**
+     * Book a group of reservations (tour groups, corporate blocks) in one
+     * transaction.
+     *
+     * Room versions and existing stays for all rooms in the group are read
+     * with one query each. Reservations that overlap an existing stay (or an
+     * earlier reservation of the same group) are reported as conflicts and
+     * left out. The rest are inserted with one JDBC batch, and the rooms'
+     * versions and statuses are updated with one set-based statement. If any
+     * room changed under us the whole group is retried, like
+     * {@link #bookReservation}. The result lists one outcome per input, in
+     * order; booked ones carry their reservation id.
+     */
+    public GroupBookingResult addReservations(List<Reservation> reservations) {
+        return ADD_RESERVATIONS.time(() -> bookGroup(reservations), result -> (int) result.bookedCount());
+    }
+    
+    private GroupBookingResult bookGroup(List<Reservation> reservations) {
+        int count = reservations.size();
+        if (count == 0) {
+            return new GroupBookingResult(List.of());
+        }
+        for (Reservation reservation : reservations) {
+            if (reservation.getReservationId() == null || reservation.getReservationId().isBlank()) {
+                reservation.setReservationId(UUID.randomUUID().toString());
+            }
+        }
+        
+        for (int attempt = 1; attempt <= MAX_BOOKING_ATTEMPTS; attempt++) {
+            BookingResult[] results = new BookingResult[count];
             
-            return false;
+            Connection conn = DatabaseConnection.getConnection();
+            if (conn == null) {
+                System.err.println("Failed to get database connection");
+                return allFailed(count, "Could not connect to the database");
+            }
             
-        } catch (SQLException e) {
-            System.err.println("Error adding reservation: " + e.getMessage());
-            e.printStackTrace();
-            return false;
-        } finally {
-            try {
-                if (stmt != null) stmt.close();
+            try (conn) {
+                conn.setAutoCommit(false);
+                
+                Set<String> roomNumbers = new LinkedHashSet<>();
+                LocalDate earliest = reservations.get(0).getCheckInDate();
+                LocalDate latest = reservations.get(0).getCheckOutDate();
+                for (Reservation reservation : reservations) {
+                    roomNumbers.add(reservation.getRoom().getRoomNumber());
+                    earliest = earliest.isAfter(reservation.getCheckInDate()) ? reservation.getCheckInDate() : earliest;
+                    latest = latest.isBefore(reservation.getCheckOutDate()) ? reservation.getCheckOutDate() : latest;
+                }
+                
+                Map<String, Integer> versions = readBookingVersions(conn, roomNumbers);
+                Map<String, List<AvailabilityIndex.Stay>> taken = readLiveStays(conn, roomNumbers, earliest, latest);
+                
+                // Decide which reservations can go in; earlier ones in the list win overlaps
+                List<Integer> accepted = new ArrayList<>();
+                for (int i = 0; i < count; i++) {
+                    Reservation reservation = reservations.get(i);
+                    String roomNumber = reservation.getRoom().getRoomNumber();
+                    if (!versions.containsKey(roomNumber)) {
+                        results[i] = BookingResult.failed("Room " + roomNumber + " does not exist");
+                    } else if (overlapsAny(taken.get(roomNumber), reservation.getCheckInDate(), reservation.getCheckOutDate())) {
+                        results[i] = BookingResult.conflict("Room " + roomNumber + " is already booked between "
+                                + reservation.getCheckInDate() + " and " + reservation.getCheckOutDate());
+                    } else {
+                        accepted.add(i);
+                        taken.computeIfAbsent(roomNumber, k -> new ArrayList<>()).add(new AvailabilityIndex.Stay(
+                            reservation.getReservationId(), roomNumber,
+                            reservation.getCheckInDate(), reservation.getCheckOutDate()));
+                    }
+                }
+                
+                Set<String> bookedRooms = new LinkedHashSet<>();
+                Set<String> roomsHeldTonight = new LinkedHashSet<>();
+                if (!accepted.isEmpty()) {
+                    try (PreparedStatement stmt = conn.prepareStatement(INSERT_RESERVATION_SQL)) {
+                        for (int i : accepted) {
+                            bindReservation(stmt, reservations.get(i));
+                            stmt.addBatch();
+                        }
+                        
+                        int[] updateCounts;
+                        String batchError = null;
+                        try {
+                            updateCounts = stmt.executeBatch();
+                        } catch (BatchUpdateException e) {
+                            // Items after the failing one may or may not have run, depending on the driver
+                            updateCounts = e.getUpdateCounts();
+                            batchError = e.getMessage();
+                        }
+                        
+                        for (int k = 0; k < accepted.size(); k++) {
+                            int i = accepted.get(k);
+                            Reservation reservation = reservations.get(i);
+                            boolean inserted = k < updateCounts.length
+                                    && (updateCounts[k] > 0 || updateCounts[k] == Statement.SUCCESS_NO_INFO);
+                            if (inserted) {
+                                results[i] = BookingResult.booked(reservation.getReservationId());
+                                bookedRooms.add(reservation.getRoom().getRoomNumber());
+                                if (coversToday(reservation.getCheckInDate(), reservation.getCheckOutDate())) {
+                                    roomsHeldTonight.add(reservation.getRoom().getRoomNumber());
+                                }
+                            } else {
+                                results[i] = BookingResult.failed("Could not save the reservation"
+                                        + (batchError == null ? "" : ": " + batchError));
+                            }
+                        }
+                    }
+                    
+                    if (!bumpBookingVersions(conn, bookedRooms, versions, roomsHeldTonight)) {
+                        // One of the rooms was booked from another desk meanwhile: start over
+                        conn.rollback();
+                        System.out.println("↻ Rooms changed during group booking, retrying (attempt " + attempt + ")");
+                        backOff(attempt);
+                        continue;
+                    }
+                }
+                
+                conn.commit();
+                
+                for (int i = 0; i < count; i++) {
+                    if (results[i].isBooked()) {
+                        Reservation reservation = reservations.get(i);
+                        availability.book(new AvailabilityIndex.Stay(
+                            reservation.getReservationId(),
+                            reservation.getRoom().getRoomNumber(),
+                            reservation.getCheckInDate(),
+                            reservation.getCheckOutDate()
+                        ));
+                    }
+                }
+                for (String roomNumber : roomsHeldTonight) {
+                    RoomDAO.getCache().updateStatus(roomNumber, "Reserved");
+                }
+                
+                GroupBookingResult result = new GroupBookingResult(Arrays.asList(results));
+                System.out.println("✓ Group booking: " + result.bookedCount() + " of " + count + " reservations saved");
+                return result;
+                
             } catch (SQLException e) {
+                if (isRetryable(e) && attempt < MAX_BOOKING_ATTEMPTS) {
+                    backOff(attempt);
+                    continue;
+                }
+                System.err.println("Error adding group reservations: " + e.getMessage());
                 e.printStackTrace();
+                return allFailed(count, "Could not save the group: " + e.getMessage());
+            }
+        }
+        
+        List<BookingResult> conflicts = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            conflicts.add(BookingResult.conflict("Rooms are being booked from another desk right now. Please try again."));
+        }
+        return new GroupBookingResult(conflicts);
+    }
+    
+    private static GroupBookingResult allFailed(int count, String message) {
+        List<BookingResult> results = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            results.add(BookingResult.failed(message));
+        }
+        return new GroupBookingResult(results);
+    }
+    
+    private static boolean overlapsAny(List<AvailabilityIndex.Stay> stays, LocalDate checkIn, LocalDate checkOut) {
+        if (stays == null) {
+            return false;
+        }
+        for (AvailabilityIndex.Stay stay : stays) {
+            if (stay.checkIn().isBefore(checkOut) && stay.checkOut().isAfter(checkIn)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private Map<String, Integer> readBookingVersions(Connection conn, Set<String> roomNumbers) throws SQLException {
+        String sql = "SELECT room_number, booking_version FROM rooms WHERE room_number IN ("
+                   + placeholders(roomNumbers.size()) + ")";
+        Map<String, Integer> versions = new HashMap<>();
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            int index = 1;
+            for (String roomNumber : roomNumbers) {
+                stmt.setString(index++, roomNumber);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    versions.put(rs.getString(1), rs.getInt(2));
+                }
+            }
+        }
+        return versions;
+    }
+    
+    /**
+     * Live stays of the given rooms that overlap [from, to), grouped by room.
+     */
+    private Map<String, List<AvailabilityIndex.Stay>> readLiveStays(Connection conn, Set<String> roomNumbers,
+                                                                    LocalDate from, LocalDate to) throws SQLException {
+        String sql = "SELECT reservation_id, room_id, check_in, check_out FROM reservations " +
+                     "WHERE room_id IN (" + placeholders(roomNumbers.size()) + ") " +
+                     "AND check_in < ? AND check_out > ? AND status <> " + CANCELLED;
+        Map<String, List<AvailabilityIndex.Stay>> stays = new HashMap<>();
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            int index = 1;
+            for (String roomNumber : roomNumbers) {
+                stmt.setString(index++, roomNumber);
+            }
+            stmt.setDate(index++, Date.valueOf(to));
+            stmt.setDate(index, Date.valueOf(from));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    AvailabilityIndex.Stay stay = new AvailabilityIndex.Stay(
+                        ColumnCodec.idFromBytes(rs.getBytes(1)), rs.getString(2),
+                        rs.getDate(3).toLocalDate(), rs.getDate(4).toLocalDate());
+                    stays.computeIfAbsent(stay.roomNumber(), k -> new ArrayList<>()).add(stay);
+                }
             }
         }
+        return stays;
     }
     
-    public List<Reservation> getAllReservations() {
-        List<Reservation> reservations = new ArrayList<>();
-        String sql = "SELECT * FROM reservations ORDER BY check_in DESC";
+    /**
+     * Bump the versions of all given rooms in one statement, provided none
+     * changed since they were read, and mark the rooms held tonight as
+     * Reserved. Returns false if any version had changed.
+     */
+    private boolean bumpBookingVersions(Connection conn, Set<String> roomNumbers, Map<String, Integer> expectedVersions,
+                                        Set<String> roomsHeldTonight) throws SQLException {
+        if (roomNumbers.isEmpty()) {
+            return true;
+        }
+        StringBuilder sql = new StringBuilder("UPDATE rooms SET booking_version = booking_version + 1");
+        if (!roomsHeldTonight.isEmpty()) {
+            sql.append(", status = CASE WHEN room_number IN (")
+               .append(placeholders(roomsHeldTonight.size()))
+               .append(") THEN ").append(ROOM_RESERVED).append(" ELSE status END");
+        }
+        sql.append(" WHERE ");
+        for (int i = 0; i < roomNumbers.size(); i++) {
+            sql.append(i == 0 ? "" : " OR ").append("(room_number = ? AND booking_version = ?)");
+        }
+        
+        try (PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+            int index = 1;
+            for (String roomNumber : roomsHeldTonight) {
+                stmt.setString(index++, roomNumber);
+            }
+            for (String roomNumber : roomNumbers) {
+                stmt.setString(index++, roomNumber);
+                stmt.setInt(index++, expectedVersions.get(roomNumber));
+            }
+            return stmt.executeUpdate() == roomNumbers.size();
+        }
+    }
+    
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+    
+    private Integer readBookingVersion(Connection conn, String roomNumber) throws SQLException {
+        String sql = "SELECT booking_version FROM rooms WHERE room_number = ?";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, roomNumber);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : null;
+            }
+        }
+    }
+    
+    /**
+     * Id of a live reservation of the room overlapping [checkIn, checkOut),
+     * ignoring excludeId, or null if there is none.
+     */
+    private String findOverlappingReservation(Connection conn, String roomNumber, LocalDate checkIn,
+                                              LocalDate checkOut, String excludeId) throws SQLException {
+        String sql = "SELECT reservation_id FROM reservations " +
+                     "WHERE room_id = ? AND check_in < ? AND check_out > ? AND status <> " + CANCELLED + " " +
+                     (excludeId == null ? "" : "AND reservation_id <> ? ") +
+                     "LIMIT 1";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, roomNumber);
+            stmt.setDate(2, Date.valueOf(checkOut));
+            stmt.setDate(3, Date.valueOf(checkIn));
+            if (excludeId != null) {
+                stmt.setBytes(4, ColumnCodec.idToBytes(excludeId));
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? ColumnCodec.idFromBytes(rs.getBytes(1)) : null;
+            }
+        }
+    }
+    
+    private static final String INSERT_RESERVATION_SQL =
+            "INSERT INTO reservations " +
+            "(reservation_id, guest_ssn, guest_name, guest_phone, guest_email, " +
+            " room_id, check_in, check_out, total_price, status, is_paid) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    private void insertReservation(Connection conn, Reservation reservation) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(INSERT_RESERVATION_SQL)) {
+            bindReservation(stmt, reservation);
+            stmt.executeUpdate();
+        }
+    }
+    
+    private void bindReservation(PreparedStatement stmt, Reservation reservation) throws SQLException {
+        Guest guest = reservation.getGuest();
+        
+        stmt.setBytes(1, ColumnCodec.idToBytes(reservation.getReservationId()));
+        stmt.setString(2, guest.getSsn());
+        stmt.setString(3, guest.getName());
+        stmt.setString(4, guest.getPhoneNumber());
+        stmt.setString(5, guest.getEmail());
+        stmt.setString(6, reservation.getRoom().getRoomNumber());
+        stmt.setDate(7, Date.valueOf(reservation.getCheckInDate()));
+        stmt.setDate(8, Date.valueOf(reservation.getCheckOutDate()));
+        stmt.setBigDecimal(9, ColumnCodec.money(reservation.getTotalPrice()));
+        stmt.setInt(10, ReservationStatus.RESERVED.code());
+        stmt.setBoolean(11, reservation.isPaid());
+    }
+    
+    /**
+     * Bump the room's booking_version if it still equals expectedVersion,
+     * optionally setting its status too. Returns false if it had changed.
+     */
+    private boolean bumpBookingVersion(Connection conn, String roomNumber, int expectedVersion,
+                                       RoomStatus newStatus) throws SQLException {
+        String sql = "UPDATE rooms SET booking_version = booking_version + 1" +
+                     (newStatus == null ? "" : ", status = ?") +
+                     " WHERE room_number = ? AND booking_version = ?";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            int index = 1;
+            if (newStatus != null) {
+                stmt.setInt(index++, newStatus.code());
+            }
+            stmt.setString(index++, roomNumber);
+            stmt.setInt(index, expectedVersion);
+            return stmt.executeUpdate() == 1;
+        }
+    }
+    
+    /**
+     * Deadlocks and lock wait timeouts are worth another attempt.
+     */
+    private static boolean isRetryable(SQLException e) {
+        String state = e.getSQLState();
+        return e instanceof SQLTransactionRollbackException
+                || "40001".equals(state)
+                || e.getErrorCode() == 1205     // MySQL lock wait timeout
+                || e.getErrorCode() == 50200    // H2 lock timeout (embedded profile)
+                || e.getErrorCode() == 90131;   // H2 concurrent update of the same row
+    }
+    
+    private static void backOff(int attempt) {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(5, 20L * attempt + 5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    /**
+     * Reservation columns joined with their room, so a list of reservations
+     * loads in one round trip instead of one room lookup per row. Only what
+     * a {@link ReservationRow} holds is selected.
+     */
+    static final String RESERVATION_WITH_ROOM_COLUMNS =
+            "r.reservation_id, r.guest_name, r.guest_phone, r.check_in, r.check_out, r.total_price, r.status, " +
+            "rm.room_number, rm.room_type, rm.price, rm.extra_bed, rm.status AS room_status " +
+            "FROM reservations r JOIN rooms rm ON rm.room_number = r.room_id ";
+    
+    /**
+     * Cancelled reservations stay in the table for the statistics but are
+     * not listed.
+     */
+    private static final String NOT_CANCELLED = "r.status <> " + CANCELLED + " ";
+    
+    public List<ReservationRow> getAllReservations() {
+        return GET_ALL_RESERVATIONS.time(() -> queryAllReservations(), List::size);
+    }
+    
+    private List<ReservationRow> queryAllReservations() {
+        List<ReservationRow> reservations = new ArrayList<>();
+        String sql = "SELECT " + RESERVATION_WITH_ROOM_COLUMNS + "WHERE " + NOT_CANCELLED + "ORDER BY r.check_in DESC";
         
         Connection conn = null;
         PreparedStatement stmt = null;
@@ -97,11 +584,10 @@ public class ReservationDAO {
             stmt = conn.prepareStatement(sql);
             rs = stmt.executeQuery();
             
+            // One RoomSummary per room number for the whole result
+            Map<String, ReservationRow.RoomSummary> rooms = new HashMap<>();
             while (rs.next()) {
-                Reservation res = createReservationFromResultSet(rs);
-                if (res != null) {
-                    reservations.add(res);
-                }
+                reservations.add(createReservationFromResultSet(rs, rooms));
             }
             
             System.out.println("✓ Loaded " + reservations.size() + " reservations");
@@ -113,6 +599,7 @@ public class ReservationDAO {
             try {
                 if (rs != null) rs.close();
                 if (stmt != null) stmt.close();
+                if (conn != null) conn.close();
             } catch (SQLException e) {
                 e.printStackTrace();
             }
@@ -121,99 +608,572 @@ public class ReservationDAO {
         return reservations;
     }
     
-    public boolean deleteReservation(String reservationId) {
-        // First get the room number
-        String roomNumber = getRoomNumberByReservationId(reservationId);
-        
-        String sql = "DELETE FROM reservations WHERE reservation_id = ?";
+    /**
+     * Fetch up to pageSize reservations that come after the given key in
+     * (check_in DESC, reservation_id DESC) order, i.e. older ones. A null key
+     * returns the newest page.
+     */
+    public ReservationPage getReservationsPage(ReservationPage.Key after, int pageSize) {
+        String sql = "SELECT " + RESERVATION_WITH_ROOM_COLUMNS
+                   + "WHERE " + NOT_CANCELLED
+                   + (after == null ? "" : "AND (r.check_in < ? OR (r.check_in = ? AND r.reservation_id < ?)) ")
+                   + "ORDER BY r.check_in DESC, r.reservation_id DESC LIMIT ?";
+        return GET_RESERVATIONS_PAGE.time(() -> fetchPage(sql, after, pageSize, false), page -> page.rows().size());
+    }
+    
+    /**
+     * Fetch up to pageSize reservations that come just before the given key,
+     * i.e. newer ones. The rows are still returned newest first.
+     */
+    public ReservationPage getReservationsPageBefore(ReservationPage.Key before, int pageSize) {
+        String sql = "SELECT " + RESERVATION_WITH_ROOM_COLUMNS
+                   + "WHERE " + NOT_CANCELLED
+                   + "AND (r.check_in > ? OR (r.check_in = ? AND r.reservation_id > ?)) "
+                   + "ORDER BY r.check_in ASC, r.reservation_id ASC LIMIT ?";
+        return GET_RESERVATIONS_PAGE_BEFORE.time(() -> fetchPage(sql, before, pageSize, true), page -> page.rows().size());
+    }
+    
+    private ReservationPage fetchPage(String sql, ReservationPage.Key key, int pageSize, boolean ascending) {
+        List<ReservationRow> rows = new ArrayList<>();
         
         Connection conn = null;
         PreparedStatement stmt = null;
+        ResultSet rs = null;
         
         try {
             conn = DatabaseConnection.getConnection();
             if (conn == null) {
                 System.err.println("Failed to get database connection");
-                return false;
+                return new ReservationPage(rows, false);
             }
             
             stmt = conn.prepareStatement(sql);
-            stmt.setString(1, reservationId);
-            int rows = stmt.executeUpdate();
-            
-            if (rows > 0 && roomNumber != null) {
-                // Update room status back to Available
-                roomDAO.updateRoomStatus(roomNumber, "Available");
-                System.out.println("✓ Reservation deleted and room " + roomNumber + " set to Available");
-                return true;
+            int index = 1;
+            if (key != null) {
+                stmt.setDate(index++, Date.valueOf(key.checkIn()));
+                stmt.setDate(index++, Date.valueOf(key.checkIn()));
+                stmt.setBytes(index++, ColumnCodec.idToBytes(key.reservationId()));
             }
+            // One extra row tells us whether another page exists
+            stmt.setInt(index, pageSize + 1);
+            rs = stmt.executeQuery();
             
-            return rows > 0;
-            
+            Map<String, ReservationRow.RoomSummary> rooms = new HashMap<>();
+            while (rs.next()) {
+                rows.add(createReservationFromResultSet(rs, rooms));
+            }
         } catch (SQLException e) {
-            System.err.println("Error deleting reservation: " + e.getMessage());
+            System.err.println("Error loading reservations page: " + e.getMessage());
             e.printStackTrace();
-            return false;
         } finally {
             try {
+                if (rs != null) rs.close();
                 if (stmt != null) stmt.close();
+                if (conn != null) conn.close();
             } catch (SQLException e) {
                 e.printStackTrace();
             }
         }
+        
+        boolean hasMore = rows.size() > pageSize;
+        if (hasMore) {
+            rows.remove(rows.size() - 1);
+        }
+        if (ascending) {
+            Collections.reverse(rows);
+        }
+        return new ReservationPage(rows, hasMore);
     }
     
-    public boolean cancelReservation(String reservationId) {
-        return deleteReservation(reservationId);
+    /**
+     * Active, checked-out and cancelled counts, computed by the database in
+     * one GROUP BY rather than from whatever rows happen to be loaded. A
+     * reservation is checked out once its check-out date has arrived.
+     * Returns null if the counts could not be read.
+     */
+    public ReservationStats getReservationStats() {
+        return GET_RESERVATION_STATS.time(() -> queryReservationStats(), null);
+    }
+    
+    private ReservationStats queryReservationStats() {
+        String sql = "SELECT CASE WHEN status = " + CANCELLED + " THEN 'cancelled' " +
+                     "WHEN check_out <= ? THEN 'checked_out' ELSE 'active' END AS bucket, COUNT(*) " +
+                     "FROM reservations GROUP BY bucket";
+        
+        Connection conn = DatabaseConnection.getConnection();
+        if (conn == null) {
+            System.err.println("Failed to get database connection");
+            return null;
+        }
+        
+        try (conn; PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setDate(1, Date.valueOf(LocalDate.now()));
+            
+            int active = 0;
+            int checkedOut = 0;
+            int cancelled = 0;
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    switch (rs.getString(1)) {
+                        case "active" -> active = rs.getInt(2);
+                        case "checked_out" -> checkedOut = rs.getInt(2);
+                        case "cancelled" -> cancelled = rs.getInt(2);
+                        default -> { }
+                    }
+                }
+            }
+            return new ReservationStats(active, checkedOut, cancelled);
+        } catch (SQLException e) {
+            System.err.println("Error reading reservation stats: " + e.getMessage());
+            e.printStackTrace();
+            return null;
+        }
     }
     
     /**
-     * Extend a reservation by updating the check-out date and total price
+     * Delete a reservation for good. A tombstone row is written in the same
+     * transaction so {@link #getChangesSince} can report the deletion.
      */
-    public boolean extendReservation(String reservationId, LocalDate newCheckOutDate, double newTotalPrice) {
-        String sql = "UPDATE reservations SET check_out = ?, total_price = ? WHERE reservation_id = ?";
+    public boolean deleteReservation(String reservationId) {
+        return DELETE_RESERVATION.time(() -> removeReservation(reservationId), deleted -> deleted ? 1 : 0);
+    }
+    
+    private boolean removeReservation(String reservationId) {
+        // First get the room and dates
+        AvailabilityIndex.Stay stay = getStayByReservationId(reservationId);
         
-        Connection conn = null;
-        PreparedStatement stmt = null;
+        Connection conn = DatabaseConnection.getConnection();
+        if (conn == null) {
+            System.err.println("Failed to get database connection");
+            return false;
+        }
         
-        try {
-            conn = DatabaseConnection.getConnection();
+        int rows;
+        try (conn) {
+            conn.setAutoCommit(false);
+            
+            try (PreparedStatement stmt = conn.prepareStatement("DELETE FROM reservations WHERE reservation_id = ?")) {
+                stmt.setBytes(1, ColumnCodec.idToBytes(reservationId));
+                rows = stmt.executeUpdate();
+            }
+            if (rows > 0) {
+                try (PreparedStatement stmt = conn.prepareStatement(
+                        "INSERT INTO reservation_deletions (reservation_id) VALUES (?)")) {
+                    stmt.setBytes(1, ColumnCodec.idToBytes(reservationId));
+                    stmt.executeUpdate();
+                }
+                try (PreparedStatement stmt = conn.prepareStatement(
+                        "DELETE FROM reservation_deletions WHERE deleted_at < ?")) {
+                    stmt.setTimestamp(1, new Timestamp(System.currentTimeMillis() - TOMBSTONE_RETENTION_MILLIS));
+                    stmt.executeUpdate();
+                }
+            }
+            
+            conn.commit();
+        } catch (SQLException e) {
+            System.err.println("Error deleting reservation: " + e.getMessage());
+            e.printStackTrace();
+            return false;
+        }
+        
+        if (rows > 0) {
+            availability.release(reservationId);
+        }
+        
+        if (rows > 0 && stay != null && coversToday(stay.checkIn(), stay.checkOut())) {
+            // The room was held for tonight by this stay: release it
+            Room room = roomDAO.getRoomByNumber(stay.roomNumber());
+            if (room != null && "Reserved".equalsIgnoreCase(room.getStatus())) {
+                roomDAO.updateRoomStatus(stay.roomNumber(), "Available");
+                System.out.println("✓ Reservation deleted and room " + stay.roomNumber() + " set to Available");
+            }
+        }
+        
+        return rows > 0;
+    }
+    
+    /**
+     * The database's current time, to use as the first watermark for
+     * {@link #getChangesSince}. Read it before loading the rows it goes with.
+     * Returns null if it could not be read.
+     */
+    public Instant getSyncWatermark() {
+        return GET_SYNC_WATERMARK.time(() -> readSyncWatermark(), null);
+    }
+    
+    private Instant readSyncWatermark() {
+        Connection conn = DatabaseConnection.getConnection();
+        if (conn == null) {
+            System.err.println("Failed to get database connection");
+            return null;
+        }
+        
+        try (conn) {
+            return readDatabaseTime(conn);
+        } catch (SQLException e) {
+            System.err.println("Error reading sync watermark: " + e.getMessage());
+            e.printStackTrace();
+            return null;
+        }
+    }
+    
+    /**
+     * Reservations changed (updated_at) and deleted (tombstones) since the
+     * watermark. Cancelled rows are reported as removed. The cost depends on
+     * the number of changes, not the size of the table, given the indexes on
+     * updated_at and deleted_at. Returns null if the changes could not be read.
+     */
+    public ReservationChanges getChangesSince(Instant watermark) {
+        return GET_CHANGES_SINCE.time(() -> readChangesSince(watermark), changes -> changes.changed().size() + changes.removedIds().size());
+    }
+    
+    private ReservationChanges readChangesSince(Instant watermark) {
+        Connection conn = DatabaseConnection.getConnection();
+        if (conn == null) {
+            System.err.println("Failed to get database connection");
+            return null;
+        }
+        
+        try (conn) {
+            Instant now = readDatabaseTime(conn);
+            Timestamp from = Timestamp.from(watermark.minusMillis(SYNC_OVERLAP_MILLIS));
+            
+            List<ReservationRow> changed = new ArrayList<>();
+            Set<String> removed = new HashSet<>();
+            
+            String sql = "SELECT " + RESERVATION_WITH_ROOM_COLUMNS + "WHERE r.updated_at > ?";
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setTimestamp(1, from);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    Map<String, ReservationRow.RoomSummary> rooms = new HashMap<>();
+                    while (rs.next()) {
+                        if (rs.getInt("status") == CANCELLED) {
+                            removed.add(ColumnCodec.idFromBytes(rs.getBytes("reservation_id")));
+                        } else {
+                            changed.add(createReservationFromResultSet(rs, rooms));
+                        }
+                    }
+                }
+            }
+            
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "SELECT reservation_id FROM reservation_deletions WHERE deleted_at > ?")) {
+                stmt.setTimestamp(1, from);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        removed.add(ColumnCodec.idFromBytes(rs.getBytes(1)));
+                    }
+                }
+            }
+            
+            return new ReservationChanges(changed, removed, now);
+        } catch (SQLException e) {
+            System.err.println("Error reading reservation changes: " + e.getMessage());
+            e.printStackTrace();
+            return null;
+        }
+    }
+    
+    private static Instant readDatabaseTime(Connection conn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT CURRENT_TIMESTAMP(3)");
+             ResultSet rs = stmt.executeQuery()) {
+            rs.next();
+            return rs.getTimestamp(1).toInstant();
+        }
+    }
+    
+    /**
+     * Cancel a reservation. The row is kept, marked cancelled, so it
+     * still counts in the statistics; its nights become free again.
+     */
+    public boolean cancelReservation(String reservationId) {
+        return CANCEL_RESERVATION.time(() -> markCancelled(reservationId), cancelled -> cancelled ? 1 : 0);
+    }
+    
+    private boolean markCancelled(String reservationId) {
+        AvailabilityIndex.Stay stay = getStayByReservationId(reservationId);
+        if (stay == null) {
+            System.err.println("⚠️ Failed to cancel reservation - reservation not found or already cancelled");
+            return false;
+        }
+        
+        String sql = "UPDATE reservations SET status = " + CANCELLED
+                   + " WHERE reservation_id = ? AND status <> " + CANCELLED;
+        
+        Connection conn = DatabaseConnection.getConnection();
+        if (conn == null) {
+            System.err.println("Failed to get database connection");
+            return false;
+        }
+        
+        int rows;
+        try (conn; PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setBytes(1, ColumnCodec.idToBytes(reservationId));
+            rows = stmt.executeUpdate();
+        } catch (SQLException e) {
+            System.err.println("Error cancelling reservation: " + e.getMessage());
+            e.printStackTrace();
+            return false;
+        }
+        
+        if (rows == 0) {
+            return false;
+        }
+        availability.release(reservationId);
+        
+        if (coversToday(stay.checkIn(), stay.checkOut())) {
+            // The room was held for tonight by this stay: release it
+            Room room = roomDAO.getRoomByNumber(stay.roomNumber());
+            if (room != null && "Reserved".equalsIgnoreCase(room.getStatus())) {
+                roomDAO.updateRoomStatus(stay.roomNumber(), "Available");
+            }
+        }
+        System.out.println("✓ Reservation " + reservationId + " cancelled");
+        return true;
+    }
+    
+    /**
+     * Extend a reservation by updating the check-out date and total price.
+     * Runs as one transaction with the same booking_version check as
+     * {@link #bookReservation}, so it cannot extend into nights another desk
+     * has just booked.
+     */
+    public boolean extendReservation(String reservationId, LocalDate newCheckOutDate, double newTotalPrice) {
+        return EXTEND_RESERVATION.time(() -> updateCheckOut(reservationId, newCheckOutDate, newTotalPrice), extended -> extended ? 1 : 0);
+    }
+    
+    private boolean updateCheckOut(String reservationId, LocalDate newCheckOutDate, double newTotalPrice) {
+        for (int attempt = 1; attempt <= MAX_BOOKING_ATTEMPTS; attempt++) {
+            Connection conn = DatabaseConnection.getConnection();
             if (conn == null) {
                 System.err.println("Failed to get database connection");
                 return false;
             }
             
-            stmt = conn.prepareStatement(sql);
-            stmt.setDate(1, Date.valueOf(newCheckOutDate));
-            stmt.setDouble(2, newTotalPrice);
-            stmt.setString(3, reservationId);
-            
-            int rowsAffected = stmt.executeUpdate();
-            
-            if (rowsAffected > 0) {
+            try (conn) {
+                conn.setAutoCommit(false);
+                
+                AvailabilityIndex.Stay stay = readStay(conn, reservationId);
+                if (stay == null) {
+                    conn.rollback();
+                    System.err.println("⚠️ Failed to extend reservation - reservation not found");
+                    return false;
+                }
+                
+                Integer version = readBookingVersion(conn, stay.roomNumber());
+                if (version == null) {
+                    conn.rollback();
+                    System.err.println("⚠️ Failed to extend reservation - room " + stay.roomNumber() + " not found");
+                    return false;
+                }
+                
+                if (newCheckOutDate.isAfter(stay.checkOut())
+                        && findOverlappingReservation(conn, stay.roomNumber(), stay.checkOut(), newCheckOutDate, reservationId) != null) {
+                    conn.rollback();
+                    System.err.println("⚠️ Cannot extend reservation " + reservationId + " - room is booked after the current check-out");
+                    return false;
+                }
+                
+                String sql = "UPDATE reservations SET check_out = ?, total_price = ? WHERE reservation_id = ?";
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    stmt.setDate(1, Date.valueOf(newCheckOutDate));
+                    stmt.setBigDecimal(2, ColumnCodec.money(newTotalPrice));
+                    stmt.setBytes(3, ColumnCodec.idToBytes(reservationId));
+                    stmt.executeUpdate();
+                }
+                
+                if (!bumpBookingVersion(conn, stay.roomNumber(), version, null)) {
+                    conn.rollback();
+                    backOff(attempt);
+                    continue;
+                }
+                
+                conn.commit();
+                availability.extend(reservationId, newCheckOutDate);
                 System.out.println("✓ Reservation " + reservationId + " extended to " + newCheckOutDate);
                 System.out.println("✓ New total price: $" + String.format("%.2f", newTotalPrice));
                 return true;
-            } else {
-                System.err.println("⚠️ Failed to extend reservation - reservation not found");
+                
+            } catch (SQLException e) {
+                if (isRetryable(e) && attempt < MAX_BOOKING_ATTEMPTS) {
+                    backOff(attempt);
+                    continue;
+                }
+                System.err.println("Error extending reservation: " + e.getMessage());
+                e.printStackTrace();
                 return false;
             }
+        }
+        
+        System.err.println("⚠️ Reservation " + reservationId + " kept changing, extension not saved");
+        return false;
+    }
+    
+    /**
+     * Re-quote every reservation that is not cancelled and checks in on or
+     * after {@code from} with the current rates (see {@link PricingEngine}),
+     * e.g. after pricing.properties changed. Only totals that differ are
+     * written, in batches, in one transaction; a row another desk changed in
+     * the meantime is left alone. Returns how many were repriced, or -1 on
+     * failure.
+     */
+    public int repriceReservations(LocalDate from) {
+        return REPRICE_RESERVATIONS.time(() -> updateTotals(from, PricingEngine.get()), repriced -> Math.max(repriced, 0));
+    }
+    
+    private int updateTotals(LocalDate from, PricingEngine pricing) {
+        String select = "SELECT r.reservation_id, r.check_in, r.check_out, r.total_price, " +
+                        "rm.room_type, rm.price, rm.extra_bed " +
+                        "FROM reservations r JOIN rooms rm ON rm.room_number = r.room_id " +
+                        "WHERE r.check_in >= ? AND r.status <> " + CANCELLED;
+        String update = "UPDATE reservations SET total_price = ? " +
+                        "WHERE reservation_id = ? AND check_out = ? AND total_price = ?";
+        
+        Connection conn = DatabaseConnection.getConnection();
+        if (conn == null) {
+            System.err.println("Failed to get database connection");
+            return -1;
+        }
+        
+        try (conn) {
+            conn.setAutoCommit(false);
+            int checked = 0;
+            int repriced = 0;
+            try (PreparedStatement query = conn.prepareStatement(select);
+                 PreparedStatement stmt = conn.prepareStatement(update)) {
+                query.setDate(1, Date.valueOf(from));
+                try (ResultSet rs = query.executeQuery()) {
+                    int pending = 0;
+                    while (rs.next()) {
+                        checked++;
+                        Date checkOut = rs.getDate(3);
+                        BigDecimal stored = rs.getBigDecimal(4);
+                        BigDecimal quoted = ColumnCodec.money(pricing.quote(
+                                RoomType.fromCode(rs.getInt(5)), rs.getDouble(6), rs.getBoolean(7),
+                                rs.getDate(2).toLocalDate(), checkOut.toLocalDate()));
+                        if (quoted.compareTo(stored) == 0) {
+                            continue;
+                        }
+                        stmt.setBigDecimal(1, quoted);
+                        stmt.setBytes(2, rs.getBytes(1));
+                        stmt.setDate(3, checkOut);
+                        stmt.setBigDecimal(4, stored);
+                        stmt.addBatch();
+                        if (++pending == 500) {
+                            repriced += updated(stmt.executeBatch());
+                            pending = 0;
+                        }
+                    }
+                    if (pending > 0) {
+                        repriced += updated(stmt.executeBatch());
+                    }
+                }
+            }
+            conn.commit();
+            System.out.println("✓ Repriced " + repriced + " of " + checked + " reservations from " + from);
+            return repriced;
+        } catch (SQLException e) {
+            System.err.println("Error repricing reservations: " + e.getMessage());
+            e.printStackTrace();
+            return -1;
+        }
+    }
+    
+    private static int updated(int[] counts) {
+        int rows = 0;
+        for (int count : counts) {
+            // Some drivers report SUCCESS_NO_INFO (-2) for batched statements
+            rows += count == Statement.SUCCESS_NO_INFO ? 1 : Math.max(count, 0);
+        }
+        return rows;
+    }
+    
+    // ----- Async variants: run on DbExecutor so callers never block the UI thread -----
+    
+    public CompletableFuture<BookingResult> bookReservationAsync(Reservation reservation) {
+        return DbExecutor.supply(() -> bookReservation(reservation));
+    }
+    
+    public CompletableFuture<GroupBookingResult> addReservationsAsync(List<Reservation> reservations) {
+        return DbExecutor.supply(() -> addReservations(reservations));
+    }
+    
+    public CompletableFuture<ReservationPage> getReservationsPageAsync(ReservationPage.Key after, int pageSize) {
+        return DbExecutor.supply(() -> getReservationsPage(after, pageSize));
+    }
+    
+    public CompletableFuture<ReservationPage> getReservationsPageBeforeAsync(ReservationPage.Key before, int pageSize) {
+        return DbExecutor.supply(() -> getReservationsPageBefore(before, pageSize));
+    }
+    
+    public CompletableFuture<ReservationStats> getReservationStatsAsync() {
+        return DbExecutor.supply(this::getReservationStats);
+    }
+    
+    public CompletableFuture<ReservationChanges> getChangesSinceAsync(Instant watermark) {
+        return DbExecutor.supply(() -> getChangesSince(watermark));
+    }
+    
+    public CompletableFuture<Boolean> cancelReservationAsync(String reservationId) {
+        return DbExecutor.supply(() -> cancelReservation(reservationId));
+    }
+    
+    public CompletableFuture<Boolean> extendReservationAsync(String reservationId, LocalDate newCheckOutDate, double newTotalPrice) {
+        return DbExecutor.supply(() -> extendReservation(reservationId, newCheckOutDate, newTotalPrice));
+    }
+    
+    private AvailabilityIndex.Stay getStayByReservationId(String reservationId) {
+        Connection conn = null;
+        
+        try {
+            conn = DatabaseConnection.getConnection();
+            if (conn == null) {
+                return null;
+            }
             
+            return readStay(conn, reservationId);
         } catch (SQLException e) {
-            System.err.println("Error extending reservation: " + e.getMessage());
             e.printStackTrace();
-            return false;
         } finally {
             try {
-                if (stmt != null) stmt.close();
+                if (conn != null) conn.close();
             } catch (SQLException e) {
                 e.printStackTrace();
             }
         }
+        return null;
+    }
+    
+    /**
+     * The stay of a live (not cancelled) reservation, or null.
+     */
+    private AvailabilityIndex.Stay readStay(Connection conn, String reservationId) throws SQLException {
+        String sql = "SELECT room_id, check_in, check_out FROM reservations " +
+                     "WHERE reservation_id = ? AND status <> " + CANCELLED;
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setBytes(1, ColumnCodec.idToBytes(reservationId));
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return new AvailabilityIndex.Stay(
+                        reservationId,
+                        rs.getString("room_id"),
+                        rs.getDate("check_in").toLocalDate(),
+                        rs.getDate("check_out").toLocalDate()
+                    );
+                }
+            }
+        }
+        return null;
     }
     
-    private String getRoomNumberByReservationId(String reservationId) {
-        String sql = "SELECT room_id FROM reservations WHERE reservation_id = ?";
+    /**
+     * Stays that have not ended yet, used to build the availability index.
+     * Returns null if they could not be loaded.
+     */
+    private List<AvailabilityIndex.Stay> loadCurrentStays() {
+        List<AvailabilityIndex.Stay> stays = new ArrayList<>();
+        String sql = "SELECT reservation_id, room_id, check_in, check_out FROM reservations " +
+                     "WHERE check_out > ? AND status <> " + CANCELLED;
         
         Connection conn = null;
         PreparedStatement stmt = null;
@@ -222,60 +1182,75 @@ public class ReservationDAO {
         try {
             conn = DatabaseConnection.getConnection();
             if (conn == null) {
+                System.err.println("Failed to get database connection");
                 return null;
             }
             
             stmt = conn.prepareStatement(sql);
-            stmt.setString(1, reservationId);
+            stmt.setDate(1, Date.valueOf(LocalDate.now()));
             rs = stmt.executeQuery();
             
-            if (rs.next()) {
-                return rs.getString("room_id");
+            while (rs.next()) {
+                stays.add(new AvailabilityIndex.Stay(
+                    ColumnCodec.idFromBytes(rs.getBytes("reservation_id")),
+                    rs.getString("room_id"),
+                    rs.getDate("check_in").toLocalDate(),
+                    rs.getDate("check_out").toLocalDate()
+                ));
             }
+            System.out.println("✓ Loaded " + stays.size() + " current stays into the availability index");
+            return stays;
         } catch (SQLException e) {
+            System.err.println("Error loading current stays: " + e.getMessage());
             e.printStackTrace();
+            return null;
         } finally {
             try {
                 if (rs != null) rs.close();
                 if (stmt != null) stmt.close();
+                if (conn != null) conn.close();
             } catch (SQLException e) {
                 e.printStackTrace();
             }
         }
-        return null;
     }
     
-    private Reservation createReservationFromResultSet(ResultSet rs) throws SQLException {
-        String reservationId = rs.getString("reservation_id");
-        String guestSsn = rs.getString("guest_ssn");
-        String guestName = rs.getString("guest_name");
-        String guestPhone = rs.getString("guest_phone");
-        String guestEmail = rs.getString("guest_email");
-        String roomId = rs.getString("room_id");
-        
-        // Get the actual room from database
-        Room room = roomDAO.getRoomByNumber(roomId);
+    /**
+     * True if tonight falls inside [checkIn, checkOut)
+     */
+    private static boolean coversToday(LocalDate checkIn, LocalDate checkOut) {
+        LocalDate today = LocalDate.now();
+        return !checkIn.isAfter(today) && checkOut.isAfter(today);
+    }
+    
+    /**
+     * Map a row of {@link #RESERVATION_WITH_ROOM_COLUMNS}. Rooms already seen
+     * in this result are reused from the map rather than rebuilt. Loaded rows
+     * are not validated (past check-in dates are normal here).
+     */
+    static ReservationRow createReservationFromResultSet(ResultSet rs, Map<String, ReservationRow.RoomSummary> rooms)
+            throws SQLException {
+        String roomNumber = rs.getString("room_number");
+        ReservationRow.RoomSummary room = rooms.get(roomNumber);
         if (room == null) {
-            System.err.println("⚠️ Skipping reservation " + reservationId + " - Room not found: " + roomId);
-            return null;
+            room = new ReservationRow.RoomSummary(
+                roomNumber,
+                RoomType.fromCode(rs.getInt("room_type")),
+                RoomStatus.fromCode(rs.getInt("room_status")),
+                rs.getDouble("price"),
+                rs.getBoolean("extra_bed")
+            );
+            rooms.put(roomNumber, room);
         }
         
-        LocalDate checkIn = rs.getDate("check_in").toLocalDate();
-        LocalDate checkOut = rs.getDate("check_out").toLocalDate();
-        
-        // Create guest
-        Guest guest = new Guest(guestSsn, guestName, guestPhone, guestEmail);
-        
-        // Use the bypass constructor to avoid validation issues with past dates
-        Reservation reservation = new Reservation(
-            reservationId, 
-            guest, 
-            room, 
-            checkIn, 
-            checkOut, 
-            true  // bypass validation
+        return new ReservationRow(
+            ColumnCodec.idFromBytes(rs.getBytes("reservation_id")),
+            rs.getString("guest_name"),
+            rs.getString("guest_phone"),
+            rs.getDate("check_in").toLocalDate(),
+            rs.getDate("check_out").toLocalDate(),
+            rs.getDouble("total_price"),
+            room
         );
-        
-        return reservation;
     }
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.hotel.management.javafx.db;
+
+import com.hotel.management.javafx.model.ReservationRow;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * One page of reservations in (check_in DESC, reservation_id DESC) order.
+ *
+ * hasMore tells whether more rows exist beyond this page in the direction it
+ * was fetched.
+ */
+public record ReservationPage(List<ReservationRow> rows, boolean hasMore) {
+
+    /**
+     * Position of a row in the keyset order.
+     */
+    public record Key(LocalDate checkIn, String reservationId) {
+
+        public static Key of(ReservationRow reservation) {
+            return new Key(reservation.checkInDate(), reservation.reservationId());
+        }
+    }
+
+    public boolean isEmpty() {
+        return rows.isEmpty();
+    }
+}
@@ -0,0 +1,12 @@
+package com.hotel.management.javafx.db;
+
+/**
+ * Reservation counts for the statistics panel. Active reservations have not
+ * reached their check-out date yet; checked-out ones have.
+ */
+public record ReservationStats(int active, int checkedOut, int cancelled) {
+
+    public int total() {
+        return active + checkedOut + cancelled;
+    }
+}
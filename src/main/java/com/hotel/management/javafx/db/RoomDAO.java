@@ -1,141 +1,98 @@
 package com.hotel.management.javafx.db;
 
+import com.hotel.management.javafx.metrics.Metrics;
+import com.hotel.management.javafx.metrics.OperationTimer;
 import com.hotel.management.javafx.model.Room;
+import com.hotel.management.javafx.model.RoomStatus;
+import com.hotel.management.javafx.model.RoomType;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class RoomDAO {
     
+    // Shared by every RoomDAO instance
+    private static final RoomInventoryCache cache = new RoomInventoryCache();
+    
+    // Per-method timers, see Metrics; loadAllRooms counts inventory cache misses
+    private static final OperationTimer GET_ALL_ROOMS = Metrics.timer("RoomDAO.getAllRooms");
+    private static final OperationTimer GET_ROOMS_BY_TYPE = Metrics.timer("RoomDAO.getRoomsByType");
+    private static final OperationTimer GET_ROOMS_BY_STATUS = Metrics.timer("RoomDAO.getRoomsByStatus");
+    private static final OperationTimer GET_AVAILABLE_ROOMS = Metrics.timer("RoomDAO.getAvailableRooms");
+    private static final OperationTimer GET_ROOM_BY_NUMBER = Metrics.timer("RoomDAO.getRoomByNumber");
+    private static final OperationTimer LOAD_ALL_ROOMS = Metrics.timer("RoomDAO.loadAllRooms");
+    private static final OperationTimer UPDATE_ROOM_STATUS = Metrics.timer("RoomDAO.updateRoomStatus");
+    private static final OperationTimer UPDATE_ROOM_STATUSES = Metrics.timer("RoomDAO.updateRoomStatuses");
+    private static final OperationTimer UPDATE_ROOM_STATUSES_MATCHING = Metrics.timer("RoomDAO.updateRoomStatusesMatching");
+    private static final OperationTimer ADD_ROOM = Metrics.timer("RoomDAO.addRoom");
+    
+    /**
+     * The room inventory cache, e.g. to invalidate it or read its counters
+     */
+    public static RoomInventoryCache getCache() {
+        return cache;
+    }
+    
     /**
-     * Get all rooms from the database
+     * Get all rooms (served from the inventory cache)
      */
     public List<Room> getAllRooms() {
-        List<Room> rooms = new ArrayList<>();
-        String sql = "SELECT * FROM rooms";
-        
-        Connection conn = null;
-        PreparedStatement stmt = null;
-        ResultSet rs = null;
-        
-        try {
-            conn = DatabaseConnection.getConnection();
-            if (conn == null) {
-                System.err.println("Database connection failed");
-                return rooms;
-            }
-            
-            stmt = conn.prepareStatement(sql);
-            rs = stmt.executeQuery();
-            
-            while (rs.next()) {
-                Room room = createRoomFromResultSet(rs);
-                rooms.add(room);
-            }
-            
-            System.out.println("✓ Loaded " + rooms.size() + " rooms");
-            
-        } catch (SQLException e) {
-            System.err.println("Error loading all rooms: " + e.getMessage());
-            e.printStackTrace();
-        } finally {
-            closeResources(rs, stmt);
-        }
-        
-        return rooms;
+        return GET_ALL_ROOMS.time(() -> cache.getAllRooms(this::loadAllRoomsFromDatabase), List::size);
     }
     
     /**
      * Get rooms by type (Single, Double, Triple, Suite)
      */
     public List<Room> getRoomsByType(String roomType) {
-        List<Room> rooms = new ArrayList<>();
-        String sql = "SELECT * FROM rooms WHERE room_type = ?";
-        
-        Connection conn = null;
-        PreparedStatement stmt = null;
-        ResultSet rs = null;
-        
-        try {
-            conn = DatabaseConnection.getConnection();
-            if (conn == null) {
-                System.err.println("Database connection failed");
-                return rooms;
-            }
-            
-            stmt = conn.prepareStatement(sql);
-            stmt.setString(1, roomType);
-            rs = stmt.executeQuery();
-            
-            while (rs.next()) {
-                Room room = createRoomFromResultSet(rs);
-                rooms.add(room);
-            }
-            
-            System.out.println("✓ Loaded " + rooms.size() + " rooms of type: " + roomType);
-            
-        } catch (SQLException e) {
-            System.err.println("Error loading rooms by type '" + roomType + "': " + e.getMessage());
-            e.printStackTrace();
-        } finally {
-            closeResources(rs, stmt);
-        }
-        
-        return rooms;
+        return GET_ROOMS_BY_TYPE.time(() -> cache.getRoomsByType(roomType, this::loadAllRoomsFromDatabase), List::size);
     }
     
     /**
      * Get rooms by status (Available, Occupied, Cleaning, Maintenance, Reserved)
      */
     public List<Room> getRoomsByStatus(String status) {
-        List<Room> rooms = new ArrayList<>();
-        String sql = "SELECT * FROM rooms WHERE status = ?";
-        
-        Connection conn = null;
-        PreparedStatement stmt = null;
-        ResultSet rs = null;
-        
-        try {
-            conn = DatabaseConnection.getConnection();
-            if (conn == null) {
-                System.err.println("Database connection failed");
-                return rooms;
-            }
-            
-            stmt = conn.prepareStatement(sql);
-            stmt.setString(1, status);
-            rs = stmt.executeQuery();
-            
-            while (rs.next()) {
-                Room room = createRoomFromResultSet(rs);
-                rooms.add(room);
-            }
-            
-        } catch (SQLException e) {
-            System.err.println("Error loading rooms by status: " + e.getMessage());
-            e.printStackTrace();
-        } finally {
-            closeResources(rs, stmt);
-        }
-        
-        return rooms;
+        return GET_ROOMS_BY_STATUS.time(() -> cache.getRoomsByStatus(status, this::loadAllRoomsFromDatabase), List::size);
     }
     
     /**
      * Get available rooms only
      */
     public List<Room> getAvailableRooms() {
-        return getRoomsByStatus("Available");
+        return GET_AVAILABLE_ROOMS.time(() -> getRoomsByStatus("Available"), List::size);
     }
     
     /**
      * Get a specific room by room number
      */
     public Room getRoomByNumber(String roomNumber) {
-        String sql = "SELECT * FROM rooms WHERE room_number = ?";
+        return GET_ROOM_BY_NUMBER.time(() -> findRoomByNumber(roomNumber), room -> room == null ? 0 : 1);
+    }
+    
+    private Room findRoomByNumber(String roomNumber) {
+        Room room = cache.getRoomByNumber(roomNumber, this::loadAllRoomsFromDatabase);
+        if (room == null) {
+            System.err.println("⚠️ Room not found: " + roomNumber);
+        }
+        return room;
+    }
+    
+    /**
+     * Load the whole room inventory from the database. Returns null if it
+     * could not be loaded, so the cache does not remember an empty inventory.
+     */
+    private List<Room> loadAllRoomsFromDatabase() {
+        return LOAD_ALL_ROOMS.time(this::queryAllRooms, List::size);
+    }
+    
+    private List<Room> queryAllRooms() {
+        List<Room> rooms = new ArrayList<>();
+        String sql = "SELECT * FROM rooms ORDER BY id";
         
         Connection conn = null;
         PreparedStatement stmt = null;
@@ -149,30 +106,38 @@ public class RoomDAO {
             }
             
             stmt = conn.prepareStatement(sql);
-            stmt.setString(1, roomNumber);
             rs = stmt.executeQuery();
             
-            if (rs.next()) {
+            while (rs.next()) {
                 Room room = createRoomFromResultSet(rs);
-                System.out.println("✓ Found room: " + roomNumber);
-                return room;
-            } else {
-                System.err.println("⚠️ Room not found: " + roomNumber);
+                rooms.add(room);
             }
+            
+            System.out.println("✓ Loaded " + rooms.size() + " rooms into the inventory cache");
+            return rooms;
+            
         } catch (SQLException e) {
-            System.err.println("Error getting room by number: " + e.getMessage());
+            System.err.println("Error loading all rooms: " + e.getMessage());
             e.printStackTrace();
+            return null;
         } finally {
-            closeResources(rs, stmt);
+            closeResources(rs, stmt, conn);
         }
-        
-        return null;
     }
     
     /**
      * Update room status
      */
     public boolean updateRoomStatus(String roomNumber, String newStatus) {
+        return UPDATE_ROOM_STATUS.time(() -> writeRoomStatus(roomNumber, newStatus), updated -> updated ? 1 : 0);
+    }
+    
+    private boolean writeRoomStatus(String roomNumber, String newStatus) {
+        RoomStatus status = RoomStatus.fromLabel(newStatus);
+        if (status == null) {
+            System.err.println("⚠️ Invalid room status: " + newStatus);
+            return false;
+        }
         String sql = "UPDATE rooms SET status = ? WHERE room_number = ?";
         
         Connection conn = null;
@@ -186,12 +151,13 @@ public class RoomDAO {
             }
             
             stmt = conn.prepareStatement(sql);
-            stmt.setString(1, newStatus);
+            stmt.setInt(1, status.code());
             stmt.setString(2, roomNumber);
             
             int rowsAffected = stmt.executeUpdate();
             
             if (rowsAffected > 0) {
+                cache.updateStatus(roomNumber, newStatus);
                 System.out.println("✓ Room " + roomNumber + " status updated to: " + newStatus);
                 return true;
             } else {
@@ -204,14 +170,137 @@ public class RoomDAO {
             e.printStackTrace();
             return false;
         } finally {
-            closeResources(null, stmt);
+            closeResources(null, stmt, conn);
+        }
+    }
+    
+    /**
+     * Set the status of all the given rooms at once (e.g. a housekeeping pass
+     * moving rooms from Cleaning to Available). Returns the rooms that were
+     * changed, with their new status; rooms that already had the status are
+     * left alone and not returned.
+     */
+    public List<Room> updateRoomStatuses(Collection<String> roomNumbers, String newStatus) {
+        return UPDATE_ROOM_STATUSES.time(() -> changeRoomStatuses(roomNumbers, newStatus), List::size);
+    }
+    
+    private List<Room> changeRoomStatuses(Collection<String> roomNumbers, String newStatus) {
+        if (roomNumbers.isEmpty()) {
+            return new ArrayList<>();
         }
+        String where = "room_number IN (" + String.join(", ", Collections.nCopies(roomNumbers.size(), "?")) + ")";
+        return updateStatusWhere(where, new ArrayList<>(roomNumbers), newStatus);
+    }
+    
+    /**
+     * Set the status of every room on a floor and/or with a current status,
+     * e.g. all Cleaning rooms on floor 3. A null floor or current status
+     * matches any, but not both: that would be every room. Returns the rooms
+     * that were changed, with their new status.
+     */
+    public List<Room> updateRoomStatuses(Integer floor, RoomStatus currentStatus, String newStatus) {
+        if (floor == null && currentStatus == null) {
+            throw new IllegalArgumentException("Give a floor, a current status or both");
+        }
+        return UPDATE_ROOM_STATUSES_MATCHING.time(() -> changeRoomStatuses(floor, currentStatus, newStatus), List::size);
+    }
+    
+    private List<Room> changeRoomStatuses(Integer floor, RoomStatus currentStatus, String newStatus) {
+        List<String> conditions = new ArrayList<>();
+        List<Object> params = new ArrayList<>();
+        if (floor != null) {
+            conditions.add("floor = ?");
+            params.add(floor);
+        }
+        if (currentStatus != null) {
+            conditions.add("status = ?");
+            params.add(currentStatus.code());
+        }
+        return updateStatusWhere(String.join(" AND ", conditions), params, newStatus);
+    }
+    
+    /**
+     * One transaction: lock and read the rooms that will change, then change
+     * them all with a single UPDATE. The SELECT ... FOR UPDATE gives us the
+     * changed rows, since MySQL has no UPDATE ... RETURNING.
+     */
+    private List<Room> updateStatusWhere(String where, List<Object> params, String newStatus) {
+        List<Room> changed = new ArrayList<>();
+        RoomStatus status = RoomStatus.fromLabel(newStatus);
+        if (status == null) {
+            System.err.println("⚠️ Invalid room status: " + newStatus);
+            return changed;
+        }
+        String condition = "(" + where + ") AND status <> ?";
+        
+        Connection conn = DatabaseConnection.getConnection();
+        if (conn == null) {
+            System.err.println("Database connection failed");
+            return changed;
+        }
+        
+        try (conn) {
+            conn.setAutoCommit(false);
+            
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "SELECT * FROM rooms WHERE " + condition + " ORDER BY id FOR UPDATE")) {
+                int index = bindAll(stmt, params);
+                stmt.setInt(index, status.code());
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        changed.add(createRoomFromResultSet(rs));
+                    }
+                }
+            }
+            
+            if (!changed.isEmpty()) {
+                try (PreparedStatement stmt = conn.prepareStatement(
+                        "UPDATE rooms SET status = ? WHERE " + condition)) {
+                    stmt.setInt(1, status.code());
+                    int index = bindAll(stmt, params, 2);
+                    stmt.setInt(index, status.code());
+                    stmt.executeUpdate();
+                }
+            }
+            
+            conn.commit();
+            
+            for (Room room : changed) {
+                room.setStatus(status);
+                cache.updateStatus(room.getRoomNumber(), status.label());
+            }
+            System.out.println("✓ " + changed.size() + " rooms set to: " + newStatus);
+            return changed;
+            
+        } catch (SQLException e) {
+            System.err.println("Error updating room statuses: " + e.getMessage());
+            e.printStackTrace();
+            return new ArrayList<>();
+        }
+    }
+    
+    private static int bindAll(PreparedStatement stmt, List<Object> params) throws SQLException {
+        return bindAll(stmt, params, 1);
+    }
+    
+    /**
+     * Bind the parameters from the given index on; returns the next free index.
+     */
+    private static int bindAll(PreparedStatement stmt, List<Object> params, int index) throws SQLException {
+        for (Object param : params) {
+            stmt.setObject(index++, param);
+        }
+        return index;
     }
     
     /**
      * Add a new room to the database
      */
     public boolean addRoom(Room room) {
+        return ADD_ROOM.time(() -> insertRoom(room), added -> added ? 1 : 0);
+    }
+    
+    private boolean insertRoom(Room room) {
         String sql = "INSERT INTO rooms (room_number, capacity, room_type, price, floor, extra_bed, status) VALUES (?, ?, ?, ?, ?, ?, ?)";
         
         Connection conn = null;
@@ -227,15 +316,16 @@ public class RoomDAO {
             stmt = conn.prepareStatement(sql);
             stmt.setString(1, room.getRoomNumber());
             stmt.setInt(2, room.getCapacity());
-            stmt.setString(3, room.getRoomType());
-            stmt.setDouble(4, room.getPrice());
+            stmt.setInt(3, RoomType.fromLabel(room.getRoomType()).code());
+            stmt.setBigDecimal(4, ColumnCodec.money(room.getPrice()));
             stmt.setInt(5, room.getFloor());
             stmt.setBoolean(6, room.isExtraBed());
-            stmt.setString(7, room.getStatus());
+            stmt.setInt(7, RoomStatus.fromLabel(room.getStatus()).code());
             
             int rowsAffected = stmt.executeUpdate();
             
             if (rowsAffected > 0) {
+                cache.put(room);
                 System.out.println("✓ Room " + room.getRoomNumber() + " added successfully");
                 return true;
             }
@@ -247,21 +337,40 @@ public class RoomDAO {
             e.printStackTrace();
             return false;
         } finally {
-            closeResources(null, stmt);
+            closeResources(null, stmt, conn);
         }
     }
     
+    // ----- Async variants: run on DbExecutor so callers never block the UI thread -----
+    
+    public CompletableFuture<List<Room>> getAllRoomsAsync() {
+        return DbExecutor.supply(this::getAllRooms);
+    }
+    
+    public CompletableFuture<List<Room>> updateRoomStatusesAsync(Collection<String> roomNumbers, String newStatus) {
+        return DbExecutor.supply(() -> updateRoomStatuses(roomNumbers, newStatus));
+    }
+    
     /**
      * Helper method to create Room object from ResultSet
      */
     private Room createRoomFromResultSet(ResultSet rs) throws SQLException {
+        return createRoomFromResultSet(rs, "status");
+    }
+    
+    /**
+     * Map the room columns of the current row. Type and status are stored as
+     * codes (see RoomType, RoomStatus). The status column name is a
+     * parameter so joined queries can alias it away from other tables' status.
+     */
+    static Room createRoomFromResultSet(ResultSet rs, String statusColumn) throws SQLException {
         String roomNumber = rs.getString("room_number");
         int capacity = rs.getInt("capacity");
-        String roomType = rs.getString("room_type");
-        double price = rs.getDouble("price");
+        RoomType roomType = RoomType.fromCode(rs.getInt("room_type"));
+        double price = rs.getBigDecimal("price").doubleValue();
         int floor = rs.getInt("floor");
         boolean extraBed = rs.getBoolean("extra_bed");
-        String status = rs.getString("status");
+        RoomStatus status = RoomStatus.fromCode(rs.getInt(statusColumn));
         
         Room room = new Room(roomNumber, capacity, roomType, price, floor, extraBed);
         room.setStatus(status);
@@ -272,10 +381,11 @@ public class RoomDAO {
     /**
      * Helper method to close database resources
      */
-    private void closeResources(ResultSet rs, PreparedStatement stmt) {
+    private void closeResources(ResultSet rs, PreparedStatement stmt, Connection conn) {
         try {
             if (rs != null) rs.close();
             if (stmt != null) stmt.close();
+            if (conn != null) conn.close();  // returns it to the pool
         } catch (SQLException e) {
             System.err.println("Error closing resources: " + e.getMessage());
             e.printStackTrace();
@@ -0,0 +1,268 @@
+package com.hotel.management.javafx.db;
+
+import com.hotel.management.javafx.model.Room;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * In-process copy of the room inventory, indexed by room number, type and
+ * status.
+ *
+ * The inventory is loaded once (through the loader passed in by RoomDAO) and
+ * then kept current by write-through updates. Callers always get copies, so
+ * changing a returned Room never changes the cache. Entries older than
+ * {@code hotel.roomCache.maxAgeMs} (default 5 minutes, 0 = never) are
+ * reloaded so changes made from other desks show up eventually;
+ * {@link #invalidate()} forces a reload on the next read.
+ *
+ * Loads are single-flight: concurrent misses wait for one database read. A
+ * load that an invalidation or write-through overtook is thrown away and
+ * retried, so a read never answers from a discarded load.
+ */
+public class RoomInventoryCache {
+
+    private static final long MAX_AGE_MILLIS = Long.getLong("hotel.roomCache.maxAgeMs", 300_000);
+
+    // Loads overtaken by invalidations this many times in a row count as failed
+    private static final int MAX_LOAD_ATTEMPTS = 3;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReentrantLock loadLock = new ReentrantLock();
+    private final Map<String, Room> byNumber = new LinkedHashMap<>();
+    private final Map<String, Map<String, Room>> byType = new HashMap<>();
+    private final Map<String, Map<String, Room>> byStatus = new HashMap<>();
+    private boolean loaded;
+    private long loadedAtMillis;
+    private long generation;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public List<Room> getAllRooms(Supplier<List<Room>> loader) {
+        if (!ensureLoaded(loader)) {
+            return new ArrayList<>();
+        }
+        lock.readLock().lock();
+        try {
+            return copies(byNumber.values());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Room> getRoomsByType(String roomType, Supplier<List<Room>> loader) {
+        return lookupIndex(byType, roomType, loader);
+    }
+
+    public List<Room> getRoomsByStatus(String status, Supplier<List<Room>> loader) {
+        return lookupIndex(byStatus, status, loader);
+    }
+
+    public Room getRoomByNumber(String roomNumber, Supplier<List<Room>> loader) {
+        if (roomNumber == null || !ensureLoaded(loader)) {
+            return null;
+        }
+        lock.readLock().lock();
+        try {
+            Room room = byNumber.get(roomNumber);
+            return room == null ? null : new Room(room);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Write-through for a status change that was committed to the database.
+     */
+    public void updateStatus(String roomNumber, String newStatus) {
+        lock.writeLock().lock();
+        try {
+            generation++;  // a load in flight may have read the old status
+            Room room = byNumber.get(roomNumber);
+            if (room == null) {
+                return;
+            }
+            unindex(byStatus, room.getStatus(), roomNumber);
+            room.setStatus(newStatus);
+            index(byStatus, room.getStatus(), room);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Write-through for a room that was inserted into the database.
+     */
+    public void put(Room room) {
+        lock.writeLock().lock();
+        try {
+            generation++;  // a load in flight may have missed the room
+            if (!loaded) {
+                return;  // the next load will pick it up
+            }
+            Room copy = new Room(room);
+            Room previous = byNumber.put(copy.getRoomNumber(), copy);
+            if (previous != null) {
+                unindex(byType, previous.getRoomType(), previous.getRoomNumber());
+                unindex(byStatus, previous.getStatus(), previous.getRoomNumber());
+            }
+            index(byType, copy.getRoomType(), copy);
+            index(byStatus, copy.getStatus(), copy);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drop everything; the next read reloads the inventory from the database.
+     */
+    public void invalidate() {
+        lock.writeLock().lock();
+        try {
+            clear();
+            generation++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return byNumber.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "RoomInventoryCache{rooms=" + size() + ", hits=" + getHits() + ", misses=" + getMisses() + "}";
+    }
+
+    private List<Room> lookupIndex(Map<String, Map<String, Room>> index, String key, Supplier<List<Room>> loader) {
+        if (key == null || !ensureLoaded(loader)) {
+            return new ArrayList<>();
+        }
+        lock.readLock().lock();
+        try {
+            Map<String, Room> rooms = index.get(normalize(key));
+            return rooms == null ? new ArrayList<>() : copies(rooms.values());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Make sure the inventory is loaded, counting a hit or a miss. Returns
+     * false if it could not be loaded.
+     */
+    private boolean ensureLoaded(Supplier<List<Room>> loader) {
+        lock.readLock().lock();
+        try {
+            if (isFresh()) {
+                hits.increment();
+                return true;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        misses.increment();
+
+        loadLock.lock();
+        try {
+            for (int attempt = 1; attempt <= MAX_LOAD_ATTEMPTS; attempt++) {
+                long expectedGeneration;
+                lock.readLock().lock();
+                try {
+                    if (isFresh()) {
+                        return true;  // loaded by the caller we waited for
+                    }
+                    expectedGeneration = generation;
+                } finally {
+                    lock.readLock().unlock();
+                }
+
+                List<Room> rooms = loader.get();
+                if (rooms == null) {
+                    return false;
+                }
+
+                lock.writeLock().lock();
+                try {
+                    // Invalidated or written to while we were loading: the result may be stale
+                    if (generation == expectedGeneration) {
+                        clear();
+                        for (Room room : rooms) {
+                            byNumber.put(room.getRoomNumber(), room);
+                            index(byType, room.getRoomType(), room);
+                            index(byStatus, room.getStatus(), room);
+                        }
+                        loaded = true;
+                        loadedAtMillis = System.currentTimeMillis();
+                        generation++;
+                        return true;
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+            System.err.println("⚠ Room inventory kept changing while it was loaded, not cached");
+            return false;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    // Caller holds the lock
+    private boolean isFresh() {
+        return loaded && (MAX_AGE_MILLIS <= 0 || System.currentTimeMillis() - loadedAtMillis < MAX_AGE_MILLIS);
+    }
+
+    private void clear() {
+        byNumber.clear();
+        byType.clear();
+        byStatus.clear();
+        loaded = false;
+    }
+
+    private static void index(Map<String, Map<String, Room>> index, String key, Room room) {
+        index.computeIfAbsent(normalize(key), k -> new LinkedHashMap<>()).put(room.getRoomNumber(), room);
+    }
+
+    private static void unindex(Map<String, Map<String, Room>> index, String key, String roomNumber) {
+        Map<String, Room> rooms = index.get(normalize(key));
+        if (rooms != null) {
+            rooms.remove(roomNumber);
+        }
+    }
+
+    private static String normalize(String key) {
+        return key.toLowerCase(Locale.ROOT);
+    }
+
+    private static List<Room> copies(Collection<Room> rooms) {
+        List<Room> result = new ArrayList<>(rooms.size());
+        for (Room room : rooms) {
+            result.add(new Room(room));
+        }
+        return result;
+    }
+}
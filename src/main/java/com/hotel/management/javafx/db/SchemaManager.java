@@ -0,0 +1,559 @@
+package com.hotel.management.javafx.db;
+
+import com.hotel.management.javafx.model.ReservationStatus;
+import com.hotel.management.javafx.model.RoomStatus;
+import com.hotel.management.javafx.model.RoomType;
+import java.io.PrintStream;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Creates and upgrades the tables and indexes the DAOs rely on.
+ *
+ * Migrations are numbered and the ones applied are recorded in the
+ * schema_version table. Each step also checks the database metadata before
+ * it runs, so a database set up by hand from the README, or one where
+ * another desk is migrating at the same time, is brought up to date without
+ * errors. Runs when the pool is created unless {@code db.schema.autoMigrate}
+ * is false; {@link #explain} prints the plans of the DAO query shapes.
+ */
+public final class SchemaManager {
+
+    @FunctionalInterface
+    private interface Check {
+        boolean isDone(Connection conn) throws SQLException;
+    }
+
+    @FunctionalInterface
+    private interface Action {
+        void run(Connection conn) throws SQLException;
+    }
+
+    private record Step(String description, Check check, Action action) {
+    }
+
+    private record Migration(int version, String description, List<Step> steps) {
+    }
+
+    private static final List<Migration> MIGRATIONS = List.of(
+        new Migration(1, "Base tables", List.of(
+            createTable("users",
+                "CREATE TABLE users (" +
+                "  user_id INT PRIMARY KEY AUTO_INCREMENT," +
+                "  username VARCHAR(50) UNIQUE NOT NULL," +
+                "  password VARCHAR(255) NOT NULL," +
+                "  role VARCHAR(20) DEFAULT 'receptionist')"),
+            createTable("rooms",
+                "CREATE TABLE rooms (" +
+                "  id INT PRIMARY KEY AUTO_INCREMENT," +
+                "  room_number VARCHAR(10) UNIQUE NOT NULL," +
+                "  capacity INT," +
+                "  room_type VARCHAR(20)," +
+                "  price DECIMAL(10,2)," +
+                "  floor INT," +
+                "  extra_bed BOOLEAN DEFAULT FALSE," +
+                "  status VARCHAR(20) DEFAULT 'Available')"),
+            createTable("reservations",
+                "CREATE TABLE reservations (" +
+                "  reservation_id VARCHAR(255) PRIMARY KEY," +
+                "  guest_ssn VARCHAR(20)," +
+                "  guest_name VARCHAR(100)," +
+                "  guest_phone VARCHAR(20)," +
+                "  guest_email VARCHAR(100)," +
+                "  room_id VARCHAR(10)," +
+                "  check_in DATE," +
+                "  check_out DATE," +
+                "  total_price DECIMAL(10,2)," +
+                "  status VARCHAR(20) DEFAULT 'Reserved'," +
+                "  is_paid BOOLEAN DEFAULT FALSE)")
+        )),
+        new Migration(2, "Optimistic booking version", List.of(
+            addColumn("rooms", "booking_version", "INT NOT NULL DEFAULT 0")
+        )),
+        new Migration(3, "Delta sync columns and tombstones", List.of(
+            addColumn("reservations", "updated_at",
+                "TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3)"),
+            createTable("reservation_deletions",
+                "CREATE TABLE reservation_deletions (" +
+                "  reservation_id VARCHAR(255) PRIMARY KEY," +
+                "  deleted_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3))"),
+            createIndex("reservations", "idx_reservations_updated_at", "updated_at"),
+            createIndex("reservation_deletions", "idx_reservation_deletions_deleted_at", "deleted_at")
+        )),
+        new Migration(4, "Indexes for the DAO query shapes", List.of(
+            // Overlap checks: room_id = ? AND check_in < ? AND check_out > ?
+            createIndex("reservations", "idx_reservations_room_stay", "room_id, check_in, check_out"),
+            // Keyset paging: ORDER BY check_in DESC, reservation_id DESC
+            createIndex("reservations", "idx_reservations_checkin_id", "check_in, reservation_id"),
+            // Current stays (check_out > today) and the stats GROUP BY, from the index alone
+            createIndex("reservations", "idx_reservations_checkout_status", "check_out, status"),
+            createIndex("reservations", "idx_reservations_status", "status"),
+            createIndex("rooms", "idx_rooms_type", "room_type"),
+            createIndex("rooms", "idx_rooms_status", "status")
+        )),
+        new Migration(5, "Compact encoding: status and type codes, binary reservation ids", List.of(
+            // Room status and type: VARCHAR labels -> TINYINT codes (RoomStatus, RoomType)
+            addCodeColumn("rooms", "status"),
+            addCodeColumn("rooms", "room_type"),
+            backfillCodes("rooms", "status", "CASE LOWER(status) WHEN 'available' THEN 1 WHEN 'occupied' THEN 2 " +
+                          "WHEN 'cleaning' THEN 3 WHEN 'maintenance' THEN 4 WHEN 'reserved' THEN 5 ELSE 1 END"),
+            backfillCodes("rooms", "room_type", "CASE LOWER(room_type) WHEN 'single' THEN 1 WHEN 'double' THEN 2 " +
+                          "WHEN 'triple' THEN 3 WHEN 'suite' THEN 4 ELSE 1 END"),
+            dropIndex("rooms", "idx_rooms_status"),
+            dropIndex("rooms", "idx_rooms_type"),
+            replaceWithCodeColumn("rooms", "status"),
+            replaceWithCodeColumn("rooms", "room_type"),
+            createIndex("rooms", "idx_rooms_status", "status"),
+            createIndex("rooms", "idx_rooms_type", "room_type"),
+
+            // Reservation status: VARCHAR -> TINYINT code (ReservationStatus)
+            addCodeColumn("reservations", "status"),
+            backfillCodes("reservations", "status", "CASE LOWER(status) WHEN 'cancelled' THEN 2 ELSE 1 END"),
+
+            // Reservation ids: VARCHAR(255) -> BINARY(16) UUIDs
+            new Step("column reservations.reservation_id_bin",
+                conn -> columnExists(conn, "reservations", "reservation_id_bin")
+                        || !isCharacterColumn(conn, "reservations", "reservation_id"),
+                sql("ALTER TABLE reservations ADD COLUMN reservation_id_bin BINARY(16)")),
+            new Step("binary reservation ids",
+                conn -> !isCharacterColumn(conn, "reservations", "reservation_id"),
+                SchemaManager::backfillBinaryIds),
+
+            // Indexes over the columns being replaced are rebuilt afterwards
+            dropIndex("reservations", "idx_reservations_checkin_id"),
+            dropIndex("reservations", "idx_reservations_status"),
+            dropIndex("reservations", "idx_reservations_checkout_status"),
+            new Step("primary key on reservations.reservation_id_bin",
+                conn -> !isCharacterColumn(conn, "reservations", "reservation_id"),
+                conn -> {
+                    sql("ALTER TABLE reservations MODIFY reservation_id_bin BINARY(16) NOT NULL").run(conn);
+                    movePrimaryKey(conn, "reservations", "reservation_id_bin");
+                }),
+            replaceWithCodeColumn("reservations", "status"),
+            new Step("drop reservations.reservation_id (VARCHAR)",
+                conn -> !isCharacterColumn(conn, "reservations", "reservation_id"),
+                sql("ALTER TABLE reservations DROP COLUMN reservation_id")),
+            new Step("rename reservations.reservation_id_bin",
+                conn -> !columnExists(conn, "reservations", "reservation_id_bin"),
+                sql("ALTER TABLE reservations RENAME COLUMN reservation_id_bin TO reservation_id")),
+            createIndex("reservations", "idx_reservations_checkin_id", "check_in, reservation_id"),
+            createIndex("reservations", "idx_reservations_checkout_status", "check_out, status"),
+            createIndex("reservations", "idx_reservations_status", "status"),
+
+            // Tombstones only live for a day, so the table is recreated rather than converted
+            new Step("drop reservation_deletions (VARCHAR ids)",
+                conn -> !isCharacterColumn(conn, "reservation_deletions", "reservation_id"),
+                sql("DROP TABLE reservation_deletions")),
+            createTable("reservation_deletions",
+                "CREATE TABLE reservation_deletions (" +
+                "  reservation_id BINARY(16) PRIMARY KEY," +
+                "  deleted_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3))"),
+            createIndex("reservation_deletions", "idx_reservation_deletions_deleted_at", "deleted_at")
+        ))
+    );
+
+    private SchemaManager() {
+    }
+
+    /**
+     * The highest migration version this build knows about.
+     */
+    public static int latestVersion() {
+        return MIGRATIONS.get(MIGRATIONS.size() - 1).version();
+    }
+
+    /**
+     * Apply the migrations the database has not seen yet. Returns how many
+     * were applied. The connection must be in auto-commit mode (MySQL
+     * commits DDL implicitly anyway).
+     */
+    public static int migrate(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS schema_version (" +
+                         "  version INT PRIMARY KEY," +
+                         "  description VARCHAR(200)," +
+                         "  applied_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
+        }
+
+        int current = currentVersion(conn);
+        int applied = 0;
+        for (Migration migration : MIGRATIONS) {
+            if (migration.version() <= current) {
+                continue;
+            }
+            for (Step step : migration.steps()) {
+                apply(conn, step);
+            }
+            recordVersion(conn, migration);
+            applied++;
+            System.out.println("✓ Schema migrated to version " + migration.version() + ": " + migration.description());
+        }
+        return applied;
+    }
+
+    public static int currentVersion(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT MAX(version) FROM schema_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    /**
+     * Insert the README test data (the recept login and four rooms) into a
+     * migrated database that has no rooms yet. Used by the embedded profiles.
+     * Returns true if anything was inserted.
+     */
+    public static boolean seedTestData(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM rooms")) {
+            if (rs.next() && rs.getInt(1) > 0) {
+                return false;
+            }
+        }
+
+        try (PreparedStatement users = conn.prepareStatement(
+                "INSERT INTO users (username, password, role) " +
+                "SELECT ?, ?, ? FROM (SELECT 1) AS one " +
+                "WHERE NOT EXISTS (SELECT 1 FROM users WHERE username = ?)")) {
+            users.setString(1, "recept");
+            users.setString(2, "pass123");
+            users.setString(3, "receptionist");
+            users.setString(4, "recept");
+            users.executeUpdate();
+        }
+
+        try (PreparedStatement rooms = conn.prepareStatement(
+                "INSERT INTO rooms (room_number, capacity, room_type, price, floor, extra_bed, status) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?)")) {
+            addSeedRoom(rooms, "101", 1, RoomType.SINGLE, 75.00, 1, false, RoomStatus.AVAILABLE);
+            addSeedRoom(rooms, "102", 2, RoomType.DOUBLE, 120.00, 1, true, RoomStatus.AVAILABLE);
+            addSeedRoom(rooms, "201", 3, RoomType.TRIPLE, 150.00, 2, false, RoomStatus.OCCUPIED);
+            addSeedRoom(rooms, "301", 4, RoomType.SUITE, 220.00, 3, true, RoomStatus.AVAILABLE);
+            rooms.executeBatch();
+        }
+        System.out.println("✓ Seeded the test login and 4 rooms");
+        return true;
+    }
+
+    private static void addSeedRoom(PreparedStatement stmt, String number, int capacity, RoomType type,
+                                    double price, int floor, boolean extraBed, RoomStatus status) throws SQLException {
+        stmt.setString(1, number);
+        stmt.setInt(2, capacity);
+        stmt.setInt(3, type.code());
+        stmt.setBigDecimal(4, ColumnCodec.money(price));
+        stmt.setInt(5, floor);
+        stmt.setBoolean(6, extraBed);
+        stmt.setInt(7, status.code());
+        stmt.addBatch();
+    }
+
+    /**
+     * Print the EXPLAIN output of each query shape the DAOs run, with sample
+     * parameters, so a missing or unused index shows up as a scan.
+     */
+    public static void explain(Connection conn, PrintStream out) throws SQLException {
+        LocalDate today = LocalDate.now();
+        Date from = Date.valueOf(today);
+        Date to = Date.valueOf(today.plusDays(3));
+        Timestamp watermark = new Timestamp(System.currentTimeMillis() - 60_000);
+        int cancelled = ReservationStatus.CANCELLED.code();
+
+        List<QueryShape> shapes = List.of(
+            new QueryShape("Overlap check (bookReservation, extendReservation)",
+                "SELECT reservation_id FROM reservations " +
+                "WHERE room_id = ? AND check_in < ? AND check_out > ? AND status <> " + cancelled + " LIMIT 1",
+                "101", to, from),
+            new QueryShape("Group overlap check (addReservations)",
+                "SELECT reservation_id, room_id, check_in, check_out FROM reservations " +
+                "WHERE room_id IN (?, ?) AND check_in < ? AND check_out > ? AND status <> " + cancelled,
+                "101", "102", to, from),
+            new QueryShape("Newest page (getReservationsPage)",
+                "SELECT " + ReservationDAO.RESERVATION_WITH_ROOM_COLUMNS +
+                "WHERE r.status <> " + cancelled + " ORDER BY r.check_in DESC, r.reservation_id DESC LIMIT ?",
+                101),
+            new QueryShape("Next page (getReservationsPage)",
+                "SELECT " + ReservationDAO.RESERVATION_WITH_ROOM_COLUMNS +
+                "WHERE r.status <> " + cancelled + " AND (r.check_in < ? OR (r.check_in = ? AND r.reservation_id < ?)) " +
+                "ORDER BY r.check_in DESC, r.reservation_id DESC LIMIT ?",
+                from, from, new byte[16], 101),
+            new QueryShape("Current stays (availability index)",
+                "SELECT reservation_id, room_id, check_in, check_out FROM reservations " +
+                "WHERE check_out > ? AND status <> " + cancelled,
+                from),
+            new QueryShape("Statistics (getReservationStats)",
+                "SELECT CASE WHEN status = " + cancelled + " THEN 'cancelled' " +
+                "WHEN check_out <= ? THEN 'checked_out' ELSE 'active' END AS bucket, COUNT(*) " +
+                "FROM reservations GROUP BY bucket",
+                from),
+            new QueryShape("Changed rows (getChangesSince)",
+                "SELECT " + ReservationDAO.RESERVATION_WITH_ROOM_COLUMNS + "WHERE r.updated_at > ?",
+                watermark),
+            new QueryShape("Deleted rows (getChangesSince)",
+                "SELECT reservation_id FROM reservation_deletions WHERE deleted_at > ?",
+                watermark),
+            new QueryShape("Rooms by number (updateRoomStatuses)",
+                "SELECT * FROM rooms WHERE (room_number IN (?, ?)) AND status <> ? ORDER BY id",
+                "101", "102", RoomStatus.AVAILABLE.code()),
+            new QueryShape("Rooms with a status (updateRoomStatuses by floor/status)",
+                "SELECT * FROM rooms WHERE (status = ?) AND status <> ? ORDER BY id",
+                RoomStatus.CLEANING.code(), RoomStatus.AVAILABLE.code()),
+            new QueryShape("Rooms of a type",
+                "SELECT * FROM rooms WHERE room_type = ?",
+                RoomType.SINGLE.code())
+        );
+
+        for (QueryShape shape : shapes) {
+            out.println("── " + shape.name());
+            out.println("   " + shape.sql());
+            try (PreparedStatement stmt = conn.prepareStatement("EXPLAIN " + shape.sql())) {
+                for (int i = 0; i < shape.params().length; i++) {
+                    stmt.setObject(i + 1, shape.params()[i]);
+                }
+                try (ResultSet rs = stmt.executeQuery()) {
+                    printRows(rs, out);
+                }
+            } catch (SQLException e) {
+                out.println("   ⚠ " + e.getMessage());
+            }
+            out.println();
+        }
+    }
+
+    private record QueryShape(String name, String sql, Object... params) {
+    }
+
+    private static void printRows(ResultSet rs, PrintStream out) throws SQLException {
+        ResultSetMetaData meta = rs.getMetaData();
+        StringBuilder header = new StringBuilder("   ");
+        for (int i = 1; i <= meta.getColumnCount(); i++) {
+            header.append(i == 1 ? "" : " | ").append(meta.getColumnLabel(i));
+        }
+        out.println(header);
+        while (rs.next()) {
+            StringBuilder row = new StringBuilder("   ");
+            for (int i = 1; i <= meta.getColumnCount(); i++) {
+                row.append(i == 1 ? "" : " | ").append(rs.getString(i));
+            }
+            out.println(row.toString().replace("\n", "\n   "));  // H2 returns multi-line plans
+        }
+    }
+
+    private static void apply(Connection conn, Step step) throws SQLException {
+        if (step.check().isDone(conn)) {
+            return;
+        }
+        try {
+            step.action().run(conn);
+            System.out.println("  + " + step.description());
+        } catch (SQLException e) {
+            // Another desk may have applied the same step a moment ago
+            if (!step.check().isDone(conn)) {
+                throw e;
+            }
+        }
+    }
+
+    private static void recordVersion(Connection conn, Migration migration) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "INSERT INTO schema_version (version, description) VALUES (?, ?)")) {
+            stmt.setInt(1, migration.version());
+            stmt.setString(2, migration.description());
+            stmt.executeUpdate();
+        } catch (SQLIntegrityConstraintViolationException e) {
+            // Recorded by another desk migrating at the same time
+        }
+    }
+
+    private static Action sql(String sql) {
+        return conn -> {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute(sql);
+            }
+        };
+    }
+
+    private static Step createTable(String table, String sql) {
+        return new Step("table " + table, conn -> tableExists(conn, table), sql(sql));
+    }
+
+    private static Step addColumn(String table, String column, String definition) {
+        return new Step("column " + table + "." + column,
+                conn -> columnExists(conn, table, column),
+                sql("ALTER TABLE " + table + " ADD COLUMN " + column + " " + definition));
+    }
+
+    private static Step createIndex(String table, String index, String columns) {
+        return new Step("index " + index + " on " + table + " (" + columns + ")",
+                conn -> indexExists(conn, table, index),
+                sql("CREATE INDEX " + index + " ON " + table + " (" + columns + ")"));
+    }
+
+    private static Step dropIndex(String table, String index) {
+        return new Step("drop index " + index,
+                conn -> !indexExists(conn, table, index),
+                sql("DROP INDEX " + index + " ON " + table));
+    }
+
+    // A VARCHAR column is converted to codes in three steps: add <column>_code,
+    // fill it from the labels, then drop the old column and rename the new one.
+    // Each step is skipped once the column is no longer VARCHAR.
+
+    private static Step addCodeColumn(String table, String column) {
+        return new Step("column " + table + "." + column + "_code",
+                conn -> columnExists(conn, table, column + "_code") || !isCharacterColumn(conn, table, column),
+                sql("ALTER TABLE " + table + " ADD COLUMN " + column + "_code TINYINT NOT NULL DEFAULT 1"));
+    }
+
+    private static Step backfillCodes(String table, String column, String caseExpression) {
+        return new Step("codes for " + table + "." + column,
+                conn -> !isCharacterColumn(conn, table, column),
+                sql("UPDATE " + table + " SET " + column + "_code = " + caseExpression));
+    }
+
+    private static Step replaceWithCodeColumn(String table, String column) {
+        return new Step("replace " + table + "." + column + " with its codes",
+                conn -> !columnExists(conn, table, column + "_code"),
+                conn -> {
+                    if (isCharacterColumn(conn, table, column)) {
+                        sql("ALTER TABLE " + table + " DROP COLUMN " + column).run(conn);
+                    }
+                    sql("ALTER TABLE " + table + " RENAME COLUMN " + column + "_code TO " + column).run(conn);
+                });
+    }
+
+    /**
+     * Move a table's primary key to another column without the table ever
+     * being left without one: MySQL refuses that when sql_require_primary_key
+     * is on (the Aiven default), so the key is dropped and added in one
+     * statement. H2 cannot combine the two and has no such setting.
+     */
+    private static void movePrimaryKey(Connection conn, String table, String column) throws SQLException {
+        if (!hasPrimaryKey(conn, table)) {
+            sql("ALTER TABLE " + table + " ADD PRIMARY KEY (" + column + ")").run(conn);
+        } else if (isH2(conn)) {
+            sql("ALTER TABLE " + table + " DROP PRIMARY KEY").run(conn);
+            sql("ALTER TABLE " + table + " ADD PRIMARY KEY (" + column + ")").run(conn);
+        } else {
+            sql("ALTER TABLE " + table + " DROP PRIMARY KEY, ADD PRIMARY KEY (" + column + ")").run(conn);
+        }
+    }
+
+    private static boolean isH2(Connection conn) throws SQLException {
+        return "H2".equalsIgnoreCase(conn.getMetaData().getDatabaseProductName());
+    }
+
+    /**
+     * Fill reservation_id_bin from the VARCHAR ids. UUID ids keep their
+     * value; older non-UUID ids get a name-based UUID derived from them.
+     */
+    private static void backfillBinaryIds(Connection conn) throws SQLException {
+        try (PreparedStatement select = conn.prepareStatement(
+                 "SELECT reservation_id FROM reservations WHERE reservation_id_bin IS NULL");
+             PreparedStatement update = conn.prepareStatement(
+                 "UPDATE reservations SET reservation_id_bin = ? WHERE reservation_id = ?");
+             ResultSet rs = select.executeQuery()) {
+            int pending = 0;
+            while (rs.next()) {
+                String oldId = rs.getString(1);
+                update.setBytes(1, ColumnCodec.idToBytes(ColumnCodec.legacyIdToUuid(oldId)));
+                update.setString(2, oldId);
+                update.addBatch();
+                if (++pending == 500) {
+                    update.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                update.executeBatch();
+            }
+        }
+    }
+
+    // Metadata lookups try the name as written and upper-cased, since
+    // databases differ in how they store unquoted identifiers.
+
+    private static boolean tableExists(Connection conn, String table) throws SQLException {
+        DatabaseMetaData meta = conn.getMetaData();
+        for (String name : nameVariants(table)) {
+            try (ResultSet rs = meta.getTables(conn.getCatalog(), conn.getSchema(), name, null)) {
+                if (rs.next()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean columnExists(Connection conn, String table, String column) throws SQLException {
+        DatabaseMetaData meta = conn.getMetaData();
+        for (String tableName : nameVariants(table)) {
+            for (String columnName : nameVariants(column)) {
+                try (ResultSet rs = meta.getColumns(conn.getCatalog(), conn.getSchema(), tableName, columnName)) {
+                    if (rs.next()) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean isCharacterColumn(Connection conn, String table, String column) throws SQLException {
+        DatabaseMetaData meta = conn.getMetaData();
+        for (String tableName : nameVariants(table)) {
+            for (String columnName : nameVariants(column)) {
+                try (ResultSet rs = meta.getColumns(conn.getCatalog(), conn.getSchema(), tableName, columnName)) {
+                    if (rs.next()) {
+                        int type = rs.getInt("DATA_TYPE");
+                        return type == Types.CHAR || type == Types.VARCHAR || type == Types.LONGVARCHAR
+                                || type == Types.NCHAR || type == Types.NVARCHAR;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasPrimaryKey(Connection conn, String table) throws SQLException {
+        DatabaseMetaData meta = conn.getMetaData();
+        for (String tableName : nameVariants(table)) {
+            try (ResultSet rs = meta.getPrimaryKeys(conn.getCatalog(), conn.getSchema(), tableName)) {
+                if (rs.next()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean indexExists(Connection conn, String table, String index) throws SQLException {
+        DatabaseMetaData meta = conn.getMetaData();
+        for (String tableName : nameVariants(table)) {
+            try (ResultSet rs = meta.getIndexInfo(conn.getCatalog(), conn.getSchema(), tableName, false, true)) {
+                while (rs.next()) {
+                    if (index.equalsIgnoreCase(rs.getString("INDEX_NAME"))) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private static List<String> nameVariants(String name) {
+        String upper = name.toUpperCase(Locale.ROOT);
+        return upper.equals(name) ? List.of(name) : List.of(name, upper);
+    }
+}
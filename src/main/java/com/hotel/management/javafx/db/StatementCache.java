@@ -0,0 +1,91 @@
+package com.hotel.management.javafx.db;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Prepared statements of one pooled connection that are not in use, keyed
+ * by SQL text, least recently used first.
+ *
+ * A borrower takes a statement out of the cache with {@link #take} and
+ * closing it puts it back with {@link #put}, so a statement is never shared
+ * by two borrowers. When the cache is full the least recently used
+ * statement is closed. With MySQL the statements are server-side prepared
+ * (useServerPrepStmts), so a hit saves the prepare round trip.
+ */
+final class StatementCache {
+
+    private final int maxSize;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder evictions;
+    private final Map<String, PreparedStatement> statements;
+
+    StatementCache(int maxSize, LongAdder hits, LongAdder misses, LongAdder evictions) {
+        this.maxSize = maxSize;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * The cached statement for this SQL, removed from the cache, or null.
+     */
+    synchronized PreparedStatement take(String sql) {
+        PreparedStatement statement = statements.remove(sql);
+        if (statement != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return statement;
+    }
+
+    /**
+     * Return a statement that is no longer in use. Its parameters must have
+     * been cleared.
+     */
+    void put(String sql, PreparedStatement statement) {
+        List<PreparedStatement> toClose = new ArrayList<>(1);
+        synchronized (this) {
+            PreparedStatement previous = statements.putIfAbsent(sql, statement);
+            if (previous != null) {
+                // The same SQL was prepared twice at once; keep one
+                toClose.add(statement);
+            } else if (statements.size() > maxSize) {
+                Iterator<Map.Entry<String, PreparedStatement>> eldest = statements.entrySet().iterator();
+                toClose.add(eldest.next().getValue());
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+        toClose.forEach(StatementCache::closeQuietly);
+    }
+
+    /**
+     * Close every cached statement, before the connection is closed.
+     */
+    void closeAll() {
+        List<PreparedStatement> toClose;
+        synchronized (this) {
+            toClose = new ArrayList<>(statements.values());
+            statements.clear();
+        }
+        toClose.forEach(StatementCache::closeQuietly);
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            // The connection is going away anyway
+        }
+    }
+}
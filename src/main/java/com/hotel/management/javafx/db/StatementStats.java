@@ -0,0 +1,80 @@
+package com.hotel.management.javafx.db;
+
+import com.hotel.management.javafx.metrics.LatencyHistogram;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters for one SQL shape: the statement text with literals replaced by
+ * ? and IN lists collapsed, so "IN (?, ?)" and "IN (?, ?, ?)" are the same
+ * shape.
+ *
+ * Execute time is the execute call itself (the round trip, and for a
+ * buffered driver such as MySQL's the transfer of the result). Fetch time is
+ * the time spent in ResultSet.next(). Rows are rows read for queries and
+ * rows affected for updates and batches.
+ */
+public class StatementStats {
+
+    private final String sql;
+    private final LatencyHistogram executeTime = new LatencyHistogram();
+    private final LongAdder fetchNanos = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder slow = new LongAdder();
+
+    StatementStats(String sql) {
+        this.sql = sql;
+    }
+
+    void record(long executeNanos, long fetchNanos, long rowCount, boolean failed, boolean wasSlow) {
+        executeTime.record(executeNanos);
+        this.fetchNanos.add(fetchNanos);
+        rows.add(rowCount);
+        if (failed) {
+            errors.increment();
+        }
+        if (wasSlow) {
+            slow.increment();
+        }
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public long getExecutions() {
+        return executeTime.getCount();
+    }
+
+    public LatencyHistogram getExecuteTime() {
+        return executeTime;
+    }
+
+    public double getTotalExecuteMillis() {
+        return executeTime.getMeanNanos() * executeTime.getCount() / 1e6;
+    }
+
+    public double getTotalFetchMillis() {
+        return fetchNanos.sum() / 1e6;
+    }
+
+    /**
+     * Execute plus fetch time over all executions; the ranking used by
+     * {@link StatementTracer#top}.
+     */
+    public double getTotalMillis() {
+        return getTotalExecuteMillis() + getTotalFetchMillis();
+    }
+
+    public long getRows() {
+        return rows.sum();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    public long getSlowExecutions() {
+        return slow.sum();
+    }
+}
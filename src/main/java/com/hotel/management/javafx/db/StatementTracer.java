@@ -0,0 +1,199 @@
+package com.hotel.management.javafx.db;
+
+import com.hotel.management.javafx.metrics.Metrics;
+import com.hotel.management.javafx.metrics.OperationTimer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Properties;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Per-statement statistics and the slow-query log for every statement run
+ * on a pooled connection.
+ *
+ * Statements are grouped by SQL shape (see {@link StatementStats}). One
+ * whose execute plus fetch time reaches db.trace.slowQueryMs is logged with
+ * the DAO operation it ran in and the types of its bound parameters; the
+ * values are not logged, since they include guest names and ID numbers.
+ * db.trace.slowQueryLog=false keeps counting slow statements without
+ * logging them. At most db.trace.maxStatements shapes are tracked, the rest
+ * are counted together. db.trace.enabled=false turns tracing off.
+ */
+public class StatementTracer implements StatementTracerMXBean {
+
+    private static final StatementTracer instance = new StatementTracer();
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bIN\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final String OTHER_STATEMENTS = "<other statements>";
+
+    private volatile boolean enabled = true;
+    private volatile long slowQueryNanos = TimeUnit.MILLISECONDS.toNanos(250);
+    private volatile boolean slowQueryLog = true;
+    private volatile int maxStatements = 500;
+
+    private final ConcurrentMap<String, String> shapes = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, StatementStats> statistics = new ConcurrentHashMap<>();
+    private final LongAdder slowQueries = new LongAdder();
+
+    static {
+        Metrics.publish(instance, "type=Statements");
+    }
+
+    private StatementTracer() {
+    }
+
+    public static StatementTracer getInstance() {
+        return instance;
+    }
+
+    /**
+     * Apply the db.trace.* settings from database.properties.
+     */
+    void configure(Properties settings) {
+        enabled = settings == null || Boolean.parseBoolean(settings.getProperty("db.trace.enabled", "true").trim());
+        slowQueryNanos = TimeUnit.MILLISECONDS.toNanos(ConnectionPool.longSetting(settings, "db.trace.slowQueryMs", 250));
+        slowQueryLog = settings == null || Boolean.parseBoolean(settings.getProperty("db.trace.slowQueryLog", "true").trim());
+        maxStatements = (int) ConnectionPool.longSetting(settings, "db.trace.maxStatements", 500);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * The shape of a statement: IN lists collapsed and whitespace normalized,
+     * and for plain (not prepared) statements literals replaced by ?. Shapes
+     * of prepared SQL, which the DAOs keep fixed, are cached.
+     */
+    String shapeOf(String sql, boolean prepared) {
+        String shape = prepared ? shapes.get(sql) : null;
+        if (shape != null) {
+            return shape;
+        }
+        shape = sql;
+        if (!prepared) {
+            shape = STRING_LITERAL.matcher(shape).replaceAll("?");
+            shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        }
+        shape = IN_LIST.matcher(shape).replaceAll("IN (?...)");
+        shape = WHITESPACE.matcher(shape).replaceAll(" ").trim();
+        if (prepared && shapes.size() < maxStatements * 4) {
+            shapes.put(sql, shape);
+        }
+        return shape;
+    }
+
+    /**
+     * Record one finished execution, and log it if it was slow.
+     */
+    void record(String shape, long executeNanos, long fetchNanos, long rows, boolean failed, String[] parameterTypes) {
+        boolean slow = executeNanos + fetchNanos >= slowQueryNanos;
+        statsFor(shape).record(executeNanos, fetchNanos, rows, failed, slow);
+        if (slow) {
+            slowQueries.increment();
+            if (!slowQueryLog) {
+                return;
+            }
+            String operation = OperationTimer.currentOperation();
+            System.err.printf("⚠ Slow query %.1fms (execute %.1fms, fetch %.1fms, %d rows%s)%s: %s%s%n",
+                    (executeNanos + fetchNanos) / 1e6, executeNanos / 1e6, fetchNanos / 1e6, rows,
+                    failed ? ", failed" : "", operation == null ? "" : " in " + operation, shape,
+                    describe(parameterTypes));
+        }
+    }
+
+    /**
+     * " [1:String, 2:Date]", or "" for a statement without parameters.
+     */
+    private static String describe(String[] parameterTypes) {
+        if (parameterTypes.length == 0) {
+            return "";
+        }
+        StringJoiner joined = new StringJoiner(", ", " [", "]");
+        for (int i = 0; i < parameterTypes.length; i++) {
+            joined.add((i + 1) + ":" + (parameterTypes[i] == null ? "?" : parameterTypes[i]));
+        }
+        return joined.toString();
+    }
+
+    private StatementStats statsFor(String shape) {
+        StatementStats stats = statistics.get(shape);
+        if (stats != null) {
+            return stats;
+        }
+        if (statistics.size() >= maxStatements) {
+            shape = OTHER_STATEMENTS;
+        }
+        return statistics.computeIfAbsent(shape, StatementStats::new);
+    }
+
+    /**
+     * The n statements with the most total (execute + fetch) time.
+     */
+    public List<StatementStats> top(int n) {
+        List<StatementStats> all = new ArrayList<>(statistics.values());
+        all.sort(Comparator.comparingDouble(StatementStats::getTotalMillis).reversed());
+        return all.subList(0, Math.min(n, all.size()));
+    }
+
+    @Override
+    public String dumpTop(int n) {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("%10s %8s %8s %8s %9s %9s %6s %5s  %s%n",
+                "total ms", "execs", "mean ms", "p99 ms", "fetch ms", "rows", "errors", "slow", "sql"));
+        for (StatementStats stats : top(n)) {
+            String sql = stats.getSql();
+            out.append(String.format("%10.1f %8d %8.2f %8.2f %9.1f %9d %6d %5d  %s%n",
+                    stats.getTotalMillis(), stats.getExecutions(), stats.getExecuteTime().getMeanNanos() / 1e6,
+                    stats.getExecuteTime().getPercentileNanos(0.99) / 1e6, stats.getTotalFetchMillis(),
+                    stats.getRows(), stats.getErrors(), stats.getSlowExecutions(),
+                    sql.length() > 120 ? sql.substring(0, 117) + "..." : sql));
+        }
+        return out.toString();
+    }
+
+    @Override
+    public int getStatementShapes() {
+        return statistics.size();
+    }
+
+    @Override
+    public long getSlowQueries() {
+        return slowQueries.sum();
+    }
+
+    @Override
+    public long getSlowQueryMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(slowQueryNanos);
+    }
+
+    @Override
+    public void setSlowQueryMillis(long millis) {
+        slowQueryNanos = TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    @Override
+    public boolean isSlowQueryLog() {
+        return slowQueryLog;
+    }
+
+    @Override
+    public void setSlowQueryLog(boolean log) {
+        slowQueryLog = log;
+    }
+
+    @Override
+    public void reset() {
+        statistics.clear();
+        slowQueries.reset();
+    }
+}
@@ -0,0 +1,30 @@
+package com.hotel.management.javafx.db;
+
+/**
+ * JMX view of the {@link StatementTracer}, registered as
+ * {@code com.hotel.management:type=Statements}.
+ */
+public interface StatementTracerMXBean {
+
+    int getStatementShapes();
+
+    long getSlowQueries();
+
+    long getSlowQueryMillis();
+
+    void setSlowQueryMillis(long millis);
+
+    /**
+     * Whether slow statements are logged to stderr; they are counted either way.
+     */
+    boolean isSlowQueryLog();
+
+    void setSlowQueryLog(boolean log);
+
+    /**
+     * The n statements with the most total time, as a text table.
+     */
+    String dumpTop(int n);
+
+    void reset();
+}
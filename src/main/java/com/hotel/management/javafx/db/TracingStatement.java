@@ -0,0 +1,322 @@
+package com.hotel.management.javafx.db;
+
+import com.hotel.management.javafx.metrics.OperationTimer;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * Wraps the statements of a pooled connection.
+ *
+ * Every execute call is reported to the operation running on the calling
+ * thread (see {@link OperationTimer}). With tracing on, it is also recorded
+ * in the {@link StatementTracer} under its SQL shape, together with the time
+ * spent reading its ResultSet and the number of rows. An execution is
+ * complete when its ResultSet or the statement is closed, or the statement
+ * is executed again.
+ *
+ * A statement that came from (or can go to) the connection's
+ * {@link StatementCache} is not closed but reset and put back in the cache,
+ * unless the borrower changed settings such as the fetch size or query
+ * timeout. Either way the wrapper itself is closed for good.
+ *
+ * A connection error (SQLState class 08) from the statement or its
+ * ResultSet is reported to the pool, which then does not reuse the
+ * connection.
+ */
+final class TracingStatement implements InvocationHandler {
+
+    private static final String[] NO_PARAMETERS = new String[0];
+
+    // Statement settings that would leak into the next borrower of a cached statement
+    private static final Set<String> SETTINGS = Set.of("setMaxRows", "setLargeMaxRows", "setMaxFieldSize",
+            "setQueryTimeout", "setFetchSize", "setFetchDirection", "setEscapeProcessing", "setPoolable",
+            "setCursorName", "closeOnCompletion");
+
+    private final Statement statement;
+    private final String preparedShape;   // null for a plain Statement
+    private final StatementTracer tracer;
+    private final String sql;
+    private final StatementCache cache;   // null if the statement is not cached
+    private final Runnable onConnectionError;
+    private Statement proxy;
+    private String[] parameterTypes = NO_PARAMETERS;
+    private Execution current;
+    private ResultSet lastResultSet;   // closed before the statement goes back to the cache
+    private boolean batched;
+    private boolean reusable = true;
+    private boolean closed;
+
+    private TracingStatement(Statement statement, String sql, StatementCache cache, Runnable onConnectionError,
+                             StatementTracer tracer) {
+        this.statement = statement;
+        this.sql = sql;
+        this.cache = cache;
+        this.onConnectionError = onConnectionError;
+        this.tracer = tracer;
+        this.preparedShape = sql == null || !tracer.isEnabled() ? null : tracer.shapeOf(sql, true);
+    }
+
+    /**
+     * Wrap a statement created by Connection.createStatement, prepareStatement
+     * or prepareCall; {@code sql} is the prepared SQL, or null. A statement
+     * with a cache goes back to it when closed. {@code onConnectionError}
+     * runs when a call fails with a connection error.
+     */
+    static Statement wrap(Statement statement, Class<?> type, String sql, StatementCache cache,
+                          Runnable onConnectionError) {
+        TracingStatement handler = new TracingStatement(statement, sql, cache, onConnectionError,
+                StatementTracer.getInstance());
+        handler.proxy = (Statement) Proxy.newProxyInstance(
+            TracingStatement.class.getClassLoader(),
+            new Class<?>[] { type },
+            handler
+        );
+        return handler.proxy;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        String name = method.getName();
+        if (closed) {
+            // The physical statement may belong to another borrower by now
+            switch (name) {
+                case "close":
+                    return null;
+                case "isClosed":
+                    return true;
+                default:
+                    throw new SQLException("Statement is closed");
+            }
+        }
+        if (name.startsWith("execute")) {
+            return execute(method, args);
+        }
+        switch (name) {
+            case "close":
+                close();
+                return null;
+            case "addBatch":
+                batched = true;
+                break;
+            case "clearParameters":
+                parameterTypes = NO_PARAMETERS;
+                break;
+            case "getResultSet":
+                // After execute(sql) returned true
+                Object resultSet = call(statement, method, args);
+                lastResultSet = (ResultSet) resultSet;
+                if (resultSet != null && current != null && !current.wrapped) {
+                    return current.wrap((ResultSet) resultSet);
+                }
+                return resultSet;
+            default:
+                if (SETTINGS.contains(name)) {
+                    reusable = false;
+                } else if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                    rememberParameterType(index, name, args[1]);
+                }
+                break;
+        }
+        return call(statement, method, args);
+    }
+
+    private Object execute(Method method, Object[] args) throws Throwable {
+        finish();
+        lastResultSet = null;   // the driver closes it on the next execute
+        boolean traced = tracer.isEnabled();
+        String shape = null;
+        if (traced) {
+            if (args != null && args.length > 0 && args[0] instanceof String sql) {
+                shape = tracer.shapeOf(sql, false);
+            } else {
+                shape = preparedShape != null ? preparedShape : "<statement batch>";
+            }
+        }
+
+        long started = System.nanoTime();
+        Object result;
+        try {
+            result = method.invoke(statement, args);
+        } catch (InvocationTargetException e) {
+            long elapsed = System.nanoTime() - started;
+            OperationTimer.recordDatabaseCall(elapsed, true);
+            if (traced) {
+                tracer.record(shape, elapsed, 0, 0, true, parameterTypes);
+            }
+            throw failed(e.getCause());
+        }
+        long elapsed = System.nanoTime() - started;
+        OperationTimer.recordDatabaseCall(elapsed, false);
+        if (result instanceof ResultSet resultSet) {
+            lastResultSet = resultSet;
+        }
+        if (!traced) {
+            return result;
+        }
+
+        if (result instanceof ResultSet resultSet) {
+            current = new Execution(shape, elapsed, parameterTypes.clone());
+            return current.wrap(resultSet);
+        }
+        if (Boolean.TRUE.equals(result)) {
+            // execute(sql) produced a ResultSet; it is read through getResultSet
+            current = new Execution(shape, elapsed, parameterTypes.clone());
+        } else {
+            tracer.record(shape, elapsed, 0, affectedRows(result), false, parameterTypes);
+        }
+        return result;
+    }
+
+    /**
+     * Rows affected by an update or batch; SUCCESS_NO_INFO counts as one row.
+     */
+    private long affectedRows(Object result) throws SQLException {
+        if (result instanceof Number count) {
+            return Math.max(0, count.longValue());
+        }
+        long rows = 0;
+        if (result instanceof int[] counts) {
+            for (int count : counts) {
+                rows += count == Statement.SUCCESS_NO_INFO ? 1 : Math.max(0, count);
+            }
+        } else if (result instanceof long[] counts) {
+            for (long count : counts) {
+                rows += count == Statement.SUCCESS_NO_INFO ? 1 : Math.max(0, count);
+            }
+        } else if (Boolean.FALSE.equals(result)) {
+            rows = Math.max(0, statement.getUpdateCount());
+        }
+        return rows;
+    }
+
+    private void rememberParameterType(int index, String setter, Object value) {
+        if (preparedShape == null || index < 1 || index > 1000) {
+            return;
+        }
+        if (index > parameterTypes.length) {
+            parameterTypes = Arrays.copyOf(parameterTypes, index);
+        }
+        String type = setter.substring(3);
+        if ("Object".equals(type) && value != null) {
+            type = value.getClass().getSimpleName();
+        }
+        parameterTypes[index - 1] = type;
+    }
+
+    private void finish() {
+        if (current != null) {
+            current.finish();
+            current = null;
+        }
+    }
+
+    /**
+     * Put a cacheable statement back in the cache, in the state a fresh one
+     * would be in, or close it.
+     */
+    private void close() throws SQLException {
+        closed = true;
+        finish();
+        if (cache != null && reusable) {
+            try {
+                if (lastResultSet != null) {
+                    lastResultSet.close();
+                }
+                PreparedStatement prepared = (PreparedStatement) statement;
+                prepared.clearParameters();
+                if (batched) {
+                    prepared.clearBatch();
+                }
+                prepared.clearWarnings();
+                cache.put(sql, prepared);
+                return;
+            } catch (SQLException e) {
+                // Not reusable after all
+            }
+        }
+        statement.close();
+    }
+
+    /**
+     * One execution whose ResultSet is being read.
+     */
+    private final class Execution implements InvocationHandler {
+        private final String shape;
+        private final long executeNanos;
+        private final String[] parameterTypes;
+        private ResultSet resultSet;
+        private long fetchNanos;
+        private long rows;
+        private boolean wrapped;
+        private boolean finished;
+
+        private Execution(String shape, long executeNanos, String[] parameterTypes) {
+            this.shape = shape;
+            this.executeNanos = executeNanos;
+            this.parameterTypes = parameterTypes;
+        }
+
+        private ResultSet wrap(ResultSet resultSet) {
+            this.resultSet = resultSet;
+            wrapped = true;
+            return (ResultSet) Proxy.newProxyInstance(
+                TracingStatement.class.getClassLoader(),
+                new Class<?>[] { ResultSet.class },
+                this
+            );
+        }
+
+        private void finish() {
+            if (!finished) {
+                finished = true;
+                tracer.record(shape, executeNanos, fetchNanos, rows, false, parameterTypes);
+            }
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "next": {
+                    long started = System.nanoTime();
+                    Object hasRow = call(resultSet, method, args);
+                    fetchNanos += System.nanoTime() - started;
+                    if (Boolean.TRUE.equals(hasRow)) {
+                        rows++;
+                    }
+                    return hasRow;
+                }
+                case "close":
+                    finish();
+                    break;
+                case "getStatement":
+                    return TracingStatement.this.proxy;
+                default:
+                    break;
+            }
+            return call(resultSet, method, args);
+        }
+    }
+
+    private Object call(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw failed(e.getCause());
+        }
+    }
+
+    private Throwable failed(Throwable cause) {
+        if (cause instanceof SQLException sqlException && ConnectionPool.isConnectionError(sqlException)) {
+            onConnectionError.run();
+        }
+        return cause;
+    }
+}
@@ -1,18 +1,27 @@
 package com.hotel.management.javafx.db;
 
+import com.hotel.management.javafx.metrics.Metrics;
+import com.hotel.management.javafx.metrics.OperationTimer;
 import com.hotel.management.javafx.model.User;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
 
 public class UserDAO {
 
+    private static final OperationTimer FIND_BY_CREDENTIALS = Metrics.timer("UserDAO.findByCredentials");
+
     /**
      * Returns a User if username/password are valid, otherwise null.
      */
     public User findByCredentials(String username, String password) {
+        return FIND_BY_CREDENTIALS.time(() -> queryByCredentials(username, password), user -> user == null ? 0 : 1);
+    }
+
+    private User queryByCredentials(String username, String password) {
         String sql = "SELECT user_id, username, role FROM users WHERE username = ? AND password = ?";
 
         Connection conn = DatabaseConnection.getConnection();
@@ -20,20 +29,28 @@ public class UserDAO {
             return null;
         }
 
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (conn; PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setString(1, username);
             stmt.setString(2, password);
 
-            ResultSet rs = stmt.executeQuery();
-            if (rs.next()) {
-                int id = rs.getInt("user_id");
-                String uname = rs.getString("username");
-                String role = rs.getString("role");
-                return new User(id, uname, role);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    int id = rs.getInt("user_id");
+                    String uname = rs.getString("username");
+                    String role = rs.getString("role");
+                    return new User(id, uname, role);
+                }
             }
         } catch (SQLException e) {
             e.printStackTrace();
         }
         return null;
     }
-}
\ No newline at end of file
+
+    /**
+     * Same as {@link #findByCredentials} but runs on DbExecutor.
+     */
+    public CompletableFuture<User> findByCredentialsAsync(String username, String password) {
+        return DbExecutor.supply(() -> findByCredentials(username, password));
+    }
+}
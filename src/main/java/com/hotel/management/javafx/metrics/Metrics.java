@@ -0,0 +1,84 @@
+package com.hotel.management.javafx.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Registry of the application's operation timers.
+ *
+ * Every timer is also published as a platform MXBean under
+ * {@code com.hotel.management:type=Operation}, so JConsole or VisualVM can
+ * read it from a running front desk. -Dhotel.metrics.enabled=false turns
+ * timing off; -Dhotel.metrics.jmx=false keeps the timers but skips JMX.
+ */
+public final class Metrics {
+
+    public static final String JMX_DOMAIN = "com.hotel.management";
+
+    private static final boolean ENABLED =
+            Boolean.parseBoolean(System.getProperty("hotel.metrics.enabled", "true"));
+    private static final boolean JMX =
+            Boolean.parseBoolean(System.getProperty("hotel.metrics.jmx", "true"));
+
+    private static final ConcurrentMap<String, OperationTimer> timers = new ConcurrentHashMap<>();
+
+    private Metrics() {
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * The timer for an operation, created (and published over JMX) on first use.
+     */
+    public static OperationTimer timer(String name) {
+        OperationTimer timer = timers.get(name);
+        return timer != null ? timer : timers.computeIfAbsent(name, Metrics::create);
+    }
+
+    /**
+     * All timers, sorted by name.
+     */
+    public static List<OperationTimer> all() {
+        List<OperationTimer> all = new ArrayList<>(timers.values());
+        all.sort(Comparator.comparing(OperationTimer::getName));
+        return all;
+    }
+
+    public static void resetAll() {
+        timers.values().forEach(OperationTimer::reset);
+    }
+
+    /**
+     * Register an MXBean as {@code com.hotel.management:<properties>}, e.g.
+     * "type=Statements", unless JMX publishing is turned off.
+     */
+    public static void publish(Object mbean, String properties) {
+        if (!ENABLED || !JMX) {
+            return;
+        }
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName(JMX_DOMAIN + ":" + properties);
+            if (!server.isRegistered(objectName)) {
+                server.registerMBean(mbean, objectName);
+            }
+        } catch (JMException e) {
+            System.err.println("⚠ Could not publish " + properties + " over JMX: " + e.getMessage());
+        }
+    }
+
+    private static OperationTimer create(String name) {
+        OperationTimer timer = new OperationTimer(name);
+        publish(timer, "type=Operation,name=" + ObjectName.quote(name));
+        return timer;
+    }
+}
@@ -0,0 +1,221 @@
+package com.hotel.management.javafx.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Latency, error and row counters for one named operation, e.g.
+ * "ReservationDAO.bookReservation" or "ui.load.dashboard".
+ *
+ * While an operation runs, the JDBC statements it executes on the same
+ * thread report their time through {@link #recordDatabaseCall}, so the
+ * database share of the latency is known and the rest is row mapping and
+ * Java code. A SQLException seen by the statement layer marks the running
+ * operation as failed even when the DAO swallows it and returns an empty
+ * result, or retries and then succeeds. Get instances from {@link Metrics#timer}.
+ */
+public class OperationTimer implements OperationTimerMXBean {
+
+    private static final ThreadLocal<Sample> CURRENT = new ThreadLocal<>();
+
+    private final String name;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder databaseNanos = new LongAdder();
+    private final LongAdder databaseCalls = new LongAdder();
+
+    /**
+     * The operation running on this thread. Nested operations (a DAO method
+     * calling another) report to their caller when they finish.
+     */
+    private static final class Sample {
+        final OperationTimer timer;
+        final Sample caller;
+        long databaseNanos;
+        int databaseCalls;
+        boolean failed;
+
+        Sample(OperationTimer timer, Sample caller) {
+            this.timer = timer;
+            this.caller = caller;
+        }
+    }
+
+    OperationTimer(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Run {@code body} as one sample of this operation. {@code rowCount}
+     * tells how many rows the result stands for (null if none).
+     */
+    public <T> T time(Supplier<T> body, ToIntFunction<? super T> rowCount) {
+        if (!Metrics.isEnabled()) {
+            return body.get();
+        }
+        Sample sample = new Sample(this, CURRENT.get());
+        CURRENT.set(sample);
+        long started = System.nanoTime();
+        T result = null;
+        try {
+            result = body.get();
+            return result;
+        } catch (RuntimeException | Error e) {
+            sample.failed = true;
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - started;
+            if (sample.caller == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(sample.caller);
+                sample.caller.databaseNanos += sample.databaseNanos;
+                sample.caller.databaseCalls += sample.databaseCalls;
+                sample.caller.failed |= sample.failed;
+            }
+            latency.record(elapsed);
+            databaseNanos.add(sample.databaseNanos);
+            databaseCalls.add(sample.databaseCalls);
+            if (sample.failed) {
+                errors.increment();
+            } else if (result != null && rowCount != null) {
+                rows.add(rowCount.applyAsInt(result));
+            }
+        }
+    }
+
+    /**
+     * Record one sample measured by the caller, e.g. around code that throws
+     * checked exceptions.
+     */
+    public void record(long nanos, boolean failed) {
+        if (!Metrics.isEnabled()) {
+            return;
+        }
+        latency.record(nanos);
+        if (failed) {
+            errors.increment();
+        }
+    }
+
+    /**
+     * Attribute a JDBC call to the operation running on this thread, if any.
+     */
+    public static void recordDatabaseCall(long nanos, boolean failed) {
+        Sample sample = CURRENT.get();
+        if (sample != null) {
+            sample.databaseNanos += nanos;
+            sample.databaseCalls++;
+            sample.failed |= failed;
+        }
+    }
+
+    /**
+     * Mark the operation running on this thread as failed, e.g. when no
+     * database connection could be borrowed.
+     */
+    public static void markFailed() {
+        Sample sample = CURRENT.get();
+        if (sample != null) {
+            sample.failed = true;
+        }
+    }
+
+    /**
+     * Name of the operation running on this thread, or null.
+     */
+    public static String currentOperation() {
+        Sample sample = CURRENT.get();
+        return sample == null ? null : sample.timer.name;
+    }
+
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    @Override
+    public long getCount() {
+        return latency.getCount();
+    }
+
+    @Override
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    @Override
+    public long getRows() {
+        return rows.sum();
+    }
+
+    @Override
+    public long getDatabaseCalls() {
+        return databaseCalls.sum();
+    }
+
+    @Override
+    public double getMeanMillis() {
+        return latency.getMeanNanos() / 1e6;
+    }
+
+    @Override
+    public double getP50Millis() {
+        return millis(latency.getPercentileNanos(0.50));
+    }
+
+    @Override
+    public double getP99Millis() {
+        return millis(latency.getPercentileNanos(0.99));
+    }
+
+    @Override
+    public double getP999Millis() {
+        return millis(latency.getPercentileNanos(0.999));
+    }
+
+    @Override
+    public double getMaxMillis() {
+        return millis(latency.getMaxNanos());
+    }
+
+    @Override
+    public double getMeanDatabaseMillis() {
+        long count = latency.getCount();
+        return count == 0 ? 0 : databaseNanos.sum() / 1e6 / count;
+    }
+
+    /**
+     * Fraction of the total time spent inside JDBC calls, 0 to 1.
+     */
+    @Override
+    public double getDatabaseShare() {
+        double total = latency.getMeanNanos() * latency.getCount();
+        return total == 0 ? 0 : Math.min(1, databaseNanos.sum() / total);
+    }
+
+    @Override
+    public void reset() {
+        latency.reset();
+        errors.reset();
+        rows.reset();
+        databaseNanos.reset();
+        databaseCalls.reset();
+    }
+
+    @Override
+    public String toString() {
+        return name + " " + latency + String.format(" errors=%d rows=%d db=%.0f%%",
+                getErrors(), getRows(), getDatabaseShare() * 100);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,32 @@
+package com.hotel.management.javafx.metrics;
+
+/**
+ * JMX view of an {@link OperationTimer}, registered as
+ * {@code com.hotel.management:type=Operation,name=<operation>}.
+ */
+public interface OperationTimerMXBean {
+
+    long getCount();
+
+    long getErrors();
+
+    long getRows();
+
+    long getDatabaseCalls();
+
+    double getMeanMillis();
+
+    double getP50Millis();
+
+    double getP99Millis();
+
+    double getP999Millis();
+
+    double getMaxMillis();
+
+    double getMeanDatabaseMillis();
+
+    double getDatabaseShare();
+
+    void reset();
+}
@@ -1,4 +1,5 @@
 package com.hotel.management.javafx.model;
+import com.hotel.management.javafx.pricing.PricingEngine;
 import java.time.LocalDate;
 
 
@@ -20,7 +21,10 @@ public class Reservation {
         setRoom(room);
         setCheckInDate(checkInDate);
         setCheckOutDate(checkOutDate);
-         room.setStatus("Reserved");
+        // Only a stay starting today holds the room right now
+        if (checkInDate.isEqual(LocalDate.now())) {
+            room.setStatus(RoomStatus.RESERVED);
+        }
          this.isPaid = false;
         calculateTotalPrice();
     }
@@ -33,7 +37,7 @@ public Reservation(String reservationId, Guest guest, Room room, LocalDate check
     this.room = room;
     this.checkInDate = checkInDate;  // Skip validation
     this.checkOutDate = checkOutDate;
-    room.setStatus("Reserved");
+    // Loaded rows keep the room's status as stored in the database
     this.isPaid = false;
     calculateTotalPrice();
 }
@@ -65,7 +69,8 @@ public Reservation(String reservationId, Guest guest, Room room, LocalDate check
         if (room == null)
             throw new IllegalArgumentException("Room cannot be null");
 
-        if (!room.isAvailable())
+        // Date availability is checked against the availability index
+        if (!room.isBookable())
             throw new IllegalStateException("Room is not available");
         this.room = room;
     }
@@ -104,8 +109,7 @@ public Reservation(String reservationId, Guest guest, Room room, LocalDate check
     }
 
     private void calculateTotalPrice() {
-        int nights = (int) java.time.temporal.ChronoUnit.DAYS.between(checkInDate, checkOutDate);
-        this.totalPrice = room.calculateTotalPrice(nights);
+        this.totalPrice = PricingEngine.get().quote(room, checkInDate, checkOutDate);
     }
      public void processPayment() {
         if (isPaid) {
@@ -119,10 +123,10 @@ public Reservation(String reservationId, Guest guest, Room room, LocalDate check
             throw new IllegalStateException("Cannot check in, payment not received");
         }
        
-        room.setStatus("Occupied");
+        room.setStatus(RoomStatus.OCCUPIED);
     }
       public void checkOut() {
-        room.setStatus("Cleaning");
+        room.setStatus(RoomStatus.CLEANING);
     }
       
     @Override
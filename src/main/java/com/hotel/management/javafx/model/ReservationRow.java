@@ -0,0 +1,32 @@
+package com.hotel.management.javafx.model;
+
+import java.time.LocalDate;
+
+/**
+ * A listed reservation as the reservations screen shows it: what the list
+ * loaders return instead of a full {@link Reservation}.
+ *
+ * Immutable and limited to the displayed columns, so a loaded row costs one
+ * small object plus its strings; the guest's SSN and email are not loaded,
+ * and the total is the one stored when the reservation was booked or
+ * extended. Rows of the same room share one {@link RoomSummary}.
+ */
+public record ReservationRow(
+        String reservationId,
+        String guestName,
+        String guestPhone,
+        LocalDate checkInDate,
+        LocalDate checkOutDate,
+        double totalPrice,
+        RoomSummary room) {
+
+    /**
+     * The room columns of a row, as they were when it was loaded.
+     */
+    public record RoomSummary(String roomNumber, RoomType type, RoomStatus status, double price, boolean extraBed) {
+    }
+
+    public String roomNumber() {
+        return room.roomNumber();
+    }
+}
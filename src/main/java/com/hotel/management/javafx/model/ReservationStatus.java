@@ -0,0 +1,63 @@
+package com.hotel.management.javafx.model;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Status of a reservation. Cancelled reservations are kept for the statistics.
+ *
+ * The code is what the database stores (a TINYINT); the label is what the
+ * UI shows. Both lookups are a single array or map access.
+ */
+public enum ReservationStatus {
+    RESERVED(1, "Reserved"),
+    CANCELLED(2, "Cancelled");
+
+    private static final ReservationStatus[] BY_CODE = new ReservationStatus[values().length + 1];
+    private static final Map<String, ReservationStatus> BY_LABEL = new HashMap<>();
+    private static final Map<String, ReservationStatus> BY_LOWER_CASE_LABEL = new HashMap<>();
+
+    static {
+        for (ReservationStatus value : values()) {
+            BY_CODE[value.code] = value;
+            BY_LABEL.put(value.label, value);
+            BY_LOWER_CASE_LABEL.put(value.label.toLowerCase(Locale.ROOT), value);
+        }
+    }
+
+    private final int code;
+    private final String label;
+
+    ReservationStatus(int code, String label) {
+        this.code = code;
+        this.label = label;
+    }
+
+    public int code() {
+        return code;
+    }
+
+    public String label() {
+        return label;
+    }
+
+    public static ReservationStatus fromCode(int code) {
+        if (code <= 0 || code >= BY_CODE.length) {
+            throw new IllegalArgumentException("Unknown reservation status code: " + code);
+        }
+        return BY_CODE[code];
+    }
+
+    /**
+     * Case-insensitive lookup by label, or null if there is no such reservation status.
+     * The exact label, as stored and shown, is found without lower-casing.
+     */
+    public static ReservationStatus fromLabel(String label) {
+        if (label == null) {
+            return null;
+        }
+        ReservationStatus value = BY_LABEL.get(label);
+        return value != null ? value : BY_LOWER_CASE_LABEL.get(label.toLowerCase(Locale.ROOT));
+    }
+}
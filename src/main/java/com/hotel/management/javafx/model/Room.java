@@ -1,71 +1,91 @@
 package com.hotel.management.javafx.model;
 
 import java.util.List;
-import java.util.ArrayList;
 import java.util.Arrays;
 
+/**
+ * A room. Type and status are kept as enums; the String getters and setters
+ * return and accept their labels. Unless setFeatures is called, a room
+ * shares its type's immutable feature list.
+ */
 public class Room {
     
     public static final List<String> VALID_STATUSES = Arrays.asList("Available", "Occupied", "Cleaning", "Maintenance", "Reserved");
     public static final List<String> VALID_ROOM_TYPES = Arrays.asList("Single", "Double", "Triple", "Suite");
     
-    private static final double EXTRA_BED_MULTIPLIER = 1.1;
+    public static final double EXTRA_BED_MULTIPLIER = 1.1;
     
     private String roomNumber;
     private int capacity;
-    private String roomType;
-    private List<String> features;
-    private String status;
+    private RoomType roomType;
+    private List<String> features;   // null: the room type's standard features
+    private RoomStatus status;
     private double price;
     private int floor;
     private boolean extraBed;
   
     public Room(String roomNumber, int capacity, String roomType, double price, int floor, boolean extraBed) {
-        // Initialize features list FIRST before anything else
-        this.features = new ArrayList<>();
-        
+        this(roomNumber, capacity, parseRoomType(roomType), price, floor, extraBed);
+    }
+    
+    public Room(String roomNumber, int capacity, RoomType roomType, double price, int floor, boolean extraBed) {
         validateRoomNumber(roomNumber);
         this.roomNumber = roomNumber;
         setCapacity(capacity);
-        setRoomType(roomType);  // This will call assignFeatures()
-        this.status = VALID_STATUSES.get(0); 
+        setType(roomType);
+        this.status = RoomStatus.AVAILABLE;
         setPrice(price);
         setFloor(floor);
         this.extraBed = extraBed;
     }
     
+    /**
+     * Copy constructor. The source was validated when it was built, so the
+     * fields are copied as they are.
+     */
+    public Room(Room other) {
+        this.roomNumber = other.roomNumber;
+        this.capacity = other.capacity;
+        this.roomType = other.roomType;
+        this.features = other.features;
+        this.status = other.status;
+        this.price = other.price;
+        this.floor = other.floor;
+        this.extraBed = other.extraBed;
+    }
+    
     private void validateRoomNumber(String roomNumber) {
         if (roomNumber == null || roomNumber.trim().isEmpty()) {
             throw new IllegalArgumentException("Room number cannot be null or empty");
         }
     }
     
-    private void validateRoomType(String roomType) {
+    private static RoomType parseRoomType(String roomType) {
         if (roomType == null || roomType.trim().isEmpty()) {
             throw new IllegalArgumentException("Room type cannot be null or empty");
         }
         
-        boolean isValid = VALID_ROOM_TYPES.stream().anyMatch(type -> type.equalsIgnoreCase(roomType));
-        
-        if (!isValid) {
+        RoomType parsed = RoomType.fromLabel(roomType);
+        if (parsed == null) {
             throw new IllegalArgumentException(
                 "Invalid room type: '" + roomType + "'. Must be one of: " + String.join(", ", VALID_ROOM_TYPES)
             );
         }
+        return parsed;
     }
     
-    private void validateStatus(String status) {
+    private static RoomStatus parseStatus(String status) {
         if (status == null || status.trim().isEmpty()) {
             throw new IllegalArgumentException("Status cannot be null or empty");
         }
         
-        boolean isValid = VALID_STATUSES.stream().anyMatch(s -> s.equalsIgnoreCase(status));
-        
-        if (!isValid) {
+        RoomStatus parsed = RoomStatus.fromLabel(status);
+        if (parsed == null) {
             throw new IllegalArgumentException(
                 "Invalid status: '" + status + "'. Must be one of: " + String.join(", ", VALID_STATUSES)
             );
         }
+        return parsed;
     }
     
     public boolean isExtraBed() {
@@ -97,37 +117,58 @@ public class Room {
     }
     
     public String getRoomType() {
-        return roomType;
+        return roomType.label();
     }
     
     public void setRoomType(String roomType) {
-        validateRoomType(roomType);
-        
-        this.roomType = roomType.substring(0, 1).toUpperCase() + roomType.substring(1).toLowerCase();
-        assignFeatures();
+        setType(parseRoomType(roomType));
     }
     
-    public List<String> getFeatures() {
-        if (features == null) {
-            return new ArrayList<>();
+    public RoomType getType() {
+        return roomType;
+    }
+    
+    /**
+     * Change the room type; the room gets that type's standard features.
+     */
+    public void setType(RoomType roomType) {
+        if (roomType == null) {
+            throw new IllegalArgumentException("Room type cannot be null or empty");
         }
-        return new ArrayList<>(features);
+        this.roomType = roomType;
+        this.features = null;
     }
     
+    /**
+     * The room's features (immutable).
+     */
+    public List<String> getFeatures() {
+        return features != null ? features : roomType.features();
+    }
+    
+    /**
+     * Give the room its own features; null restores the standard ones.
+     */
     public void setFeatures(List<String> features) {
-        if (features == null) {
-            this.features = new ArrayList<>();
-        } else {
-            this.features = new ArrayList<>(features);
-        }
+        this.features = features == null ? null : List.copyOf(features);
     }
     
     public String getStatus() {
-        return status;
+        return status.label();
     }
     
     public void setStatus(String status) {
-        validateStatus(status);
+        this.status = parseStatus(status);
+    }
+    
+    public RoomStatus getRoomStatus() {
+        return status;
+    }
+    
+    public void setStatus(RoomStatus status) {
+        if (status == null) {
+            throw new IllegalArgumentException("Status cannot be null or empty");
+        }
         this.status = status;
     }
     
@@ -153,6 +194,10 @@ public class Room {
         this.floor = floor;
     }
     
+    /**
+     * Price of a stay at the base price. Quotes for actual dates, with the
+     * seasonal and weekend rates, come from PricingEngine.
+     */
     public double calculateTotalPrice(int nights) {
         if (nights < 0) {
             throw new IllegalArgumentException("Number of nights cannot be negative");
@@ -165,41 +210,19 @@ public class Room {
     }
     
     public boolean isAvailable() {
-        return VALID_STATUSES.get(0).equalsIgnoreCase(status);
+        return status == RoomStatus.AVAILABLE;
     }
     
-    public void makeAvailable() {
-        this.status = "Available";
+    /**
+     * Whether the room can take new bookings at all. Whether it is free for
+     * particular dates is answered by the availability index, not the status.
+     */
+    public boolean isBookable() {
+        return status != RoomStatus.MAINTENANCE;
     }
     
-    private void assignFeatures() {
-        // Make absolutely sure features list exists
-        if (this.features == null) {
-            this.features = new ArrayList<>();
-        }
-        
-        features.clear();
-        features.add("TV");
-        features.add("Kettle");
-        
-        if (VALID_ROOM_TYPES.get(1).equalsIgnoreCase(roomType)) {  // Double
-            features.add("Mini Fridge");
-            features.add("Balcony View");
-        }
-        
-        if (VALID_ROOM_TYPES.get(2).equalsIgnoreCase(roomType)) {  // Triple
-            features.add("Fridge");
-            features.add("Balcony View");
-            features.add("Two Bathrooms");
-        }
-        
-        if (VALID_ROOM_TYPES.get(3).equalsIgnoreCase(roomType)) {  // Suite
-            features.add("Smart TV");
-            features.add("Mini Fridge");
-            features.add("Coffee Machine");
-            features.add("Sea View");
-            features.add("VIP Bathroom");
-        }
+    public void makeAvailable() {
+        this.status = RoomStatus.AVAILABLE;
     }
     
     @Override
@@ -207,8 +230,8 @@ public class Room {
         return "Room{" +
                "roomNumber='" + roomNumber + '\'' +
                ", capacity=" + capacity +
-               ", roomType='" + roomType + '\'' +
-               ", status='" + status + '\'' +
+               ", roomType='" + roomType.label() + '\'' +
+               ", status='" + status.label() + '\'' +
                ", price=" + price +
                ", floor=" + floor +
                ", extraBed=" + extraBed +
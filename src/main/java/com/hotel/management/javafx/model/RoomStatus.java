@@ -0,0 +1,66 @@
+package com.hotel.management.javafx.model;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Status of a room.
+ *
+ * The code is what the database stores (a TINYINT); the label is what the
+ * UI shows. Both lookups are a single array or map access.
+ */
+public enum RoomStatus {
+    AVAILABLE(1, "Available"),
+    OCCUPIED(2, "Occupied"),
+    CLEANING(3, "Cleaning"),
+    MAINTENANCE(4, "Maintenance"),
+    RESERVED(5, "Reserved");
+
+    private static final RoomStatus[] BY_CODE = new RoomStatus[values().length + 1];
+    private static final Map<String, RoomStatus> BY_LABEL = new HashMap<>();
+    private static final Map<String, RoomStatus> BY_LOWER_CASE_LABEL = new HashMap<>();
+
+    static {
+        for (RoomStatus value : values()) {
+            BY_CODE[value.code] = value;
+            BY_LABEL.put(value.label, value);
+            BY_LOWER_CASE_LABEL.put(value.label.toLowerCase(Locale.ROOT), value);
+        }
+    }
+
+    private final int code;
+    private final String label;
+
+    RoomStatus(int code, String label) {
+        this.code = code;
+        this.label = label;
+    }
+
+    public int code() {
+        return code;
+    }
+
+    public String label() {
+        return label;
+    }
+
+    public static RoomStatus fromCode(int code) {
+        if (code <= 0 || code >= BY_CODE.length) {
+            throw new IllegalArgumentException("Unknown room status code: " + code);
+        }
+        return BY_CODE[code];
+    }
+
+    /**
+     * Case-insensitive lookup by label, or null if there is no such room status.
+     * The exact label, as stored and shown, is found without lower-casing.
+     */
+    public static RoomStatus fromLabel(String label) {
+        if (label == null) {
+            return null;
+        }
+        RoomStatus value = BY_LABEL.get(label);
+        return value != null ? value : BY_LOWER_CASE_LABEL.get(label.toLowerCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,76 @@
+package com.hotel.management.javafx.model;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Type of a room.
+ *
+ * The code is what the database stores (a TINYINT); the label is what the
+ * UI shows. Both lookups are a single array or map access. Every room of a
+ * type shares the type's immutable feature list.
+ */
+public enum RoomType {
+    SINGLE(1, "Single", List.of("TV", "Kettle")),
+    DOUBLE(2, "Double", List.of("TV", "Kettle", "Mini Fridge", "Balcony View")),
+    TRIPLE(3, "Triple", List.of("TV", "Kettle", "Fridge", "Balcony View", "Two Bathrooms")),
+    SUITE(4, "Suite", List.of("TV", "Kettle", "Smart TV", "Mini Fridge", "Coffee Machine", "Sea View", "VIP Bathroom"));
+
+    private static final RoomType[] BY_CODE = new RoomType[values().length + 1];
+    private static final Map<String, RoomType> BY_LABEL = new HashMap<>();
+    private static final Map<String, RoomType> BY_LOWER_CASE_LABEL = new HashMap<>();
+
+    static {
+        for (RoomType value : values()) {
+            BY_CODE[value.code] = value;
+            BY_LABEL.put(value.label, value);
+            BY_LOWER_CASE_LABEL.put(value.label.toLowerCase(Locale.ROOT), value);
+        }
+    }
+
+    private final int code;
+    private final String label;
+    private final List<String> features;
+
+    RoomType(int code, String label, List<String> features) {
+        this.code = code;
+        this.label = label;
+        this.features = features;
+    }
+
+    public int code() {
+        return code;
+    }
+
+    public String label() {
+        return label;
+    }
+
+    /**
+     * Standard features of this room type (immutable).
+     */
+    public List<String> features() {
+        return features;
+    }
+
+    public static RoomType fromCode(int code) {
+        if (code <= 0 || code >= BY_CODE.length) {
+            throw new IllegalArgumentException("Unknown room type code: " + code);
+        }
+        return BY_CODE[code];
+    }
+
+    /**
+     * Case-insensitive lookup by label, or null if there is no such room type.
+     * The exact label, as stored and shown, is found without lower-casing.
+     */
+    public static RoomType fromLabel(String label) {
+        if (label == null) {
+            return null;
+        }
+        RoomType value = BY_LABEL.get(label);
+        return value != null ? value : BY_LOWER_CASE_LABEL.get(label.toLowerCase(Locale.ROOT));
+    }
+}
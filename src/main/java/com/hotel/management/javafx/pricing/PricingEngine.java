@@ -0,0 +1,103 @@
+package com.hotel.management.javafx.pricing;
+
+import com.hotel.management.javafx.App;
+import com.hotel.management.javafx.model.ReservationRow;
+import com.hotel.management.javafx.model.Room;
+import com.hotel.management.javafx.model.RoomType;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Quotes stays: the room's base price times the sum of the nightly rate
+ * factors of the room type (see {@link RateRules}), times the extra-bed
+ * surcharge. The booking dialogs, extensions, group bookings and batch
+ * repricing all go through here, so they agree to the cent.
+ *
+ * Each room type has a {@link RateCalendar} of running totals from two
+ * years back to four years ahead, so a quote costs the same for one night
+ * or a month. The shared engine reads pricing.properties (next to
+ * database.properties) once; without it every night is at the base price.
+ */
+public final class PricingEngine {
+
+    private static final int YEARS_BACK = 2;
+    private static final int YEARS_AHEAD = 4;
+
+    private static volatile PricingEngine shared;
+
+    private final RateRules rules;
+    private final Map<RoomType, RateCalendar> calendars = new EnumMap<>(RoomType.class);
+
+    public PricingEngine(RateRules rules, LocalDate from, LocalDate to) {
+        this.rules = rules;
+        for (RoomType type : RoomType.values()) {
+            calendars.put(type, new RateCalendar(type, rules, from, to));
+        }
+    }
+
+    /**
+     * The engine everything prices with, created on first use.
+     */
+    public static PricingEngine get() {
+        PricingEngine current = shared;
+        if (current != null) {
+            return current;
+        }
+        synchronized (PricingEngine.class) {
+            if (shared == null) {
+                LocalDate thisYear = LocalDate.now().withDayOfYear(1);
+                shared = new PricingEngine(loadRules(), thisYear.minusYears(YEARS_BACK), thisYear.plusYears(YEARS_AHEAD));
+            }
+            return shared;
+        }
+    }
+
+    public RateRules rules() {
+        return rules;
+    }
+
+    /**
+     * Total price of the nights [checkIn, checkOut), rounded to the cent.
+     */
+    public double quote(RoomType type, double basePrice, boolean extraBed, LocalDate checkIn, LocalDate checkOut) {
+        long fromDay = checkIn.toEpochDay();
+        long toDay = checkOut.toEpochDay();
+        if (toDay < fromDay) {
+            throw new IllegalArgumentException("Number of nights cannot be negative");
+        }
+        double total = basePrice * calendars.get(type).sum(fromDay, toDay);
+        if (extraBed) {
+            total *= Room.EXTRA_BED_MULTIPLIER;
+        }
+        return Math.round(total * 100) / 100.0;
+    }
+
+    public double quote(Room room, LocalDate checkIn, LocalDate checkOut) {
+        return quote(room.getType(), room.getPrice(), room.isExtraBed(), checkIn, checkOut);
+    }
+
+    public double quote(ReservationRow.RoomSummary room, LocalDate checkIn, LocalDate checkOut) {
+        return quote(room.type(), room.price(), room.extraBed(), checkIn, checkOut);
+    }
+
+    private static RateRules loadRules() {
+        Properties props = new Properties();
+        try (InputStream in = App.class.getResourceAsStream("pricing.properties")) {
+            if (in == null) {
+                System.out.println("✓ Pricing: base prices (no pricing.properties)");
+                return RateRules.NONE;
+            }
+            props.load(in);
+            RateRules rules = RateRules.parse(props);
+            System.out.println("✓ Pricing: " + rules.size() + " rate rules");
+            return rules;
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("⚠ Could not read pricing.properties, using base prices: " + e.getMessage());
+            return RateRules.NONE;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.hotel.management.javafx.pricing;
+
+import com.hotel.management.javafx.model.RoomType;
+import java.time.LocalDate;
+
+/**
+ * The nightly rate factors of one room type over a window of dates, stored as
+ * running totals: prefix[i] is the sum of the factors of the first i nights
+ * of the window. The factors of any stay inside the window add up to one
+ * subtraction; nights outside it are asked of the rules one by one.
+ */
+final class RateCalendar {
+
+    private final RoomType type;
+    private final RateRules rules;
+    private final int firstDay;
+    private final double[] prefix;
+
+    RateCalendar(RoomType type, RateRules rules, LocalDate from, LocalDate to) {
+        this.type = type;
+        this.rules = rules;
+        this.firstDay = (int) from.toEpochDay();
+        int days = (int) (to.toEpochDay() - firstDay);
+        this.prefix = new double[days + 1];
+        LocalDate night = from;
+        for (int i = 0; i < days; i++, night = night.plusDays(1)) {
+            prefix[i + 1] = prefix[i] + rules.factor(type, night);
+        }
+    }
+
+    /**
+     * Sum of the factors of the nights [fromDay, toDay), as epoch days.
+     */
+    double sum(long fromDay, long toDay) {
+        long lastDay = firstDay + prefix.length - 1L;
+        long start = Math.max(fromDay, firstDay);
+        long end = Math.min(toDay, lastDay);
+        double sum = start < end ? prefix[(int) (end - firstDay)] - prefix[(int) (start - firstDay)] : 0;
+        if (fromDay < firstDay) {
+            sum += byRule(fromDay, Math.min(toDay, firstDay));
+        }
+        if (toDay > lastDay) {
+            sum += byRule(Math.max(fromDay, lastDay), toDay);
+        }
+        return sum;
+    }
+
+    private double byRule(long fromDay, long toDay) {
+        double sum = 0;
+        for (long day = fromDay; day < toDay; day++) {
+            sum += rules.factor(type, LocalDate.ofEpochDay(day));
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,199 @@
+package com.hotel.management.javafx.pricing;
+
+import com.hotel.management.javafx.model.RoomType;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Nightly rate factors, applied to a room's base price, read from
+ * pricing.properties:
+ *
+ * <pre>
+ * # Nights starting on these days (any room type unless .types is set)
+ * pricing.weekend.days=FRIDAY,SATURDAY
+ * pricing.weekend.factor=1.15
+ *
+ * # Every year, MM-dd..MM-dd with the end exclusive; may wrap the new year
+ * pricing.season.summer=06-15..09-01
+ * pricing.season.summer.factor=1.25
+ * pricing.season.summer.types=Double,Suite
+ *
+ * # One-off dates, yyyy-MM-dd..yyyy-MM-dd with the end exclusive
+ * pricing.override.newyear=2026-12-30..2027-01-02
+ * pricing.override.newyear.factor=1.8
+ * </pre>
+ *
+ * The weekend factor and the factors of every season covering a night are
+ * multiplied. An override replaces them all; where overrides overlap, the
+ * one starting last wins. Without rules every night is at the base price.
+ */
+public final class RateRules {
+
+    public static final RateRules NONE = new RateRules(EnumSet.noneOf(DayOfWeek.class), 1.0,
+            EnumSet.allOf(RoomType.class), List.of(), List.of());
+
+    /**
+     * A yearly period [from, to) of one or more room types.
+     */
+    public record Season(String name, MonthDay from, MonthDay to, double factor, Set<RoomType> types) {
+
+        boolean covers(RoomType type, LocalDate night) {
+            if (!types.contains(type)) {
+                return false;
+            }
+            MonthDay day = MonthDay.from(night);
+            return from.isBefore(to)
+                    ? !day.isBefore(from) && day.isBefore(to)
+                    : !day.isBefore(from) || day.isBefore(to);   // wraps the new year
+        }
+    }
+
+    /**
+     * A fixed period [from, to) of one or more room types.
+     */
+    public record DateOverride(String name, LocalDate from, LocalDate to, double factor, Set<RoomType> types) {
+
+        boolean covers(RoomType type, LocalDate night) {
+            return types.contains(type) && !night.isBefore(from) && night.isBefore(to);
+        }
+    }
+
+    private final Set<DayOfWeek> weekendDays;
+    private final double weekendFactor;
+    private final Set<RoomType> weekendTypes;
+    private final List<Season> seasons;
+    private final List<DateOverride> overrides;   // by start date
+
+    public RateRules(Set<DayOfWeek> weekendDays, double weekendFactor, Set<RoomType> weekendTypes,
+                     List<Season> seasons, List<DateOverride> overrides) {
+        this.weekendDays = Set.copyOf(weekendDays);
+        this.weekendFactor = checkFactor("weekend", weekendFactor);
+        this.weekendTypes = Set.copyOf(weekendTypes);
+        this.seasons = List.copyOf(seasons);
+        List<DateOverride> byStart = new ArrayList<>(overrides);
+        byStart.sort(Comparator.comparing(DateOverride::from));
+        this.overrides = List.copyOf(byStart);
+    }
+
+    /**
+     * The factor of one night of a room type.
+     */
+    public double factor(RoomType type, LocalDate night) {
+        for (int i = overrides.size() - 1; i >= 0; i--) {
+            DateOverride override = overrides.get(i);
+            if (override.covers(type, night)) {
+                return override.factor();
+            }
+        }
+        double factor = 1.0;
+        if (weekendDays.contains(night.getDayOfWeek()) && weekendTypes.contains(type)) {
+            factor *= weekendFactor;
+        }
+        for (Season season : seasons) {
+            if (season.covers(type, night)) {
+                factor *= season.factor();
+            }
+        }
+        return factor;
+    }
+
+    public int size() {
+        return (weekendDays.isEmpty() ? 0 : 1) + seasons.size() + overrides.size();
+    }
+
+    /**
+     * Read the pricing.* keys. Throws IllegalArgumentException naming the
+     * key of a malformed rule.
+     */
+    public static RateRules parse(Properties props) {
+        Set<DayOfWeek> weekendDays = EnumSet.noneOf(DayOfWeek.class);
+        String days = props.getProperty("pricing.weekend.days", "").trim();
+        if (!days.isEmpty()) {
+            for (String day : days.split(",")) {
+                try {
+                    weekendDays.add(DayOfWeek.valueOf(day.trim().toUpperCase(Locale.ROOT)));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("pricing.weekend.days: unknown day '" + day.trim() + "'");
+                }
+            }
+        }
+        double weekendFactor = factor(props, "pricing.weekend", weekendDays.isEmpty() ? "1.0" : null);
+        Set<RoomType> weekendTypes = types(props, "pricing.weekend");
+
+        List<Season> seasons = new ArrayList<>();
+        List<DateOverride> overrides = new ArrayList<>();
+        for (String key : props.stringPropertyNames().stream().sorted().toList()) {
+            String[] parts = key.split("\\.");
+            if (parts.length != 3 || !parts[0].equals("pricing")) {
+                continue;
+            }
+            String value = props.getProperty(key).trim();
+            int separator = value.indexOf("..");
+            if (separator < 0 && (parts[1].equals("season") || parts[1].equals("override"))) {
+                throw new IllegalArgumentException(key + ": expected from..to, got '" + value + "'");
+            }
+            try {
+                if (parts[1].equals("season")) {
+                    seasons.add(new Season(parts[2],
+                            MonthDay.parse("--" + value.substring(0, separator).trim()),
+                            MonthDay.parse("--" + value.substring(separator + 2).trim()),
+                            factor(props, key, null), types(props, key)));
+                } else if (parts[1].equals("override")) {
+                    LocalDate from = LocalDate.parse(value.substring(0, separator).trim());
+                    LocalDate to = LocalDate.parse(value.substring(separator + 2).trim());
+                    if (!to.isAfter(from)) {
+                        throw new IllegalArgumentException(key + ": the end must be after the start");
+                    }
+                    overrides.add(new DateOverride(parts[2], from, to, factor(props, key, null), types(props, key)));
+                }
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException(key + ": bad date in '" + value + "'");
+            }
+        }
+        return new RateRules(weekendDays, weekendFactor, weekendTypes, seasons, overrides);
+    }
+
+    private static double factor(Properties props, String key, String defaultValue) {
+        String value = props.getProperty(key + ".factor", defaultValue);
+        if (value == null) {
+            throw new IllegalArgumentException(key + ".factor is missing");
+        }
+        try {
+            return checkFactor(key, Double.parseDouble(value.trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(key + ".factor: not a number '" + value + "'");
+        }
+    }
+
+    private static double checkFactor(String name, double factor) {
+        if (!(factor > 0) || Double.isInfinite(factor)) {
+            throw new IllegalArgumentException(name + ": the factor must be positive");
+        }
+        return factor;
+    }
+
+    private static Set<RoomType> types(Properties props, String key) {
+        String value = props.getProperty(key + ".types", "").trim();
+        if (value.isEmpty()) {
+            return EnumSet.allOf(RoomType.class);
+        }
+        Set<RoomType> types = EnumSet.noneOf(RoomType.class);
+        for (String label : value.split(",")) {
+            RoomType type = RoomType.fromLabel(label.trim());
+            if (type == null) {
+                throw new IllegalArgumentException(key + ".types: unknown room type '" + label.trim() + "'");
+            }
+            types.add(type);
+        }
+        return types;
+    }
+}
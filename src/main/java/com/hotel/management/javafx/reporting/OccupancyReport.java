@@ -0,0 +1,87 @@
+package com.hotel.management.javafx.reporting;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Occupancy and revenue per period and room group over [from, to).
+ *
+ * For each period there is one row per group (room type or floor) that has
+ * rooms, followed by an "All rooms" row. Every room counts as available on
+ * every night of the range, whatever its current status.
+ */
+public record OccupancyReport(
+        LocalDate from,
+        LocalDate to,
+        Granularity granularity,
+        Grouping grouping,
+        int stays,
+        List<Row> rows) {
+
+    public static final String ALL_ROOMS = "All rooms";
+
+    public enum Granularity {
+        DAILY("Daily"),
+        MONTHLY("Monthly");
+
+        private final String label;
+
+        Granularity(String label) {
+            this.label = label;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    public enum Grouping {
+        ROOM_TYPE("Room type"),
+        FLOOR("Floor");
+
+        private final String label;
+
+        Grouping(String label) {
+            this.label = label;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    /**
+     * One period (a day, or a month clipped to the range) of one group.
+     */
+    public record Row(
+            LocalDate periodStart,
+            String group,
+            int rooms,
+            long availableRoomNights,
+            long occupiedRoomNights,
+            double revenue) {
+
+        /**
+         * Occupied share of the available room nights, 0..1.
+         */
+        public double occupancy() {
+            return availableRoomNights == 0 ? 0 : occupiedRoomNights / (double) availableRoomNights;
+        }
+
+        /**
+         * Average daily rate: revenue per occupied room night.
+         */
+        public double adr() {
+            return occupiedRoomNights == 0 ? 0 : revenue / occupiedRoomNights;
+        }
+
+        /**
+         * Revenue per available room night (= ADR x occupancy).
+         */
+        public double revPar() {
+            return availableRoomNights == 0 ? 0 : revenue / availableRoomNights;
+        }
+    }
+}
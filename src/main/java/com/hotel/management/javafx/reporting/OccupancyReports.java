@@ -0,0 +1,240 @@
+package com.hotel.management.javafx.reporting;
+
+import com.hotel.management.javafx.metrics.Metrics;
+import com.hotel.management.javafx.metrics.OperationTimer;
+import com.hotel.management.javafx.model.RoomType;
+import com.hotel.management.javafx.reporting.OccupancyReport.Granularity;
+import com.hotel.management.javafx.reporting.OccupancyReport.Grouping;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Computes {@link OccupancyReport}s from {@link StayColumns}.
+ *
+ * The stays are split across the common fork-join pool. Each task records
+ * every stay as two entries in per-group difference arrays (+1 room and
+ * +rate on the first night, -1 and -rate after the last), so a stay costs
+ * the same whatever its length; the partial arrays are added up as the
+ * tasks join. One running sum per group then gives the nightly figures,
+ * which are bucketed into days or months. The cost is
+ * O(stays + groups x days), independent of how many nights were sold.
+ */
+public final class OccupancyReports {
+
+    private static final OperationTimer COMPUTE = Metrics.timer("Reports.occupancy");
+
+    // Below this many stays a task runs sequentially
+    private static final int MIN_SPLIT = 16_384;
+
+    private OccupancyReports() {
+    }
+
+    /**
+     * Occupancy, ADR and RevPAR over [from, to) per period and group.
+     */
+    public static OccupancyReport compute(StayColumns data, LocalDate from, LocalDate to,
+                                          Granularity granularity, Grouping grouping) {
+        if (!to.isAfter(from)) {
+            throw new IllegalArgumentException("The report must end after it starts");
+        }
+        return COMPUTE.time(() -> build(data, from, to, granularity, grouping), report -> report.rows().size());
+    }
+
+    private static OccupancyReport build(StayColumns data, LocalDate from, LocalDate to,
+                                         Granularity granularity, Grouping grouping) {
+        int fromDay = (int) from.toEpochDay();
+        int days = (int) (to.toEpochDay() - fromDay);
+        Groups groups = Groups.of(data, grouping);
+
+        int threshold = Math.max(MIN_SPLIT, data.size / (ForkJoinPool.getCommonPoolParallelism() * 2) + 1);
+        Nights nights = new NightsTask(data, groups, fromDay, days, 0, data.size, threshold).invoke();
+
+        // Periods as day offsets: period p covers [periodStart[p], periodStart[p + 1])
+        List<Integer> starts = new ArrayList<>();
+        for (LocalDate day = from; day.isBefore(to); day = next(day, granularity)) {
+            starts.add((int) (day.toEpochDay() - fromDay));
+        }
+        int periods = starts.size();
+        int[] periodOf = new int[days];
+        for (int p = 0; p < periods; p++) {
+            int end = p + 1 < periods ? starts.get(p + 1) : days;
+            for (int d = starts.get(p); d < end; d++) {
+                periodOf[d] = p;
+            }
+        }
+
+        long[] occupied = new long[periods * groups.count];
+        double[] revenue = new double[periods * groups.count];
+        int stride = days + 1;
+        for (int g = 0; g < groups.count; g++) {
+            long roomsTonight = 0;
+            double revenueTonight = 0;
+            for (int d = 0; d < days; d++) {
+                roomsTonight += nights.occupied[g * stride + d];
+                revenueTonight += nights.revenue[g * stride + d];
+                int cell = periodOf[d] * groups.count + g;
+                occupied[cell] += roomsTonight;
+                revenue[cell] += revenueTonight;
+            }
+        }
+
+        List<OccupancyReport.Row> rows = new ArrayList<>(periods * (groups.count + 1));
+        for (int p = 0; p < periods; p++) {
+            LocalDate periodStart = from.plusDays(starts.get(p));
+            int length = (p + 1 < periods ? starts.get(p + 1) : days) - starts.get(p);
+            long allOccupied = 0;
+            double allRevenue = 0;
+            for (int g = 0; g < groups.count; g++) {
+                if (groups.rooms[g] == 0) {
+                    continue;
+                }
+                int cell = p * groups.count + g;
+                // The running sum can be a hair off zero after a stay ends
+                double groupRevenue = Math.max(0, revenue[cell]);
+                rows.add(new OccupancyReport.Row(periodStart, groups.labels[g], groups.rooms[g],
+                        (long) groups.rooms[g] * length, occupied[cell], groupRevenue));
+                allOccupied += occupied[cell];
+                allRevenue += groupRevenue;
+            }
+            rows.add(new OccupancyReport.Row(periodStart, OccupancyReport.ALL_ROOMS, data.roomCount(),
+                    (long) data.roomCount() * length, allOccupied, allRevenue));
+        }
+        return new OccupancyReport(from, to, granularity, grouping, nights.stays, List.copyOf(rows));
+    }
+
+    private static LocalDate next(LocalDate day, Granularity granularity) {
+        return granularity == Granularity.DAILY ? day.plusDays(1) : day.withDayOfMonth(1).plusMonths(1);
+    }
+
+    /**
+     * The group of every room, with the group labels and sizes.
+     */
+    private static final class Groups {
+        final int count;
+        final int[] ofRoom;
+        final String[] labels;
+        final int[] rooms;
+
+        private Groups(int count, int[] ofRoom, String[] labels) {
+            this.count = count;
+            this.ofRoom = ofRoom;
+            this.labels = labels;
+            this.rooms = new int[count];
+            for (int group : ofRoom) {
+                rooms[group]++;
+            }
+        }
+
+        static Groups of(StayColumns data, Grouping grouping) {
+            int[] ofRoom = new int[data.roomCount()];
+            if (grouping == Grouping.ROOM_TYPE) {
+                RoomType[] types = RoomType.values();
+                String[] labels = new String[types.length];
+                for (RoomType type : types) {
+                    labels[type.ordinal()] = type.label();
+                }
+                for (int r = 0; r < ofRoom.length; r++) {
+                    ofRoom[r] = data.roomTypes[r].ordinal();
+                }
+                return new Groups(types.length, ofRoom, labels);
+            }
+
+            TreeMap<Integer, Integer> floors = new TreeMap<>();
+            for (int floor : data.roomFloors) {
+                floors.putIfAbsent(floor, 0);
+            }
+            String[] labels = new String[floors.size()];
+            int index = 0;
+            for (var floor : floors.entrySet()) {
+                floor.setValue(index);
+                labels[index++] = "Floor " + floor.getKey();
+            }
+            for (int r = 0; r < ofRoom.length; r++) {
+                ofRoom[r] = floors.get(data.roomFloors[r]);
+            }
+            return new Groups(labels.length, ofRoom, labels);
+        }
+    }
+
+    /**
+     * Per group and night offset: rooms and revenue starting minus ending,
+     * stride days + 1 per group.
+     */
+    private static final class Nights {
+        final int[] occupied;
+        final double[] revenue;
+        int stays;
+
+        Nights(int groups, int days) {
+            occupied = new int[groups * (days + 1)];
+            revenue = new double[groups * (days + 1)];
+        }
+
+        Nights add(Nights other) {
+            for (int i = 0; i < occupied.length; i++) {
+                occupied[i] += other.occupied[i];
+                revenue[i] += other.revenue[i];
+            }
+            stays += other.stays;
+            return this;
+        }
+    }
+
+    private static final class NightsTask extends RecursiveTask<Nights> {
+        // ForkJoinTask is Serializable; these tasks never are
+        private static final long serialVersionUID = 1L;
+
+        private final transient StayColumns data;
+        private final transient Groups groups;
+        private final int fromDay;
+        private final int days;
+        private final int start;
+        private final int end;
+        private final int threshold;
+
+        NightsTask(StayColumns data, Groups groups, int fromDay, int days, int start, int end, int threshold) {
+            this.data = data;
+            this.groups = groups;
+            this.fromDay = fromDay;
+            this.days = days;
+            this.start = start;
+            this.end = end;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected Nights compute() {
+            if (end - start > threshold) {
+                int middle = (start + end) >>> 1;
+                NightsTask left = new NightsTask(data, groups, fromDay, days, start, middle, threshold);
+                NightsTask right = new NightsTask(data, groups, fromDay, days, middle, end, threshold);
+                left.fork();
+                Nights rightNights = right.compute();
+                return left.join().add(rightNights);
+            }
+
+            Nights nights = new Nights(groups.count, days);
+            int stride = days + 1;
+            int toDay = fromDay + days;
+            for (int i = start; i < end; i++) {
+                int first = Math.max(data.checkIn[i], fromDay);
+                int last = Math.min(data.checkOut[i], toDay);
+                if (first >= last) {
+                    continue;  // outside the report
+                }
+                int base = groups.ofRoom[data.room[i]] * stride - fromDay;
+                double rate = data.nightlyRate[i];
+                nights.occupied[base + first]++;
+                nights.occupied[base + last]--;
+                nights.revenue[base + first] += rate;
+                nights.revenue[base + last] -= rate;
+                nights.stays++;
+            }
+            return nights;
+        }
+    }
+}
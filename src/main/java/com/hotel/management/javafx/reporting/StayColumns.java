@@ -0,0 +1,131 @@
+package com.hotel.management.javafx.reporting;
+
+import com.hotel.management.javafx.model.RoomType;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compact, column-per-field copy of the rooms and of the reservations that
+ * are not cancelled, for the reports.
+ *
+ * A stay is four array slots: room index, check-in and check-out as epoch
+ * days (check-out exclusive, i.e. the nights are [checkIn, checkOut)), and
+ * the nightly rate (total price spread evenly over the nights). A million
+ * stays take about 20 MB, with no object per row. Build it with
+ * {@link Builder}; the arrays are not copied and must not be changed.
+ */
+public final class StayColumns {
+
+    final String[] roomNumbers;
+    final RoomType[] roomTypes;
+    final int[] roomFloors;
+
+    final int[] room;
+    final int[] checkIn;
+    final int[] checkOut;
+    final double[] nightlyRate;
+    final int size;
+
+    private StayColumns(Builder builder) {
+        this.roomNumbers = Arrays.copyOf(builder.roomNumbers, builder.rooms);
+        this.roomTypes = Arrays.copyOf(builder.roomTypes, builder.rooms);
+        this.roomFloors = Arrays.copyOf(builder.roomFloors, builder.rooms);
+        this.room = builder.room;
+        this.checkIn = builder.checkIn;
+        this.checkOut = builder.checkOut;
+        this.nightlyRate = builder.nightlyRate;
+        this.size = builder.size;
+    }
+
+    public int roomCount() {
+        return roomNumbers.length;
+    }
+
+    public int stayCount() {
+        return size;
+    }
+
+    /**
+     * Collects rooms first, then stays; stays of unknown rooms are skipped.
+     */
+    public static final class Builder {
+
+        private final Map<String, Integer> roomIndex = new HashMap<>();
+        private String[] roomNumbers = new String[64];
+        private RoomType[] roomTypes = new RoomType[64];
+        private int[] roomFloors = new int[64];
+        private int rooms;
+
+        private int[] room;
+        private int[] checkIn;
+        private int[] checkOut;
+        private double[] nightlyRate;
+        private int size;
+
+        public Builder(int expectedStays) {
+            int capacity = Math.max(16, expectedStays);
+            room = new int[capacity];
+            checkIn = new int[capacity];
+            checkOut = new int[capacity];
+            nightlyRate = new double[capacity];
+        }
+
+        public Builder addRoom(String roomNumber, RoomType type, int floor) {
+            if (roomIndex.putIfAbsent(roomNumber, rooms) != null) {
+                return this;
+            }
+            if (rooms == roomNumbers.length) {
+                int grown = rooms * 2;
+                roomNumbers = Arrays.copyOf(roomNumbers, grown);
+                roomTypes = Arrays.copyOf(roomTypes, grown);
+                roomFloors = Arrays.copyOf(roomFloors, grown);
+            }
+            roomNumbers[rooms] = roomNumber;
+            roomTypes[rooms] = type;
+            roomFloors[rooms] = floor;
+            rooms++;
+            return this;
+        }
+
+        /**
+         * Add a stay of a room added before. Returns false (and adds nothing)
+         * for an unknown room or a stay without nights.
+         */
+        public boolean addStay(String roomNumber, LocalDate from, LocalDate to, double totalPrice) {
+            Integer index = roomIndex.get(roomNumber);
+            if (index == null) {
+                return false;
+            }
+            return addStay(index, (int) from.toEpochDay(), (int) to.toEpochDay(), totalPrice);
+        }
+
+        /**
+         * Add a stay by room index (the order rooms were added in) and epoch
+         * days.
+         */
+        public boolean addStay(int roomIndex, int fromDay, int toDay, double totalPrice) {
+            if (toDay <= fromDay || roomIndex < 0 || roomIndex >= rooms) {
+                return false;
+            }
+            if (size == room.length) {
+                int grown = size + (size >> 1);
+                room = Arrays.copyOf(room, grown);
+                checkIn = Arrays.copyOf(checkIn, grown);
+                checkOut = Arrays.copyOf(checkOut, grown);
+                nightlyRate = Arrays.copyOf(nightlyRate, grown);
+            }
+            room[size] = roomIndex;
+            checkIn[size] = fromDay;
+            checkOut[size] = toDay;
+            nightlyRate[size] = totalPrice / (toDay - fromDay);
+            size++;
+            return true;
+        }
+
+        public StayColumns build() {
+            return new StayColumns(this);
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package com.hotel.management.javafx.tools;
+
+import com.hotel.management.javafx.db.BookingResult;
+import com.hotel.management.javafx.db.ColumnCodec;
+import com.hotel.management.javafx.db.DatabaseConnection;
+import com.hotel.management.javafx.db.ReservationDAO;
+import com.hotel.management.javafx.db.RoomDAO;
+import com.hotel.management.javafx.db.StatementTracer;
+import com.hotel.management.javafx.metrics.LatencyHistogram;
+import com.hotel.management.javafx.metrics.Metrics;
+import com.hotel.management.javafx.metrics.OperationTimer;
+import com.hotel.management.javafx.model.Guest;
+import com.hotel.management.javafx.model.Reservation;
+import com.hotel.management.javafx.model.Room;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Simulates several receptionists working at once against the DAO layer and
+ * reports throughput, latency percentiles and integrity problems.
+ *
+ * Usage: FrontDeskLoadTest [desks] [seconds] [mix]
+ * mix is a weighted list of operations, default
+ * "book=30,extend=15,cancel=10,rooms=30,list=15":
+ *   book    ReservationDAO.bookReservation for a random bookable room
+ *   extend  ReservationDAO.extendReservation of one of the desk's bookings
+ *   cancel  ReservationDAO.cancelReservation of one of the desk's bookings
+ *   rooms   RoomDAO.getRoomsByType
+ *   list    ReservationDAO.getAllReservations
+ * Each desk is one thread that runs operations back to back. Bookings are
+ * 30 to 90 days ahead so they overlap between desks. Double bookings and
+ * room/reservation mismatches are checked at the end, and the reservations
+ * the test created are deleted again with ReservationDAO.deleteReservation,
+ * which leaves tombstones for other desks' delta sync. The per-method DAO timers (see
+ * Metrics) and the top SQL statements (see StatementTracer) are printed
+ * after the per-operation summary. Exits with status 1 on any problem.
+ */
+public class FrontDeskLoadTest {
+
+    private enum Operation { BOOK, EXTEND, CANCEL, ROOMS, LIST }
+
+    /** OK, REJECTED by the DAO (conflict, update did not apply), FAILED, or SKIPPED (nothing to act on). */
+    private enum Outcome { OK, REJECTED, FAILED, SKIPPED }
+
+    private static final String DEFAULT_MIX = "book=30,extend=15,cancel=10,rooms=30,list=15";
+
+    private record Booking(String reservationId, LocalDate checkOut) {
+    }
+
+    private static final class OperationStats {
+        final LatencyHistogram latency = new LatencyHistogram();
+        final LongAdder ok = new LongAdder();
+        final LongAdder rejected = new LongAdder();
+        final LongAdder failed = new LongAdder();
+    }
+
+    public static void main(String[] args) throws Exception {
+        int desks = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+        Map<Operation, Integer> mix = parseMix(args.length > 2 ? args[2] : DEFAULT_MIX);
+        int totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+
+        RoomDAO roomDAO = new RoomDAO();
+        ReservationDAO reservationDAO = new ReservationDAO();
+        List<Room> rooms = new ArrayList<>();
+        for (Room room : roomDAO.getAllRooms()) {
+            if (room.isBookable()) {
+                rooms.add(room);
+            }
+        }
+        if (rooms.isEmpty()) {
+            System.err.println("No bookable rooms found");
+            return;
+        }
+
+        String marker = "Load Test " + System.currentTimeMillis();
+        Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new OperationStats());
+        }
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        long[] deadline = new long[1];
+        for (int d = 0; d < desks; d++) {
+            Thread desk = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                List<Booking> myBookings = new ArrayList<>();
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                while (System.nanoTime() < deadline[0]) {
+                    Operation operation = pick(mix, totalWeight, random.nextInt(totalWeight));
+                    OperationStats opStats = stats.get(operation);
+                    long began = System.nanoTime();
+                    Outcome outcome;
+                    try {
+                        outcome = run(operation, random, rooms, myBookings, marker, roomDAO, reservationDAO);
+                    } catch (RuntimeException e) {
+                        outcome = Outcome.FAILED;
+                    }
+                    if (outcome == Outcome.SKIPPED) {
+                        continue;  // e.g. no bookings to extend yet
+                    }
+                    opStats.latency.recordSince(began);
+                    switch (outcome) {
+                        case OK -> opStats.ok.increment();
+                        case REJECTED -> opStats.rejected.increment();
+                        default -> opStats.failed.increment();
+                    }
+                }
+            }, "desk-" + (d + 1));
+            threads.add(desk);
+            desk.start();
+        }
+
+        long began = System.nanoTime();
+        deadline[0] = began + seconds * 1_000_000_000L;
+        start.countDown();
+        for (Thread desk : threads) {
+            desk.join();
+        }
+        double elapsed = (System.nanoTime() - began) / 1e9;
+
+        List<String> problems = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            problems.addAll(IntegrityCheck.findDoubleBookings(conn));
+            problems.addAll(IntegrityCheck.findRoomMismatches(conn));
+        }
+
+        System.out.println();
+        System.out.printf("%d desks for %.1fs on %d rooms, mix %s%n", desks, elapsed, rooms.size(), mix);
+        System.out.printf("%-8s %8s %9s %8s %8s %8s  %s%n", "op", "ops", "ops/s", "ok", "rejected", "failed", "latency");
+        long totalOps = 0;
+        for (Map.Entry<Operation, OperationStats> entry : stats.entrySet()) {
+            OperationStats s = entry.getValue();
+            long count = s.latency.getCount();
+            totalOps += count;
+            if (count == 0) {
+                continue;
+            }
+            System.out.printf("%-8s %8d %9.1f %8d %8d %8d  %s%n", entry.getKey().name().toLowerCase(),
+                    count, count / elapsed, s.ok.sum(), s.rejected.sum(), s.failed.sum(), s.latency);
+        }
+        System.out.printf("%-8s %8d %9.1f%n", "total", totalOps, totalOps / elapsed);
+        System.out.println(DatabaseConnection.getPoolStats());
+        System.out.println();
+        System.out.println("Per DAO method (db = share of the time spent in JDBC calls):");
+        for (OperationTimer timer : Metrics.all()) {
+            if (timer.getCount() > 0) {
+                System.out.println("  " + timer);
+            }
+        }
+        System.out.println();
+        System.out.println("Top statements:");
+        System.out.print(StatementTracer.getInstance().dumpTop(10));
+
+        if (problems.isEmpty()) {
+            System.out.println("✓ No double bookings or room/reservation mismatches");
+        } else {
+            problems.forEach(problem -> System.err.println("✗ " + problem));
+        }
+        // After the report, so the deletes do not show up in the DAO timers
+        deleteTestBookings(marker, reservationDAO);
+        DatabaseConnection.shutdown();
+        if (!problems.isEmpty()) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Delete the reservations the test made, cancelled ones included,
+     * through the DAO so desks running delta sync see the deletions.
+     */
+    private static void deleteTestBookings(String marker, ReservationDAO reservationDAO) throws SQLException {
+        List<String> ids = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement("SELECT reservation_id FROM reservations WHERE guest_name = ?")) {
+            stmt.setString(1, marker);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    ids.add(ColumnCodec.idFromBytes(rs.getBytes(1)));
+                }
+            }
+        }
+        int deleted = 0;
+        for (String id : ids) {
+            if (reservationDAO.deleteReservation(id)) {
+                deleted++;
+            }
+        }
+        System.out.println("Deleted " + deleted + " of " + ids.size() + " test reservations");
+    }
+
+    private static Outcome run(Operation operation, ThreadLocalRandom random, List<Room> rooms, List<Booking> myBookings,
+                               String marker, RoomDAO roomDAO, ReservationDAO reservationDAO) {
+        switch (operation) {
+            case BOOK: {
+                Room room = new Room(rooms.get(random.nextInt(rooms.size())));
+                LocalDate checkIn = LocalDate.now().plusDays(30 + random.nextInt(60));
+                LocalDate checkOut = checkIn.plusDays(1 + random.nextInt(5));
+                Guest guest = new Guest("00000000000000", marker, "00000000000", "load@example.com");
+                Reservation reservation = new Reservation(null, guest, room, checkIn, checkOut);
+                BookingResult result = reservationDAO.bookReservation(reservation);
+                switch (result.outcome()) {
+                    case BOOKED:
+                        myBookings.add(new Booking(result.reservationId(), checkOut));
+                        return Outcome.OK;
+                    case CONFLICT:
+                        return Outcome.REJECTED;
+                    default:
+                        return Outcome.FAILED;
+                }
+            }
+            case EXTEND: {
+                if (myBookings.isEmpty()) {
+                    return Outcome.SKIPPED;
+                }
+                int index = random.nextInt(myBookings.size());
+                Booking booking = myBookings.get(index);
+                LocalDate newCheckOut = booking.checkOut().plusDays(1 + random.nextInt(2));
+                boolean extended = reservationDAO.extendReservation(booking.reservationId(), newCheckOut,
+                        100.0 * (1 + random.nextInt(10)));
+                if (extended) {
+                    myBookings.set(index, new Booking(booking.reservationId(), newCheckOut));
+                }
+                return extended ? Outcome.OK : Outcome.REJECTED;
+            }
+            case CANCEL: {
+                if (myBookings.isEmpty()) {
+                    return Outcome.SKIPPED;
+                }
+                Booking booking = myBookings.remove(random.nextInt(myBookings.size()));
+                return reservationDAO.cancelReservation(booking.reservationId()) ? Outcome.OK : Outcome.REJECTED;
+            }
+            case ROOMS:
+                roomDAO.getRoomsByType(Room.VALID_ROOM_TYPES.get(random.nextInt(Room.VALID_ROOM_TYPES.size())));
+                return Outcome.OK;
+            case LIST:
+                reservationDAO.getAllReservations();
+                return Outcome.OK;
+            default:
+                throw new IllegalStateException("Unknown operation " + operation);
+        }
+    }
+
+    private static Operation pick(Map<Operation, Integer> mix, int totalWeight, int roll) {
+        for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("roll outside total weight " + totalWeight);
+    }
+
+    private static Map<Operation, Integer> parseMix(String spec) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String part : spec.split(",")) {
+            String[] pair = part.trim().split("=");
+            Operation operation = switch (pair[0].trim().toLowerCase()) {
+                case "book" -> Operation.BOOK;
+                case "extend" -> Operation.EXTEND;
+                case "cancel" -> Operation.CANCEL;
+                case "rooms" -> Operation.ROOMS;
+                case "list" -> Operation.LIST;
+                default -> throw new IllegalArgumentException("Unknown operation in mix: " + pair[0]);
+            };
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight > 0) {
+                mix.put(operation, weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("The mix must give at least one operation a weight");
+        }
+        return mix;
+    }
+}
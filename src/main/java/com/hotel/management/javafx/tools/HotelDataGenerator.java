@@ -0,0 +1,336 @@
+package com.hotel.management.javafx.tools;
+
+import com.hotel.management.javafx.db.ColumnCodec;
+import com.hotel.management.javafx.db.DatabaseConnection;
+import com.hotel.management.javafx.db.DatabaseProfile;
+import com.hotel.management.javafx.db.ReservationDAO;
+import com.hotel.management.javafx.model.ReservationStatus;
+import com.hotel.management.javafx.model.RoomStatus;
+import com.hotel.management.javafx.model.RoomType;
+import com.hotel.management.javafx.pricing.PricingEngine;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Fills the database with synthetic rooms and years of reservations so the
+ * DAOs and TableViews can be tried at realistic volumes.
+ *
+ * Usage: HotelDataGenerator [rooms] [years] [seed] [--reset]
+ *
+ * Rooms are spread over floors of 20, with a mix of the four room types.
+ * Each room gets a back-to-back history of stays from {@code years} ago
+ * until 180 days ahead: stay lengths are mostly 1-4 nights with a tail of
+ * week-long stays, the nights between stays keep occupancy around 70%, and
+ * bookings are made up to a year before check-in (stays that would be
+ * booked after today are left out). About 7% of stays are cancelled. A pool
+ * of repeat guests is shared by all rooms. The same arguments give the same
+ * data, relative to today's date. Rows are written with JDBC batches, sent
+ * to MySQL as multi-row statements; with --reset all rooms and reservations are deleted first, otherwise room
+ * numbers that already exist are skipped.
+ */
+public class HotelDataGenerator {
+
+    private static final int ROOMS_PER_FLOOR = 20;
+    private static final int BATCH_SIZE = 1000;
+    private static final int BATCHES_PER_COMMIT = 20;
+    private static final int DAYS_AHEAD = 180;
+    private static final double TARGET_OCCUPANCY = 0.7;
+    private static final double CANCEL_RATE = 0.07;
+
+    // Length of stay in nights and how often it occurs
+    private static final int[] STAY_NIGHTS = {1, 2, 3, 4, 5, 6, 7, 10, 14};
+    private static final double[] STAY_WEIGHTS = {0.24, 0.28, 0.17, 0.10, 0.07, 0.04, 0.05, 0.03, 0.02};
+    private static final double MEAN_STAY_NIGHTS = mean(STAY_NIGHTS, STAY_WEIGHTS);
+
+    private static final String[] FIRST_NAMES = {
+        "Ahmed", "Mohamed", "Omar", "Youssef", "Mahmoud", "Karim", "Hassan", "Ali", "Mostafa", "Tarek",
+        "Sara", "Nour", "Mariam", "Salma", "Hana", "Laila", "Yasmin", "Dina", "Farida", "Aya",
+        "John", "Emma", "Lucas", "Sofia", "Marco", "Anna", "David", "Julia", "Paul", "Chloe"
+    };
+    private static final String[] LAST_NAMES = {
+        "Hassan", "Ibrahim", "Mahmoud", "Saleh", "Fathy", "Adel", "Nabil", "Samir", "Fouad", "Kamal",
+        "Smith", "Müller", "Rossi", "Dubois", "Garcia", "Novak", "Jensen", "Silva", "Costa", "Weber"
+    };
+
+    private record RoomSpec(String number, int capacity, RoomType type, double price, int floor, boolean extraBed) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> positional = new ArrayList<>();
+        boolean reset = false;
+        for (String arg : args) {
+            if ("--reset".equals(arg)) {
+                reset = true;
+            } else {
+                positional.add(arg);
+            }
+        }
+        int roomCount = positional.size() > 0 ? Integer.parseInt(positional.get(0)) : 500;
+        int years = positional.size() > 1 ? Integer.parseInt(positional.get(1)) : 3;
+        long seed = positional.size() > 2 ? Long.parseLong(positional.get(2)) : 42;
+
+        // Before the pool is created, so its connections are opened with it
+        System.setProperty(DatabaseProfile.REWRITE_BATCHES_PROPERTY, "true");
+        try (Connection conn = DatabaseConnection.getPool().borrow()) {
+            if (reset) {
+                reset(conn);
+            }
+            long start = System.nanoTime();
+            long[] counts = generate(conn, roomCount, years, seed);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            long rows = counts[0] + counts[1];
+            System.out.printf("✓ Generated %d rooms and %d reservations in %.1fs (%.0f rows/s)%n",
+                    counts[0], counts[1], seconds, rows / seconds);
+        }
+
+        System.out.println("Reservation stats: " + new ReservationDAO().getReservationStats());
+        DatabaseConnection.shutdown();
+    }
+
+    private static void reset(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("DELETE FROM reservation_deletions");
+            int reservations = stmt.executeUpdate("DELETE FROM reservations");
+            int rooms = stmt.executeUpdate("DELETE FROM rooms");
+            System.out.println("✓ Deleted " + rooms + " rooms and " + reservations + " reservations");
+        }
+    }
+
+    /**
+     * Returns {rooms inserted, reservations inserted}.
+     */
+    private static long[] generate(Connection conn, int roomCount, int years, long seed) throws SQLException {
+        Random random = new Random(seed);
+        LocalDate today = LocalDate.now();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate first = today.minusYears(years);
+        LocalDate last = today.plusDays(DAYS_AHEAD);
+        Set<String> existing = existingRoomNumbers(conn);
+        // Same rates as the front desk, with a calendar covering the whole history
+        PricingEngine pricing = new PricingEngine(PricingEngine.get().rules(), first, last);
+
+        // Roughly one guest for every three stays, so some guests come back
+        long expectedStays = (long) (roomCount * (last.toEpochDay() - first.toEpochDay())
+                * TARGET_OCCUPANCY / MEAN_STAY_NIGHTS);
+        int guestCount = (int) Math.max(100, Math.min(Integer.MAX_VALUE, expectedStays / 3));
+        double meanGapNights = MEAN_STAY_NIGHTS * (1 - TARGET_OCCUPANCY) / TARGET_OCCUPANCY;
+
+        long roomsInserted = 0;
+        long reservationsInserted = 0;
+        int pendingBatches = 0;
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+
+        try (PreparedStatement roomStmt = conn.prepareStatement(
+                 "INSERT INTO rooms (room_number, capacity, room_type, price, floor, extra_bed, status) " +
+                 "VALUES (?, ?, ?, ?, ?, ?, ?)");
+             PreparedStatement resStmt = conn.prepareStatement(
+                 "INSERT INTO reservations (reservation_id, guest_ssn, guest_name, guest_phone, guest_email, " +
+                 "room_id, check_in, check_out, total_price, status, is_paid, updated_at) " +
+                 "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+
+            int pendingRooms = 0;
+            int pendingReservations = 0;
+
+            for (int i = 0; i < roomCount; i++) {
+                RoomSpec room = randomRoom(i, random);
+                if (existing.contains(room.number())) {
+                    continue;
+                }
+                boolean maintenance = random.nextDouble() < 0.02;
+                boolean heldToday = false;
+
+                LocalDate cursor = first.plusDays(random.nextInt(7));
+                while (true) {
+                    cursor = cursor.plusDays(geometric(random, meanGapNights));
+                    int nights = pickNights(random);
+                    LocalDate checkIn = cursor;
+                    LocalDate checkOut = checkIn.plusDays(nights);
+                    if (!checkOut.isBefore(last)) {
+                        break;
+                    }
+
+                    LocalDateTime bookedAt = checkIn.atTime(12, 0)
+                            .minusDays(leadDays(random))
+                            .minusMinutes(random.nextInt(12 * 60));
+                    boolean cancelled = random.nextDouble() < CANCEL_RATE;
+                    if (bookedAt.isAfter(now)) {
+                        // Not booked yet; later nights may still be
+                        cursor = checkOut;
+                        continue;
+                    }
+                    if (!cancelled) {
+                        cursor = checkOut;
+                        heldToday |= !checkIn.isAfter(today) && checkOut.isAfter(today);
+                    }
+
+                    int guest = pickGuest(random, guestCount);
+                    double total = pricing.quote(room.type(), room.price(), room.extraBed(), checkIn, checkOut);
+                    resStmt.setBytes(1, ColumnCodec.idToBytes(randomUuid(random)));
+                    resStmt.setString(2, String.format("%014d", 29_000_000_000_000L + guest * 7_919L));
+                    resStmt.setString(3, FIRST_NAMES[guest % FIRST_NAMES.length] + " "
+                            + LAST_NAMES[(guest / FIRST_NAMES.length) % LAST_NAMES.length]);
+                    resStmt.setString(4, String.format("01%09d", guest));
+                    resStmt.setString(5, "guest" + guest + "@example.com");
+                    resStmt.setString(6, room.number());
+                    resStmt.setDate(7, Date.valueOf(checkIn));
+                    resStmt.setDate(8, Date.valueOf(checkOut));
+                    resStmt.setBigDecimal(9, ColumnCodec.money(total));
+                    resStmt.setInt(10, (cancelled ? ReservationStatus.CANCELLED : ReservationStatus.RESERVED).code());
+                    resStmt.setBoolean(11, !checkOut.isAfter(today) || random.nextBoolean());
+                    resStmt.setTimestamp(12, Timestamp.valueOf(bookedAt));
+                    resStmt.addBatch();
+                    reservationsInserted++;
+                    if (++pendingReservations == BATCH_SIZE) {
+                        resStmt.executeBatch();
+                        pendingReservations = 0;
+                        pendingBatches = commitIfDue(conn, pendingBatches + 1);
+                    }
+                }
+
+                RoomStatus status = maintenance ? RoomStatus.MAINTENANCE
+                                  : heldToday ? RoomStatus.RESERVED
+                                  : RoomStatus.AVAILABLE;
+                roomStmt.setString(1, room.number());
+                roomStmt.setInt(2, room.capacity());
+                roomStmt.setInt(3, room.type().code());
+                roomStmt.setBigDecimal(4, ColumnCodec.money(room.price()));
+                roomStmt.setInt(5, room.floor());
+                roomStmt.setBoolean(6, room.extraBed());
+                roomStmt.setInt(7, status.code());
+                roomStmt.addBatch();
+                roomsInserted++;
+                if (++pendingRooms == BATCH_SIZE) {
+                    roomStmt.executeBatch();
+                    pendingRooms = 0;
+                    pendingBatches = commitIfDue(conn, pendingBatches + 1);
+                }
+            }
+
+            if (pendingRooms > 0) {
+                roomStmt.executeBatch();
+            }
+            if (pendingReservations > 0) {
+                resStmt.executeBatch();
+            }
+            conn.commit();
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+        return new long[] {roomsInserted, reservationsInserted};
+    }
+
+    private static int commitIfDue(Connection conn, int pendingBatches) throws SQLException {
+        if (pendingBatches < BATCHES_PER_COMMIT) {
+            return pendingBatches;
+        }
+        conn.commit();
+        return 0;
+    }
+
+    private static RoomSpec randomRoom(int index, Random random) {
+        int floor = index / ROOMS_PER_FLOOR + 1;
+        String number = String.valueOf(floor * 100 + index % ROOMS_PER_FLOOR + 1);
+        double roll = random.nextDouble();
+        RoomType type;
+        int capacity;
+        double price;
+        if (roll < 0.30) {
+            type = RoomType.SINGLE;
+            capacity = 1;
+            price = 60 + random.nextInt(31);
+        } else if (roll < 0.70) {
+            type = RoomType.DOUBLE;
+            capacity = 2;
+            price = 100 + random.nextInt(41);
+        } else if (roll < 0.85) {
+            type = RoomType.TRIPLE;
+            capacity = 3;
+            price = 140 + random.nextInt(31);
+        } else {
+            type = RoomType.SUITE;
+            capacity = 4;
+            price = 200 + random.nextInt(101);
+        }
+        return new RoomSpec(number, capacity, type, price, floor, random.nextDouble() < 0.3);
+    }
+
+    private static int pickNights(Random random) {
+        double roll = random.nextDouble();
+        for (int i = 0; i < STAY_WEIGHTS.length; i++) {
+            roll -= STAY_WEIGHTS[i];
+            if (roll < 0) {
+                return STAY_NIGHTS[i];
+            }
+        }
+        return STAY_NIGHTS[STAY_NIGHTS.length - 1];
+    }
+
+    /**
+     * Days between booking and check-in: a fifth are same-day walk-ins, the
+     * rest are spread exponentially with a mean of about a month.
+     */
+    private static int leadDays(Random random) {
+        if (random.nextDouble() < 0.2) {
+            return 0;
+        }
+        return (int) Math.min(365, geometric(random, 30));
+    }
+
+    /**
+     * Guests are picked with a skew towards low numbers, so a minority of
+     * guests account for many stays.
+     */
+    private static int pickGuest(Random random, int guestCount) {
+        double u = random.nextDouble();
+        return (int) (guestCount * u * u);
+    }
+
+    private static long geometric(Random random, double mean) {
+        return (long) Math.floor(-Math.log(1 - random.nextDouble()) * mean);
+    }
+
+    /**
+     * A version 4 UUID drawn from the seeded generator.
+     */
+    private static UUID randomUuid(Random random) {
+        long most = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long least = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(most, least);
+    }
+
+    private static Set<String> existingRoomNumbers(Connection conn) throws SQLException {
+        Set<String> numbers = new HashSet<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT room_number FROM rooms")) {
+            while (rs.next()) {
+                numbers.add(rs.getString(1));
+            }
+        }
+        return numbers;
+    }
+
+    private static double mean(int[] values, double[] weights) {
+        double sum = 0;
+        for (int i = 0; i < values.length; i++) {
+            sum += values[i] * weights[i];
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,73 @@
+package com.hotel.management.javafx.tools;
+
+import com.hotel.management.javafx.db.ColumnCodec;
+import com.hotel.management.javafx.model.ReservationStatus;
+import com.hotel.management.javafx.model.RoomStatus;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Consistency checks over the reservations and rooms tables, used by the
+ * command-line tools after they have hammered the DAO layer.
+ */
+public final class IntegrityCheck {
+
+    private static final int CANCELLED = ReservationStatus.CANCELLED.code();
+
+    private IntegrityCheck() {
+    }
+
+    /**
+     * Pairs of live reservations of the same room whose nights overlap.
+     */
+    public static List<String> findDoubleBookings(Connection conn) throws SQLException {
+        String sql = "SELECT a.room_id, a.reservation_id, b.reservation_id, " +
+                     "       a.check_in, a.check_out, b.check_in, b.check_out " +
+                     "FROM reservations a JOIN reservations b " +
+                     "  ON a.room_id = b.room_id AND a.reservation_id < b.reservation_id " +
+                     " AND a.check_in < b.check_out AND b.check_in < a.check_out " +
+                     "WHERE a.status <> " + CANCELLED + " AND b.status <> " + CANCELLED;
+        List<String> problems = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                problems.add("Room " + rs.getString(1) + " double booked: "
+                        + ColumnCodec.idFromBytes(rs.getBytes(2)) + " [" + rs.getDate(4) + ", " + rs.getDate(5) + ") and "
+                        + ColumnCodec.idFromBytes(rs.getBytes(3)) + " [" + rs.getDate(6) + ", " + rs.getDate(7) + ")");
+            }
+        }
+        return problems;
+    }
+
+    /**
+     * Reservations pointing at rooms that do not exist, and rooms marked
+     * "Reserved" without a live stay covering today.
+     */
+    public static List<String> findRoomMismatches(Connection conn) throws SQLException {
+        List<String> problems = new ArrayList<>();
+
+        String orphans = "SELECT r.reservation_id, r.room_id FROM reservations r " +
+                         "LEFT JOIN rooms rm ON rm.room_number = r.room_id WHERE rm.room_number IS NULL";
+        try (PreparedStatement stmt = conn.prepareStatement(orphans);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                problems.add("Reservation " + ColumnCodec.idFromBytes(rs.getBytes(1)) + " refers to missing room " + rs.getString(2));
+            }
+        }
+
+        String unheld = "SELECT rm.room_number FROM rooms rm WHERE rm.status = " + RoomStatus.RESERVED.code() + " AND NOT EXISTS (" +
+                        "  SELECT 1 FROM reservations r WHERE r.room_id = rm.room_number " +
+                        "  AND r.status <> " + CANCELLED + " AND r.check_in <= CURRENT_DATE AND r.check_out > CURRENT_DATE)";
+        try (PreparedStatement stmt = conn.prepareStatement(unheld);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                problems.add("Room " + rs.getString(1) + " is 'Reserved' but no stay covers today");
+            }
+        }
+        return problems;
+    }
+}
@@ -0,0 +1,33 @@
+package com.hotel.management.javafx.tools;
+
+import com.hotel.management.javafx.db.DatabaseConnection;
+import com.hotel.management.javafx.db.ReservationDAO;
+import java.time.LocalDate;
+
+/**
+ * Re-quotes upcoming reservations with the current pricing.properties, e.g.
+ * after a season or an override was added.
+ *
+ * Usage: RepriceReservations [from]
+ *   from  first check-in date to reprice, yyyy-MM-dd (default tomorrow, so
+ *         stays already under way keep the price they were booked at)
+ */
+public class RepriceReservations {
+
+    public static void main(String[] args) {
+        LocalDate from = args.length > 0 ? LocalDate.parse(args[0]) : LocalDate.now().plusDays(1);
+        long started = System.nanoTime();
+        int repriced;
+        try {
+            repriced = new ReservationDAO().repriceReservations(from);
+        } finally {
+            DatabaseConnection.shutdown();
+        }
+        if (repriced < 0) {
+            System.err.println("✗ Repricing failed, nothing was changed");
+            System.exit(1);
+        }
+        System.out.printf("Repriced %d reservations checking in from %s in %d ms%n",
+                repriced, from, (System.nanoTime() - started) / 1_000_000);
+    }
+}
@@ -0,0 +1,119 @@
+package com.hotel.management.javafx.tools;
+
+import com.hotel.management.javafx.db.ColumnCodec;
+import com.hotel.management.javafx.db.DatabaseConnection;
+import com.hotel.management.javafx.db.ReservationDAO;
+import com.hotel.management.javafx.model.Guest;
+import com.hotel.management.javafx.model.Reservation;
+import com.hotel.management.javafx.model.ReservationStatus;
+import com.hotel.management.javafx.model.Room;
+import com.hotel.management.javafx.model.RoomStatus;
+import com.hotel.management.javafx.model.RoomType;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares loading every reservation with one room lookup per row (the old
+ * loader) against the joined single-query loader in ReservationDAO.
+ *
+ * Usage: ReservationLoadBenchmark [rounds]
+ * Run it against databases of different sizes to get row count vs. load time.
+ */
+public class ReservationLoadBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int rounds = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+
+        ReservationDAO reservationDAO = new ReservationDAO();
+
+        // Warm up the pool, driver and server caches
+        reservationDAO.getAllReservations();
+
+        long perRowBest = Long.MAX_VALUE;
+        long joinedBest = Long.MAX_VALUE;
+        int rows = 0;
+
+        for (int i = 0; i < rounds; i++) {
+            long start = System.nanoTime();
+            rows = loadWithPerRowRoomLookup().size();
+            perRowBest = Math.min(perRowBest, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            int joinedRows = reservationDAO.getAllReservations().size();
+            joinedBest = Math.min(joinedBest, System.nanoTime() - start);
+
+            if (joinedRows != rows) {
+                System.err.println("⚠ Row count mismatch: per-row=" + rows + ", joined=" + joinedRows);
+            }
+        }
+
+        System.out.println();
+        System.out.println("rows       per-row lookup (ms)   joined (ms)   speedup");
+        System.out.printf("%-10d %-21.1f %-13.1f %.1fx%n",
+                rows, perRowBest / 1e6, joinedBest / 1e6, perRowBest / (double) joinedBest);
+        System.out.println("Best of " + rounds + " rounds. " + DatabaseConnection.getPoolStats());
+
+        DatabaseConnection.shutdown();
+    }
+
+    /**
+     * The loader as it was before the JOIN: one extra room query per
+     * reservation (run directly, since RoomDAO now serves rooms from its cache).
+     */
+    private static List<Reservation> loadWithPerRowRoomLookup() throws SQLException {
+        List<Reservation> reservations = new ArrayList<>();
+        String sql = "SELECT * FROM reservations WHERE status <> " + ReservationStatus.CANCELLED.code()
+                   + " ORDER BY check_in DESC";
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                Room room = findRoom(conn, rs.getString("room_id"));
+                if (room == null) {
+                    continue;
+                }
+                Guest guest = new Guest(
+                    rs.getString("guest_ssn"),
+                    rs.getString("guest_name"),
+                    rs.getString("guest_phone"),
+                    rs.getString("guest_email")
+                );
+                reservations.add(new Reservation(
+                    ColumnCodec.idFromBytes(rs.getBytes("reservation_id")),
+                    guest,
+                    room,
+                    rs.getDate("check_in").toLocalDate(),
+                    rs.getDate("check_out").toLocalDate(),
+                    true
+                ));
+            }
+        }
+        return reservations;
+    }
+
+    private static Room findRoom(Connection conn, String roomNumber) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT * FROM rooms WHERE room_number = ?")) {
+            stmt.setString(1, roomNumber);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    return null;
+                }
+                Room room = new Room(
+                    rs.getString("room_number"),
+                    rs.getInt("capacity"),
+                    RoomType.fromCode(rs.getInt("room_type")).label(),
+                    rs.getBigDecimal("price").doubleValue(),
+                    rs.getInt("floor"),
+                    rs.getBoolean("extra_bed")
+                );
+                room.setStatus(RoomStatus.fromCode(rs.getInt("status")).label());
+                return room;
+            }
+        }
+    }
+}
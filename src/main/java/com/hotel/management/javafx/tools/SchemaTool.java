@@ -0,0 +1,35 @@
+package com.hotel.management.javafx.tools;
+
+import com.hotel.management.javafx.db.DatabaseConnection;
+import com.hotel.management.javafx.db.SchemaManager;
+import java.sql.Connection;
+
+/**
+ * Migrates the database schema and optionally prints the EXPLAIN plan of
+ * every DAO query shape.
+ *
+ * Usage: SchemaTool [--explain]
+ * Run it with -Ddb... settings as usual; keep the --explain output of a known
+ * good run around and diff against it to spot plan regressions.
+ */
+public class SchemaTool {
+
+    public static void main(String[] args) throws Exception {
+        boolean explain = args.length > 0 && "--explain".equals(args[0]);
+
+        // Creating the pool migrates the schema unless db.schema.autoMigrate=false
+        try (Connection conn = DatabaseConnection.getPool().borrow()) {
+            int applied = SchemaManager.migrate(conn);
+            System.out.println("Schema version " + SchemaManager.currentVersion(conn)
+                    + " (" + applied + " migrations applied by this run, latest known "
+                    + SchemaManager.latestVersion() + ")");
+
+            if (explain) {
+                System.out.println();
+                SchemaManager.explain(conn, System.out);
+            }
+        } finally {
+            DatabaseConnection.shutdown();
+        }
+    }
+}
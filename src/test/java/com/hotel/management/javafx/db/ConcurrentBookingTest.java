@@ -0,0 +1,100 @@
+package com.hotel.management.javafx.db;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.hotel.management.javafx.model.Guest;
+import com.hotel.management.javafx.model.Reservation;
+import com.hotel.management.javafx.model.Room;
+import com.hotel.management.javafx.tools.IntegrityCheck;
+import java.sql.Connection;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Many concurrent bookers on a few rooms with overlapping dates; checks that
+ * ReservationDAO.bookReservation never double books. Runs on the embedded
+ * h2-mem database, never on the configured one.
+ */
+class ConcurrentBookingTest {
+
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS_PER_THREAD = 50;
+    private static final int ROOMS = 3;
+
+    @BeforeAll
+    static void useEmbeddedDatabase() {
+        System.setProperty(DatabaseProfile.SYSTEM_PROPERTY, DatabaseProfile.H2_MEM.profileName());
+    }
+
+    @AfterAll
+    static void closePool() {
+        DatabaseConnection.shutdown();
+    }
+
+    @Test
+    void concurrentBookersNeverDoubleBook() throws Exception {
+        List<Room> rooms = new ArrayList<>();
+        for (Room room : new RoomDAO().getAllRooms()) {
+            if (room.isBookable() && rooms.size() < ROOMS) {
+                rooms.add(room);
+            }
+        }
+        assertFalse(rooms.isEmpty(), "the seeded database has no bookable rooms");
+
+        ReservationDAO reservationDAO = new ReservationDAO();
+        LongAdder booked = new LongAdder();
+        LongAdder conflicts = new LongAdder();
+        LongAdder failures = new LongAdder();
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < THREADS; t++) {
+            pool.execute(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    Room room = new Room(rooms.get(random.nextInt(rooms.size())));
+                    LocalDate checkIn = LocalDate.now().plusDays(30 + random.nextInt(30));
+                    LocalDate checkOut = checkIn.plusDays(1 + random.nextInt(5));
+                    Guest guest = new Guest("00000000000000", "Booking Test", "00000000000", "check@example.com");
+
+                    BookingResult result = reservationDAO.bookReservation(
+                        new Reservation(null, guest, room, checkIn, checkOut));
+                    switch (result.outcome()) {
+                        case BOOKED -> booked.increment();
+                        case CONFLICT -> conflicts.increment();
+                        case FAILED -> failures.increment();
+                    }
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(5, TimeUnit.MINUTES), "bookers did not finish");
+
+        List<String> doubleBookings;
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            doubleBookings = IntegrityCheck.findDoubleBookings(conn);
+        }
+        assertEquals(List.of(), doubleBookings);
+        assertEquals(0, failures.sum(), "bookings failed with errors");
+        assertTrue(booked.sum() > 0, "nothing was booked");
+        assertEquals(THREADS * ATTEMPTS_PER_THREAD, booked.sum() + conflicts.sum());
+    }
+}